@@ -0,0 +1,30 @@
+package com.pentalign.backend.ai;
+
+import com.pentalign.backend.engine.Bitboard;
+
+/**
+ * A move chosen by the {@link GomokuAi}.
+ *
+ * @param cell         the cell index
+ * @param score        the search score from the mover's point of view
+ * @param depth        the deepest completed iteration, 0 for a move found without searching
+ * @param nodes        positions visited
+ * @param elapsedNanos time spent choosing
+ */
+public record AiMove(int cell, int score, int depth, long nodes, long elapsedNanos) {
+
+    public int row() {
+        return cell / Bitboard.SIZE;
+    }
+
+    public int col() {
+        return cell % Bitboard.SIZE;
+    }
+
+    /**
+     * @return positions visited per second
+     */
+    public long nodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+}
@@ -0,0 +1,203 @@
+package com.pentalign.backend.ai;
+
+import com.pentalign.backend.engine.Bitboard;
+import com.pentalign.backend.enums.AiLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gomoku AI: threat-space search for a forced win by continuous fours, then iterative-deepening
+ * alpha-beta over the best candidate moves, within a strict time budget.
+ * <p>
+ * Each iteration splits the root on a {@link ForkJoinPool}: the first (previously best) move is searched
+ * alone to set a bound, then every other root move is searched in parallel against the best score so far.
+ * All threads share one lock-free {@link TranspositionTable}, so work done by one thread cuts the
+ * others' trees. When the budget runs out the threads stop within a few hundred microseconds,
+ * and the move of the last completed iteration is played.
+ */
+public class GomokuAi {
+
+    private static final int CENTER = Bitboard.index(Bitboard.SIZE / 2, Bitboard.SIZE / 2);
+
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+    private final ThreadLocal<Searcher> searchers = ThreadLocal.withInitial(Searcher::new);
+
+    /**
+     * @param pool         the pool running the parallel root search
+     * @param tableEntries transposition table entries, 16 bytes each
+     */
+    public GomokuAi(ForkJoinPool pool, int tableEntries) {
+        this.pool = pool;
+        this.table = new TranspositionTable(tableEntries);
+    }
+
+    /**
+     * Chooses a move for the side to move.
+     *
+     * @param root        the position, left unchanged
+     * @param level       how deep and wide to search
+     * @param budgetNanos hard limit on the time spent
+     * @return the chosen move
+     * @throws IllegalArgumentException if the board is full
+     */
+    public AiMove chooseMove(Position root, AiLevel level, long budgetNanos) {
+        long started = System.nanoTime();
+        if (root.getMoveCount() == 0) {
+            return new AiMove(CENTER, 0, 0, 0, System.nanoTime() - started);
+        }
+        int[] threats = new int[1];
+        if (root.fiveCells(root.sideToMove(), threats) > 0) {
+            return new AiMove(threats[0], Searcher.WIN, 0, 0, System.nanoTime() - started);
+        }
+
+        // the forced-win search gets at most a quarter of the budget
+        Searcher main = new Searcher();
+        main.reset(root, table, new Searcher.Context(started + budgetNanos / 4), level.getWidth());
+        int vcf = main.findVcf(level.getVcfDepth());
+        if (vcf >= 0) {
+            return new AiMove(vcf, Searcher.WIN_BOUND, 0, main.nodes, System.nanoTime() - started);
+        }
+        long nodes = main.nodes;
+        Searcher.Context context = new Searcher.Context(started + budgetNanos);
+        main.reset(root, table, context, level.getWidth());
+
+        int[] moves = new int[Position.CELLS];
+        int count = main.rootMoves(moves);
+        if (count == 0) {
+            throw new IllegalArgumentException("No move left on the board");
+        }
+        if (count == 1) {
+            return new AiMove(moves[0], 0, 0, nodes, System.nanoTime() - started);
+        }
+
+        int[] scores = new int[count];
+        int bestScore = 0;
+        int completed = 0;
+        for (int depth = 1; depth <= level.getMaxDepth(); depth++) {
+            RootSplit split = new RootSplit(root, moves, scores, count, depth, level.getWidth(), context);
+            pool.invoke(split);
+            if (context.stopped && depth > 1) {
+                break;
+            }
+            sortByScore(moves, scores, count);
+            if (scores[0] == -Searcher.INFINITY) {
+                // stopped before the first move was searched
+                break;
+            }
+            bestScore = scores[0];
+            completed = depth;
+            if (Math.abs(bestScore) > Searcher.WIN_BOUND || context.stopped
+                    || System.nanoTime() - started > budgetNanos / 2) {
+                // a forced result, or the next iteration would not finish in time
+                break;
+            }
+        }
+        return new AiMove(moves[0], bestScore, completed, nodes + context.nodes.sum(), System.nanoTime() - started);
+    }
+
+    /**
+     * Chooses a move within the level's own time budget.
+     */
+    public AiMove chooseMove(Position root, AiLevel level) {
+        return chooseMove(root, level, TimeUnit.MILLISECONDS.toNanos(level.getThinkMs()));
+    }
+
+    public long tableSizeBytes() {
+        return table.sizeBytes();
+    }
+
+    /** Forgets every stored result, so a benchmark iteration does not reuse the previous one's work. */
+    void clearTable() {
+        table.clear();
+    }
+
+    /** Insertion sort, best first; stable so earlier (better ordered) moves win ties. */
+    private static void sortByScore(int[] moves, int[] scores, int count) {
+        for (int i = 1; i < count; i++) {
+            int move = moves[i];
+            int score = scores[i];
+            int j = i - 1;
+            while (j >= 0 && scores[j] < score) {
+                moves[j + 1] = moves[j];
+                scores[j + 1] = scores[j];
+                j--;
+            }
+            moves[j + 1] = move;
+            scores[j + 1] = score;
+        }
+    }
+
+    /**
+     * One iteration of the root search: the first move alone, then the rest in parallel.
+     */
+    private final class RootSplit extends RecursiveAction {
+        private final Position root;
+        private final int[] moves;
+        private final int[] scores;
+        private final int count;
+        private final int depth;
+        private final int width;
+        private final Searcher.Context context;
+
+        RootSplit(Position root, int[] moves, int[] scores, int count, int depth, int width, Searcher.Context context) {
+            this.root = root;
+            this.moves = moves;
+            this.scores = scores;
+            this.count = count;
+            this.depth = depth;
+            this.width = width;
+            this.context = context;
+        }
+
+        @Override
+        protected void compute() {
+            for (int i = 0; i < count; i++) {
+                scores[i] = -Searcher.INFINITY;
+            }
+            AtomicInteger alpha = new AtomicInteger(-Searcher.INFINITY);
+            new RootMove(this, 0, alpha).compute();
+            List<RootMove> rest = new ArrayList<>(count - 1);
+            for (int i = 1; i < count; i++) {
+                rest.add(new RootMove(this, i, alpha));
+            }
+            invokeAll(rest);
+        }
+    }
+
+    /**
+     * Search of one root move, on the worker thread's own {@link Searcher}.
+     */
+    private final class RootMove extends RecursiveAction {
+        private final RootSplit split;
+        private final int index;
+        private final AtomicInteger alpha;
+
+        RootMove(RootSplit split, int index, AtomicInteger alpha) {
+            this.split = split;
+            this.index = index;
+            this.alpha = alpha;
+        }
+
+        @Override
+        protected void compute() {
+            if (split.context.stopped) {
+                return;
+            }
+            Searcher searcher = searchers.get();
+            searcher.reset(split.root, table, split.context, split.width);
+            searcher.position.play(split.moves[index]);
+            int score = -searcher.search(split.depth - 1, -Searcher.INFINITY, -alpha.get(), 1);
+            split.context.nodes.add(searcher.nodes);
+            if (!split.context.stopped) {
+                split.scores[index] = score;
+                alpha.accumulateAndGet(score, Math::max);
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.pentalign.backend.ai;
+
+import com.pentalign.backend.engine.Bitboard;
+import com.pentalign.backend.engine.GameBoard;
+import com.pentalign.backend.enums.Stone;
+
+import java.util.SplittableRandom;
+
+/**
+ * Mutable position for the search, updated incrementally on every move and undo.
+ * It keeps the number of stones of each side in every {@link Windows window}, from which come
+ * the static score, the open "fours" (windows one stone short of five with no opposing stone)
+ * and the move-ordering scores; and a Zobrist hash for the {@link TranspositionTable}.
+ * Playing or undoing a move touches at most 20 windows and 24 neighbors, and allocates nothing.
+ * <p>
+ * Side 0 is X, who moves first; side 1 is O. Not thread-safe: each search thread works on its own copy.
+ */
+public final class Position {
+
+    static final int CELLS = Bitboard.CELLS;
+
+    /** Value of a window holding 0..4 stones of one side and none of the other. */
+    private static final int[] WEIGHTS = {0, 1, 12, 150, 2_000, 0};
+    /** Ordering bonus for adding a stone to a window holding 0..3 own stones and none of the opponent's. */
+    private static final int[] ATTACK = {1, 11, 138, 1_850};
+    /** Ordering bonus for putting a stone in a window holding 1..4 opponent stones and none of ours. */
+    private static final int[] DEFENSE = {0, 1, 10, 120, 1_600};
+
+    /** Zobrist keys per side and cell; fixed seed so hashes are stable across runs. */
+    private static final long[][] KEYS = new long[2][CELLS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x5EED_607A_4B1DL);
+        for (int side = 0; side < 2; side++) {
+            for (int cell = 0; cell < CELLS; cell++) {
+                KEYS[side][cell] = random.nextLong();
+            }
+        }
+    }
+
+    final byte[] cells = new byte[CELLS];
+    final int[][] counts = new int[2][Windows.COUNT];
+    final int[] fours = new int[2];
+    final int[] near = new int[CELLS];
+    final int[] history = new int[CELLS];
+    int moveCount;
+    /** Sum of window values, positive favoring X. */
+    int score;
+    long hash;
+
+    /**
+     * Copies a game board. The caller must keep the board from changing during the call.
+     *
+     * @param board the board
+     * @return a position with the same stones and side to move
+     */
+    public static Position of(GameBoard board) {
+        Position position = new Position();
+        for (int row = 0; row < Bitboard.SIZE; row++) {
+            for (int col = 0; col < Bitboard.SIZE; col++) {
+                Stone stone = board.stoneAt(row, col);
+                if (stone != null) {
+                    position.put(Bitboard.index(row, col), stone == Stone.X ? 0 : 1);
+                }
+            }
+        }
+        position.moveCount = board.getMoveCount();
+        return position;
+    }
+
+    public int sideToMove() {
+        return moveCount & 1;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public boolean isEmpty(int cell) {
+        return cells[cell] == 0;
+    }
+
+    /**
+     * Places a stone for the side to move. The cell must be empty.
+     *
+     * @param cell the cell index
+     */
+    public void play(int cell) {
+        put(cell, moveCount & 1);
+        history[moveCount++] = cell;
+    }
+
+    /**
+     * Takes back the last move played with {@link #play(int)}.
+     */
+    public void undo() {
+        int cell = history[--moveCount];
+        take(cell, moveCount & 1);
+    }
+
+    /**
+     * @return the static score from the point of view of the side to move
+     */
+    int evaluate() {
+        return (moveCount & 1) == 0 ? score : -score;
+    }
+
+    /**
+     * Scores a candidate move for ordering: what it builds for the side plus what it blocks of the opponent.
+     */
+    int moveScore(int cell, int side) {
+        int[] own = counts[side];
+        int[] opp = counts[side ^ 1];
+        int total = 0;
+        for (int w : Windows.OF_CELL[cell]) {
+            int o = own[w];
+            int p = opp[w];
+            if (p == 0 && o < 4) {
+                total += ATTACK[o];
+            } else if (o == 0) {
+                total += DEFENSE[p];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * @return true if a stone of the side at the cell would leave a window with four of its stones and no opposing one
+     */
+    boolean makesFour(int cell, int side) {
+        int[] own = counts[side];
+        int[] opp = counts[side ^ 1];
+        for (int w : Windows.OF_CELL[cell]) {
+            if (own[w] == 3 && opp[w] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Collects the distinct empty cells where the side would complete five.
+     *
+     * @param side the side
+     * @param out  receives the cells
+     * @return how many cells were found, at most {@code out.length}
+     */
+    int fiveCells(int side, int[] out) {
+        if (fours[side] == 0) {
+            return 0;
+        }
+        int[] own = counts[side];
+        int[] opp = counts[side ^ 1];
+        int found = 0;
+        for (int w = 0; w < Windows.COUNT && found < out.length; w++) {
+            if (own[w] != 4 || opp[w] != 0) {
+                continue;
+            }
+            for (int cell : Windows.CELLS_OF[w]) {
+                if (cells[cell] == 0) {
+                    boolean seen = false;
+                    for (int i = 0; i < found; i++) {
+                        seen |= out[i] == cell;
+                    }
+                    if (!seen) {
+                        out[found++] = cell;
+                    }
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Makes this position a copy of another without allocating.
+     */
+    void copyFrom(Position other) {
+        System.arraycopy(other.cells, 0, cells, 0, CELLS);
+        System.arraycopy(other.counts[0], 0, counts[0], 0, Windows.COUNT);
+        System.arraycopy(other.counts[1], 0, counts[1], 0, Windows.COUNT);
+        fours[0] = other.fours[0];
+        fours[1] = other.fours[1];
+        System.arraycopy(other.near, 0, near, 0, CELLS);
+        System.arraycopy(other.history, 0, history, 0, CELLS);
+        moveCount = other.moveCount;
+        score = other.score;
+        hash = other.hash;
+    }
+
+    public Position copy() {
+        Position copy = new Position();
+        copy.copyFrom(this);
+        return copy;
+    }
+
+    private void put(int cell, int side) {
+        int other = side ^ 1;
+        int[] own = counts[side];
+        int[] opp = counts[other];
+        for (int w : Windows.OF_CELL[cell]) {
+            int before = value(w);
+            boolean ownFour = own[w] == 4 && opp[w] == 0;
+            boolean oppFour = opp[w] == 4 && own[w] == 0;
+            own[w]++;
+            score += value(w) - before;
+            if (ownFour) {
+                fours[side]--;
+            } else if (own[w] == 4 && opp[w] == 0) {
+                fours[side]++;
+            }
+            if (oppFour) {
+                fours[other]--;
+            }
+        }
+        cells[cell] = (byte) (side + 1);
+        hash ^= KEYS[side][cell];
+        for (int n : Windows.NEIGHBORS[cell]) {
+            near[n]++;
+        }
+    }
+
+    private void take(int cell, int side) {
+        int other = side ^ 1;
+        int[] own = counts[side];
+        int[] opp = counts[other];
+        for (int w : Windows.OF_CELL[cell]) {
+            int before = value(w);
+            boolean ownFour = own[w] == 4 && opp[w] == 0;
+            own[w]--;
+            score += value(w) - before;
+            if (ownFour) {
+                fours[side]--;
+            } else if (own[w] == 4 && opp[w] == 0) {
+                fours[side]++;
+            }
+            if (own[w] == 0 && opp[w] == 4) {
+                fours[other]++;
+            }
+        }
+        cells[cell] = 0;
+        hash ^= KEYS[side][cell];
+        for (int n : Windows.NEIGHBORS[cell]) {
+            near[n]--;
+        }
+    }
+
+    private int value(int w) {
+        int x = counts[0][w];
+        int o = counts[1][w];
+        if (o == 0) {
+            return WEIGHTS[x];
+        }
+        return x == 0 ? -WEIGHTS[o] : 0;
+    }
+}
@@ -0,0 +1,270 @@
+package com.pentalign.backend.ai;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One thread's alpha-beta search over its own {@link Position}, sharing the transposition table,
+ * the deadline and the stop flag with the other threads of the same move decision.
+ * Move buffers are preallocated per ply, so searching allocates nothing.
+ */
+final class Searcher {
+
+    static final int MAX_PLY = 64;
+    static final int INFINITY = 100_000_000;
+    static final int WIN = 10_000_000;
+    /** Scores beyond this are wins or losses found at a known distance. */
+    static final int WIN_BOUND = WIN - 1_000;
+
+    private static final int CHECK_EVERY = 1024;
+
+    final Position position = new Position();
+    private final int[][] moves = new int[MAX_PLY][Position.CELLS];
+    private final int[][] scores = new int[MAX_PLY][Position.CELLS];
+    private final int[] threats = new int[2];
+
+    private TranspositionTable table;
+    private Context context;
+    private int width;
+    long nodes;
+
+    /**
+     * State shared by the threads searching the same move.
+     */
+    static final class Context {
+        final long deadline;
+        final LongAdder nodes = new LongAdder();
+        volatile boolean stopped;
+
+        Context(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    void reset(Position root, TranspositionTable table, Context context, int width) {
+        position.copyFrom(root);
+        this.table = table;
+        this.context = context;
+        this.width = width;
+        this.nodes = 0;
+    }
+
+    /**
+     * Negamax alpha-beta with transposition table, fail-soft.
+     * Before anything else a node checks for threats: the side to move wins at once if it has a four,
+     * and if the opponent has a four the only moves worth searching are the blocks.
+     *
+     * @return the score from the point of view of the side to move, or 0 once the search is stopped
+     */
+    int search(int depth, int alpha, int beta, int ply) {
+        if (++nodes % CHECK_EVERY == 0 && System.nanoTime() > context.deadline) {
+            context.stopped = true;
+        }
+        if (context.stopped) {
+            return 0;
+        }
+        Position p = position;
+        int side = p.sideToMove();
+        if (p.fours[side] > 0) {
+            return WIN - ply;
+        }
+        if (p.moveCount == Position.CELLS) {
+            return 0;
+        }
+        int blocks = p.fours[side ^ 1] > 0 ? p.fiveCells(side ^ 1, threats) : 0;
+        if (blocks > 1) {
+            // two different fives threatened, only one can be blocked
+            return -(WIN - ply - 1);
+        }
+        if (depth <= 0 || ply >= MAX_PLY - 1) {
+            return p.evaluate();
+        }
+
+        long entry = table.probe(p.hash);
+        int ttMove = -1;
+        if (entry != TranspositionTable.MISS) {
+            ttMove = TranspositionTable.moveOf(entry);
+            if (TranspositionTable.depthOf(entry) >= depth) {
+                int score = fromTable(TranspositionTable.scoreOf(entry), ply);
+                int bound = TranspositionTable.boundOf(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int[] ms = moves[ply];
+        int count;
+        if (blocks == 1) {
+            ms[0] = threats[0];
+            count = 1;
+        } else {
+            count = generate(ply, width);
+            if (count == 0) {
+                return 0;
+            }
+            promote(ms, count, ttMove);
+        }
+
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestMove = ms[0];
+        for (int i = 0; i < count; i++) {
+            int move = ms[i];
+            p.play(move);
+            int score = -search(depth - 1, -beta, -alpha, ply + 1);
+            p.undo();
+            if (context.stopped) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(p.hash, toTable(best, ply), depth, bound, bestMove);
+        return best;
+    }
+
+    /**
+     * Threat-space search for a victory by continuous fours: every move makes a four, so the opponent's
+     * reply is forced, until a double four or a five. Only the attacker's fours are branched on,
+     * which keeps the tree narrow enough to look far ahead.
+     *
+     * @param depth maximum number of own moves
+     * @return the first move of a forced win for the side to move, or -1
+     */
+    int findVcf(int depth) {
+        if (depth <= 0 || context.stopped) {
+            return -1;
+        }
+        Position p = position;
+        int side = p.sideToMove();
+        if (p.fours[side] > 0) {
+            return p.fiveCells(side, threats) > 0 ? threats[0] : -1;
+        }
+        if (p.fours[side ^ 1] > 0) {
+            // the opponent threatens five, a four of ours would not force anything
+            return -1;
+        }
+        for (int cell = 0; cell < Position.CELLS; cell++) {
+            if (p.cells[cell] != 0 || p.near[cell] == 0 || !p.makesFour(cell, side)) {
+                continue;
+            }
+            if (++nodes % CHECK_EVERY == 0 && System.nanoTime() > context.deadline) {
+                context.stopped = true;
+                return -1;
+            }
+            p.play(cell);
+            boolean win;
+            int fives = p.fiveCells(side, threats);
+            if (fives > 1) {
+                win = true;
+            } else {
+                p.play(threats[0]);
+                win = findVcf(depth - 1) >= 0;
+                p.undo();
+            }
+            p.undo();
+            if (win) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Moves worth searching at the root: the block if the opponent threatens five, otherwise the
+     * best-ordered candidates.
+     *
+     * @param out receives the moves
+     * @return how many moves were written
+     */
+    int rootMoves(int[] out) {
+        Position p = position;
+        int side = p.sideToMove();
+        int blocks = p.fours[side ^ 1] > 0 ? p.fiveCells(side ^ 1, threats) : 0;
+        if (blocks > 0) {
+            out[0] = threats[0];
+            return 1;
+        }
+        int count = generate(0, width);
+        System.arraycopy(moves[0], 0, out, 0, count);
+        return count;
+    }
+
+    /**
+     * Fills {@code moves[ply]} with the empty cells near a stone, the {@code limit} best first by move-ordering score.
+     */
+    private int generate(int ply, int limit) {
+        Position p = position;
+        int side = p.sideToMove();
+        int[] ms = moves[ply];
+        int[] ss = scores[ply];
+        int count = 0;
+        for (int cell = 0; cell < Position.CELLS; cell++) {
+            if (p.cells[cell] == 0 && p.near[cell] > 0) {
+                ms[count] = cell;
+                ss[count] = p.moveScore(cell, side);
+                count++;
+            }
+        }
+        int kept = Math.min(count, limit);
+        for (int i = 0; i < kept; i++) {
+            int bestAt = i;
+            for (int j = i + 1; j < count; j++) {
+                if (ss[j] > ss[bestAt]) {
+                    bestAt = j;
+                }
+            }
+            swap(ms, i, bestAt);
+            swap(ss, i, bestAt);
+        }
+        return kept;
+    }
+
+    private static void promote(int[] ms, int count, int move) {
+        if (move < 0) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            if (ms[i] == move) {
+                System.arraycopy(ms, 0, ms, 1, i);
+                ms[0] = move;
+                return;
+            }
+        }
+    }
+
+    private static void swap(int[] a, int i, int j) {
+        int t = a[i];
+        a[i] = a[j];
+        a[j] = t;
+    }
+
+    /** Wins and losses are stored relative to the node, so they stay valid when reached at another ply. */
+    private static int toTable(int score, int ply) {
+        if (score > WIN_BOUND) {
+            return score + ply;
+        }
+        return score < -WIN_BOUND ? score - ply : score;
+    }
+
+    private static int fromTable(int score, int ply) {
+        if (score > WIN_BOUND) {
+            return score - ply;
+        }
+        return score < -WIN_BOUND ? score + ply : score;
+    }
+}
@@ -0,0 +1,85 @@
+package com.pentalign.backend.ai;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size transposition table shared by every search thread without locks.
+ * Each slot is two longs: the entry data, and the Zobrist key XOR-ed with that data.
+ * Threads read and write slots racily; an entry torn by a concurrent write no longer
+ * satisfies {@code stored key ^ data == key} and simply reads as a miss.
+ * <p>
+ * Data layout: bits 0-31 score, 32-39 depth, 40-41 bound, 42-50 best move + 1, 63 set on every entry.
+ */
+final class TranspositionTable {
+
+    static final long MISS = 0;
+
+    static final int EXACT = 0;
+    static final int LOWER = 1;
+    static final int UPPER = 2;
+
+    private static final long PRESENT = 1L << 63;
+
+    private final long[] slots;
+    private final int mask;
+
+    /**
+     * @param entries number of entries, rounded up to a power of two; each takes 16 bytes
+     */
+    TranspositionTable(int entries) {
+        int size = Integer.highestOneBit(Math.max(entries - 1, 1)) << 1;
+        this.slots = new long[2 * size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * @param key the position's Zobrist hash
+     * @return the entry data, or {@link #MISS}
+     */
+    long probe(long key) {
+        int i = 2 * (int) (key & mask);
+        long data = slots[i + 1];
+        long check = slots[i];
+        return (check ^ data) == key && data != MISS ? data : MISS;
+    }
+
+    void store(long key, int score, int depth, int bound, int move) {
+        int i = 2 * (int) (key & mask);
+        long old = slots[i + 1];
+        if ((slots[i] ^ old) == key && old != MISS && depthOf(old) > depth) {
+            // keep the deeper result for the same position
+            return;
+        }
+        long data = (score & 0xFFFF_FFFFL)
+                | ((long) (depth & 0xFF) << 32)
+                | ((long) bound << 40)
+                | ((long) (move + 1) << 42)
+                | PRESENT;
+        slots[i + 1] = data;
+        slots[i] = key ^ data;
+    }
+
+    void clear() {
+        Arrays.fill(slots, 0);
+    }
+
+    long sizeBytes() {
+        return 8L * slots.length;
+    }
+
+    static int scoreOf(long data) {
+        return (int) data;
+    }
+
+    static int depthOf(long data) {
+        return (int) (data >>> 32) & 0xFF;
+    }
+
+    static int boundOf(long data) {
+        return (int) (data >>> 40) & 0x3;
+    }
+
+    static int moveOf(long data) {
+        return ((int) (data >>> 42) & 0x1FF) - 1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.pentalign.backend.ai;
+
+import com.pentalign.backend.engine.Bitboard;
+import com.pentalign.backend.engine.GameBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed geometry of the board: every run of {@link GameBoard#WIN_LENGTH} cells in a line
+ * ("window"), the windows through each cell, and the cells near each cell.
+ * A five can only be made inside a window, so counting stones per window is all the evaluation needs.
+ */
+final class Windows {
+
+    static final int LENGTH = GameBoard.WIN_LENGTH;
+    static final int COUNT;
+
+    /** Cells of each window. */
+    static final int[][] CELLS_OF;
+    /** Windows through each cell, at most 4 directions x 5 offsets. */
+    static final int[][] OF_CELL;
+    /** Cells within two rows and columns of each cell; candidate moves are empty cells near a stone. */
+    static final int[][] NEIGHBORS;
+
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    private static final int NEAR = 2;
+
+    static {
+        int size = Bitboard.SIZE;
+        List<int[]> windows = new ArrayList<>();
+        for (int[] dir : DIRECTIONS) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    if (!Bitboard.inBounds(row + (LENGTH - 1) * dir[0], col + (LENGTH - 1) * dir[1])) {
+                        continue;
+                    }
+                    int[] cells = new int[LENGTH];
+                    for (int i = 0; i < LENGTH; i++) {
+                        cells[i] = Bitboard.index(row + i * dir[0], col + i * dir[1]);
+                    }
+                    windows.add(cells);
+                }
+            }
+        }
+        COUNT = windows.size();
+        CELLS_OF = windows.toArray(new int[0][]);
+
+        int[] perCell = new int[Bitboard.CELLS];
+        for (int[] cells : CELLS_OF) {
+            for (int cell : cells) {
+                perCell[cell]++;
+            }
+        }
+        OF_CELL = new int[Bitboard.CELLS][];
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            OF_CELL[cell] = new int[perCell[cell]];
+            perCell[cell] = 0;
+        }
+        for (int w = 0; w < COUNT; w++) {
+            for (int cell : CELLS_OF[w]) {
+                OF_CELL[cell][perCell[cell]++] = w;
+            }
+        }
+
+        NEIGHBORS = new int[Bitboard.CELLS][];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                List<Integer> near = new ArrayList<>();
+                for (int dr = -NEAR; dr <= NEAR; dr++) {
+                    for (int dc = -NEAR; dc <= NEAR; dc++) {
+                        if ((dr != 0 || dc != 0) && Bitboard.inBounds(row + dr, col + dc)) {
+                            near.add(Bitboard.index(row + dr, col + dc));
+                        }
+                    }
+                }
+                NEIGHBORS[Bitboard.index(row, col)] = near.stream().mapToInt(Integer::intValue).toArray();
+            }
+        }
+    }
+
+    private Windows() {
+    }
+}
@@ -0,0 +1,21 @@
+package com.pentalign.backend.book;
+
+/**
+ * A finished game as read for an opening book build.
+ *
+ * @param moveLog   the packed move log, see {@code MoveLogCodec}
+ * @param player1Id the player of X
+ * @param winnerId  the winner, or null for a draw
+ */
+public record BookGame(byte[] moveLog, Long player1Id, Long winnerId) {
+
+    /**
+     * @return 0 if X won, 1 if O won, {@link OpeningBookBuilder#DRAW} otherwise
+     */
+    public int winner() {
+        if (winnerId == null) {
+            return OpeningBookBuilder.DRAW;
+        }
+        return winnerId.equals(player1Id) ? 0 : 1;
+    }
+}
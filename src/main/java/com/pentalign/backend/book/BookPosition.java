@@ -0,0 +1,143 @@
+package com.pentalign.backend.book;
+
+import com.pentalign.backend.engine.Bitboard;
+import com.pentalign.backend.engine.GameBoard;
+import com.pentalign.backend.enums.Stone;
+
+import java.util.SplittableRandom;
+
+/**
+ * Position as seen by the opening book: one Zobrist hash per {@link Symmetry}, updated on every move.
+ * The smallest of the 8 hashes identifies the position together with all its rotations and mirror images,
+ * and the symmetry that produced it maps moves between the board and the book.
+ * <p>
+ * The keys are part of the book file format: changing the seed invalidates every book already written.
+ * Not thread-safe.
+ */
+public final class BookPosition {
+
+    /** Bits of the position key left free for the canonical move, see {@link #entryKey(int)}. */
+    static final int MOVE_BITS = 8;
+    static final long MOVE_MASK = (1L << MOVE_BITS) - 1;
+
+    private static final long[][] KEYS = new long[2][Bitboard.CELLS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0xB00C_0F_5EEDL);
+        for (int side = 0; side < 2; side++) {
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                KEYS[side][cell] = random.nextLong();
+            }
+        }
+    }
+
+    private final long[] hashes = new long[Symmetry.COUNT];
+    private int moveCount;
+
+    /**
+     * Builds the position of a board.
+     *
+     * @param board the board; the caller must keep it from changing meanwhile
+     * @return the position
+     */
+    public static BookPosition of(GameBoard board) {
+        BookPosition position = new BookPosition();
+        for (int row = 0; row < Bitboard.SIZE; row++) {
+            for (int col = 0; col < Bitboard.SIZE; col++) {
+                Stone stone = board.stoneAt(row, col);
+                if (stone != null) {
+                    position.put(Bitboard.index(row, col), stone == Stone.X ? 0 : 1);
+                }
+            }
+        }
+        position.moveCount = board.getMoveCount();
+        return position;
+    }
+
+    /**
+     * Places a stone for the side to move.
+     *
+     * @param cell an empty cell
+     */
+    public void play(int cell) {
+        put(cell, moveCount & 1);
+        moveCount++;
+    }
+
+    /**
+     * Empties the board.
+     */
+    public void clear() {
+        for (int s = 0; s < Symmetry.COUNT; s++) {
+            hashes[s] = 0;
+        }
+        moveCount = 0;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * @return the symmetry giving the smallest hash, the lowest one on ties
+     */
+    public int canonicalSymmetry() {
+        int best = 0;
+        for (int s = 1; s < Symmetry.COUNT; s++) {
+            if (Long.compareUnsigned(hashes[s], hashes[best]) < 0) {
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the hash of the position, the same for all its symmetric images; the low {@link #MOVE_BITS} bits are zero
+     */
+    public long key() {
+        return hashes[canonicalSymmetry()] & ~MOVE_MASK;
+    }
+
+    /**
+     * Maps a move to the book's orientation. If the position is itself symmetric, every image of the
+     * move under the symmetries that keep the position unchanged maps to the same cell.
+     *
+     * @param cell the move on the board
+     * @return the move in the book's orientation
+     */
+    public int canonicalMove(int cell) {
+        long min = hashes[canonicalSymmetry()];
+        int move = Integer.MAX_VALUE;
+        for (int s = 0; s < Symmetry.COUNT; s++) {
+            if (hashes[s] == min) {
+                move = Math.min(move, Symmetry.apply(s, cell));
+            }
+        }
+        return move;
+    }
+
+    /**
+     * Maps a move stored in the book back to the board.
+     *
+     * @param canonicalMove the move in the book's orientation
+     * @return the move on the board
+     */
+    public int boardMove(int canonicalMove) {
+        return Symmetry.apply(Symmetry.inverse(canonicalSymmetry()), canonicalMove);
+    }
+
+    /**
+     * @param cell the move on the board
+     * @return the key under which the book aggregates this move from this position
+     */
+    long entryKey(int cell) {
+        return key() | canonicalMove(cell);
+    }
+
+    private void put(int cell, int side) {
+        long[] keys = KEYS[side];
+        for (int s = 0; s < Symmetry.COUNT; s++) {
+            hashes[s] ^= keys[Symmetry.apply(s, cell)];
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.pentalign.backend.book;
+
+/**
+ * Open-addressing map from a {@link BookPosition#entryKey(int) book entry key} to its game counts,
+ * held in primitive arrays: 20 bytes per slot, at most half of them used, and no objects per entry.
+ * Not thread-safe: each builder thread fills its own table and the tables are merged at the end.
+ */
+final class MoveStatsTable {
+
+    static final int GAMES = 0;
+    static final int WINS = 1;
+    static final int DRAWS = 2;
+    private static final int FIELDS = 3;
+
+    long[] keys;
+    /** {@code FIELDS} counters per slot; a slot is free while its game count is zero. */
+    int[] counts;
+    private int size;
+    private int mask;
+
+    MoveStatsTable(int expectedEntries) {
+        int capacity = Integer.highestOneBit(Math.max(expectedEntries, 8) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Counts one game through the entry.
+     *
+     * @param key   the entry key
+     * @param wins  1 if the side that played the move won
+     * @param draws 1 if the game was drawn
+     */
+    void add(long key, int wins, int draws) {
+        add(key, 1, wins, draws);
+    }
+
+    void add(long key, int games, int wins, int draws) {
+        int slot = find(key);
+        if (counts[slot * FIELDS + GAMES] == 0) {
+            keys[slot] = key;
+            if (++size > (mask + 1) >>> 1) {
+                grow();
+                slot = find(key);
+            }
+        }
+        int base = slot * FIELDS;
+        counts[base + GAMES] += games;
+        counts[base + WINS] += wins;
+        counts[base + DRAWS] += draws;
+    }
+
+    /**
+     * Adds every entry of another table to this one.
+     *
+     * @param other the table to fold in, left unchanged
+     */
+    void addAll(MoveStatsTable other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            int base = slot * FIELDS;
+            if (other.counts[base + GAMES] != 0) {
+                add(other.keys[slot], other.counts[base + GAMES], other.counts[base + WINS], other.counts[base + DRAWS]);
+            }
+        }
+    }
+
+    /**
+     * @param key the entry key
+     * @return the slot holding the key, or -1 if absent
+     */
+    int slotOf(long key) {
+        int slot = find(key);
+        return counts[slot * FIELDS + GAMES] != 0 ? slot : -1;
+    }
+
+    int count(int slot, int field) {
+        return counts[slot * FIELDS + field];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    private int find(long key) {
+        int slot = mix(key) & mask;
+        while (counts[slot * FIELDS + GAMES] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldCounts = counts;
+        allocate(oldKeys.length * 2);
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            int base = slot * FIELDS;
+            if (oldCounts[base + GAMES] != 0) {
+                int to = find(oldKeys[slot]) * FIELDS;
+                keys[to / FIELDS] = oldKeys[slot];
+                System.arraycopy(oldCounts, base, counts, to, FIELDS);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        if (capacity <= 0 || (long) capacity * FIELDS > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Opening book table cannot grow to " + capacity + " slots");
+        }
+        keys = new long[capacity];
+        counts = new int[capacity * FIELDS];
+        mask = capacity - 1;
+    }
+
+    /** Spreads the key bits; the low bits hold the move and repeat across positions. */
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xFF51AFD7ED558CCDL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
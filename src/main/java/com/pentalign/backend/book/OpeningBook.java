@@ -0,0 +1,147 @@
+package com.pentalign.backend.book;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only opening book, memory-mapped from a file written by {@link OpeningBookBuilder}.
+ * Looking up a position is one hash probe into the mapped file plus a read of its moves; nothing is
+ * loaded into the heap, and the operating system shares the pages between processes.
+ * <pre>
+ * header : int magic "PBK1", int version, int maxPlies, int slotCount, int moveCount, int games
+ * slots  : slotCount x (long positionKey, int firstMove, int moveCount), open addressing, moveCount 0 = empty
+ * moves  : moveCount x (int cell, int games, int wins, int draws), most played first within a position
+ * </pre>
+ * All values are little-endian; cells are in the book's orientation, see {@link BookPosition}.
+ * Safe for concurrent readers.
+ */
+public class OpeningBook {
+
+    static final int MAGIC = 0x314B4250;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int SLOT_BYTES = 16;
+    static final int MOVE_BYTES = 16;
+
+    /**
+     * A move of the book, with the results of the games in which it was played.
+     *
+     * @param cell  the cell, on the board the position was looked up from
+     * @param games games in which the move was played
+     * @param wins  games won by the side that played it
+     * @param draws games drawn
+     */
+    public record Move(int cell, int games, int wins, int draws) {
+
+        /**
+         * @return the expected result for the side that plays it, 1 for a win and 0.5 for a draw
+         */
+        public double score() {
+            return games == 0 ? 0 : (wins + draws * 0.5) / games;
+        }
+    }
+
+    private final ByteBuffer data;
+    private final int maxPlies;
+    private final int slotCount;
+    private final int moveCount;
+    private final int games;
+    private final int movesStart;
+
+    private OpeningBook(ByteBuffer data) {
+        if (data.capacity() < HEADER_BYTES || data.getInt(0) != MAGIC || data.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported opening book format");
+        }
+        this.data = data;
+        this.maxPlies = data.getInt(8);
+        this.slotCount = data.getInt(12);
+        this.moveCount = data.getInt(16);
+        this.games = data.getInt(20);
+        this.movesStart = HEADER_BYTES + slotCount * SLOT_BYTES;
+        if (Integer.bitCount(slotCount) != 1 || (long) movesStart + (long) moveCount * MOVE_BYTES > data.capacity()) {
+            throw new IllegalArgumentException("Truncated opening book");
+        }
+    }
+
+    /**
+     * Maps a book file.
+     *
+     * @param path the book file
+     * @return the book
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if the file is not an opening book
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new OpeningBook(data.order(ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    /**
+     * @param position the position
+     * @return the book moves from the position mapped to its board, most played first;
+     * empty if the position is past the book's depth or was never reached
+     */
+    public List<Move> movesFor(BookPosition position) {
+        if (position.getMoveCount() >= maxPlies) {
+            return List.of();
+        }
+        long key = position.key();
+        int mask = slotCount - 1;
+        for (int slot = slotOf(key, slotCount); ; slot = (slot + 1) & mask) {
+            int offset = HEADER_BYTES + slot * SLOT_BYTES;
+            int count = data.getInt(offset + 12);
+            if (count == 0) {
+                return List.of();
+            }
+            if (data.getLong(offset) == key) {
+                return read(position, data.getInt(offset + 8), count);
+            }
+        }
+    }
+
+    public int getMaxPlies() {
+        return maxPlies;
+    }
+
+    /**
+     * @return number of (position, move) pairs in the book
+     */
+    public int size() {
+        return moveCount;
+    }
+
+    /**
+     * @return number of games the book was built from
+     */
+    public int getGames() {
+        return games;
+    }
+
+    public long sizeBytes() {
+        return data.capacity();
+    }
+
+    static int slotOf(long key, int slotCount) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32) & (slotCount - 1);
+    }
+
+    private List<Move> read(BookPosition position, int first, int count) {
+        List<Move> moves = new ArrayList<>(count);
+        for (int i = first; i < first + count; i++) {
+            int offset = movesStart + i * MOVE_BYTES;
+            moves.add(new Move(position.boardMove(data.getInt(offset)),
+                    data.getInt(offset + 4), data.getInt(offset + 8), data.getInt(offset + 12)));
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,195 @@
+package com.pentalign.backend.book;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Aggregates finished games into opening book statistics and writes them as an {@link OpeningBook} file.
+ * Every move of the first {@code maxPlies} plies of a game is counted once under its position and move,
+ * both reduced by {@link Symmetry}, with a win, draw or loss for the side that played it.
+ * <p>
+ * Not thread-safe: a parallel build gives each thread its own builder and {@link #merge merges} them at the end.
+ */
+public class OpeningBookBuilder {
+
+    /** Winner value of a drawn game, otherwise 0 for X and 1 for O. */
+    public static final int DRAW = -1;
+
+    private final int maxPlies;
+    private final MoveStatsTable stats;
+    private final BookPosition position = new BookPosition();
+    private long games;
+
+    /**
+     * @param maxPlies        number of plies of each game counted
+     * @param expectedEntries initial capacity, the builder grows past it
+     */
+    public OpeningBookBuilder(int maxPlies, int expectedEntries) {
+        if (maxPlies <= 0 || maxPlies > 255) {
+            throw new IllegalArgumentException("maxPlies must be between 1 and 255");
+        }
+        this.maxPlies = maxPlies;
+        this.stats = new MoveStatsTable(expectedEntries);
+    }
+
+    /**
+     * Counts one game.
+     *
+     * @param cells  the cells played, X first; only the first {@code maxPlies} are read
+     * @param winner 0 if X won, 1 if O won, {@link #DRAW} otherwise
+     */
+    public void addGame(int[] cells, int winner) {
+        position.clear();
+        int plies = Math.min(cells.length, maxPlies);
+        for (int ply = 0; ply < plies; ply++) {
+            int side = ply & 1;
+            stats.add(position.entryKey(cells[ply]), winner == side ? 1 : 0, winner == DRAW ? 1 : 0);
+            position.play(cells[ply]);
+        }
+        games++;
+    }
+
+    /**
+     * Adds the games counted by another builder.
+     *
+     * @param other a builder with the same {@code maxPlies}, left unchanged
+     */
+    public void merge(OpeningBookBuilder other) {
+        if (other.maxPlies != maxPlies) {
+            throw new IllegalArgumentException("Cannot merge books of " + other.maxPlies + " and " + maxPlies + " plies");
+        }
+        stats.addAll(other.stats);
+        games += other.games;
+    }
+
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * @return number of distinct (position, move) pairs counted
+     */
+    public int size() {
+        return stats.size();
+    }
+
+    /**
+     * Writes the book to a temporary file next to {@code path} and moves it in place,
+     * so readers of the previous file are never exposed to a partial one.
+     *
+     * @param path     the book file
+     * @param minGames moves seen in fewer games are left out
+     * @return number of moves written
+     * @throws IOException if the file cannot be written
+     */
+    public int write(Path path, int minGames) throws IOException {
+        long[] entries = new long[stats.size()];
+        int count = 0;
+        for (int slot = 0; slot < stats.capacity(); slot++) {
+            int games = stats.count(slot, MoveStatsTable.GAMES);
+            if (games != 0 && games >= minGames) {
+                entries[count++] = stats.keys[slot];
+            }
+        }
+        entries = Arrays.copyOf(entries, count);
+        // entries of one position differ only in the move bits, so sorting groups them
+        Arrays.sort(entries);
+
+        int positions = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || !samePosition(entries[i], entries[i - 1])) {
+                positions++;
+            }
+        }
+        int slotCount = Integer.highestOneBit(Math.max(positions, 1) * 2 - 1) << 1;
+        long size = OpeningBook.HEADER_BYTES + (long) slotCount * OpeningBook.SLOT_BYTES
+                + (long) count * OpeningBook.MOVE_BYTES;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Opening book of " + count + " moves does not fit in one mapped file");
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer out = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                out.order(ByteOrder.LITTLE_ENDIAN);
+                out.putInt(0, OpeningBook.MAGIC);
+                out.putInt(4, OpeningBook.VERSION);
+                out.putInt(8, maxPlies);
+                out.putInt(12, slotCount);
+                out.putInt(16, count);
+                out.putInt(20, (int) Math.min(games, Integer.MAX_VALUE));
+                writeEntries(out, entries, slotCount);
+                out.force();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return count;
+    }
+
+    /**
+     * Lays out the moves of each position contiguously, most played first, and points a hash slot at them.
+     */
+    private void writeEntries(MappedByteBuffer out, long[] entries, int slotCount) {
+        int movesStart = OpeningBook.HEADER_BYTES + slotCount * OpeningBook.SLOT_BYTES;
+        int written = 0;
+        int from = 0;
+        while (from < entries.length) {
+            int to = from + 1;
+            while (to < entries.length && samePosition(entries[to], entries[from])) {
+                to++;
+            }
+            sortByGames(entries, from, to);
+
+            long key = entries[from] & ~BookPosition.MOVE_MASK;
+            int slot = OpeningBook.slotOf(key, slotCount);
+            while (out.getInt(OpeningBook.HEADER_BYTES + slot * OpeningBook.SLOT_BYTES + 12) != 0) {
+                slot = (slot + 1) & (slotCount - 1);
+            }
+            int slotOffset = OpeningBook.HEADER_BYTES + slot * OpeningBook.SLOT_BYTES;
+            out.putLong(slotOffset, key);
+            out.putInt(slotOffset + 8, written);
+            out.putInt(slotOffset + 12, to - from);
+
+            for (int i = from; i < to; i++) {
+                int s = stats.slotOf(entries[i]);
+                int offset = movesStart + written * OpeningBook.MOVE_BYTES;
+                out.putInt(offset, (int) (entries[i] & BookPosition.MOVE_MASK));
+                out.putInt(offset + 4, stats.count(s, MoveStatsTable.GAMES));
+                out.putInt(offset + 8, stats.count(s, MoveStatsTable.WINS));
+                out.putInt(offset + 12, stats.count(s, MoveStatsTable.DRAWS));
+                written++;
+            }
+            from = to;
+        }
+    }
+
+    /** Insertion sort of one position's moves, most played first; a position has at most a few dozen. */
+    private void sortByGames(long[] entries, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long entry = entries[i];
+            int games = stats.count(stats.slotOf(entry), MoveStatsTable.GAMES);
+            int j = i - 1;
+            while (j >= from && stats.count(stats.slotOf(entries[j]), MoveStatsTable.GAMES) < games) {
+                entries[j + 1] = entries[j];
+                j--;
+            }
+            entries[j + 1] = entry;
+        }
+    }
+
+    private static boolean samePosition(long a, long b) {
+        return (a & ~BookPosition.MOVE_MASK) == (b & ~BookPosition.MOVE_MASK);
+    }
+}
@@ -0,0 +1,73 @@
+package com.pentalign.backend.book;
+
+import com.pentalign.backend.engine.Bitboard;
+
+/**
+ * The 8 symmetries of the square board: 4 rotations, each optionally followed by a mirror.
+ * Symmetry {@code s} rotates by {@code (s & 3)} quarter turns and mirrors the columns if {@code s >= 4};
+ * symmetry 0 is the identity.
+ */
+public final class Symmetry {
+
+    public static final int COUNT = 8;
+
+    private static final int[][] CELLS = new int[COUNT][Bitboard.CELLS];
+    private static final int[] INVERSE = new int[COUNT];
+
+    static {
+        int last = Bitboard.SIZE - 1;
+        for (int s = 0; s < COUNT; s++) {
+            for (int row = 0; row < Bitboard.SIZE; row++) {
+                for (int col = 0; col < Bitboard.SIZE; col++) {
+                    int r = row;
+                    int c = col;
+                    for (int turn = 0; turn < (s & 3); turn++) {
+                        int rotated = c;
+                        c = last - r;
+                        r = rotated;
+                    }
+                    if (s >= 4) {
+                        c = last - c;
+                    }
+                    CELLS[s][Bitboard.index(row, col)] = Bitboard.index(r, c);
+                }
+            }
+        }
+        for (int s = 0; s < COUNT; s++) {
+            for (int t = 0; t < COUNT; t++) {
+                if (isInverse(s, t)) {
+                    INVERSE[s] = t;
+                }
+            }
+        }
+    }
+
+    private Symmetry() {
+    }
+
+    /**
+     * @param symmetry the symmetry, 0 to 7
+     * @param cell     the cell index
+     * @return the index of the cell the symmetry moves it to
+     */
+    public static int apply(int symmetry, int cell) {
+        return CELLS[symmetry][cell];
+    }
+
+    /**
+     * @param symmetry the symmetry, 0 to 7
+     * @return the symmetry that undoes it
+     */
+    public static int inverse(int symmetry) {
+        return INVERSE[symmetry];
+    }
+
+    private static boolean isInverse(int s, int t) {
+        for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+            if (CELLS[t][CELLS[s][cell]] != cell) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
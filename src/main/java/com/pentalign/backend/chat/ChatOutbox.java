@@ -0,0 +1,204 @@
+package com.pentalign.backend.chat;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-user bounded outbound queues of already serialized chat frames.
+ * Offering never blocks: when a user's queue is full the oldest frame is dropped, and all frames
+ * dropped since the last delivery are coalesced into a single gap notice sent ahead of the next frames,
+ * telling the client to refetch the conversation. Each queue is drained by at most one worker at a time,
+ * in batches, so one slow or flooded user cannot hold a worker or delay other users.
+ * A removed queue is only forgotten once no worker is draining it, so a user never has two queues drained at once.
+ */
+@Slf4j
+public class ChatOutbox {
+
+    /**
+     * Where drained frames go.
+     */
+    public interface Sink {
+        /**
+         * @param username the recipient
+         * @param frame    the serialized frame, shared by every recipient of the same message
+         */
+        void send(String username, byte[] frame);
+
+        /**
+         * @param username the recipient
+         * @param dropped  number of frames dropped since the last delivery
+         */
+        void gap(String username, int dropped);
+    }
+
+    private final int capacity;
+    private final int batchSize;
+    private final Executor workers;
+    private final Sink sink;
+    private final ConcurrentMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    public ChatOutbox(int capacity, int batchSize, Executor workers, Sink sink) {
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.workers = workers;
+        this.sink = sink;
+    }
+
+    /**
+     * Queues a frame for a user and returns immediately.
+     *
+     * @param username the recipient
+     * @param frame    the serialized frame
+     * @return false if the queue was full and the oldest frame was dropped
+     */
+    public boolean offer(String username, byte[] frame) {
+        while (true) {
+            Mailbox mailbox = mailboxes.computeIfAbsent(username, Mailbox::new);
+            Offered offered = mailbox.offer(frame);
+            if (offered != Offered.CLOSED) {
+                return offered == Offered.KEPT;
+            }
+            // removed meanwhile, make room for a fresh queue
+            mailboxes.remove(username, mailbox);
+        }
+    }
+
+    /**
+     * Forgets a user's queue, e.g. once their last session closed. Frames still queued are discarded.
+     *
+     * @param username the user
+     */
+    public void remove(String username) {
+        Mailbox mailbox = mailboxes.get(username);
+        if (mailbox != null) {
+            mailbox.closing = true;
+            mailbox.discard();
+            mailbox.tryClose();
+        }
+    }
+
+    /**
+     * @return number of users with a queue
+     */
+    public int size() {
+        return mailboxes.size();
+    }
+
+    /**
+     * @param username the user
+     * @return number of frames waiting for the user
+     */
+    public int pending(String username) {
+        Mailbox mailbox = mailboxes.get(username);
+        return mailbox == null ? 0 : mailbox.size.get();
+    }
+
+    private enum Offered { KEPT, DROPPED_OLDEST, CLOSED }
+
+    private final class Mailbox implements Runnable {
+        private static final int IDLE = 0;
+        private static final int SCHEDULED = 1;
+        /** Removed from {@link #mailboxes}; takes no more frames. */
+        private static final int CLOSED = 2;
+
+        private final String username;
+        private final Queue<byte[]> frames = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicInteger dropped = new AtomicInteger();
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+        /** Set by {@link ChatOutbox#remove}: close as soon as no drain is running. */
+        private volatile boolean closing;
+
+        Mailbox(String username) {
+            this.username = username;
+        }
+
+        Offered offer(byte[] frame) {
+            if (state.get() == CLOSED) {
+                return Offered.CLOSED;
+            }
+            frames.add(frame);
+            boolean kept = true;
+            if (size.incrementAndGet() > capacity && frames.poll() != null) {
+                size.decrementAndGet();
+                dropped.incrementAndGet();
+                kept = false;
+            }
+            if (!schedule()) {
+                // closed between the check and the add, take the frame back to the caller
+                if (frames.remove(frame)) {
+                    size.decrementAndGet();
+                }
+                return Offered.CLOSED;
+            }
+            return kept ? Offered.KEPT : Offered.DROPPED_OLDEST;
+        }
+
+        /**
+         * @return false if the mailbox is closed
+         */
+        private boolean schedule() {
+            while (true) {
+                int current = state.get();
+                if (current == CLOSED) {
+                    return false;
+                }
+                if (current == SCHEDULED) {
+                    return true;
+                }
+                if (state.compareAndSet(IDLE, SCHEDULED)) {
+                    workers.execute(this);
+                    return true;
+                }
+            }
+        }
+
+        void discard() {
+            while (frames.poll() != null) {
+                size.decrementAndGet();
+            }
+            dropped.set(0);
+        }
+
+        /**
+         * Closes the mailbox if it is idle and empty. A frame offered concurrently either keeps it open
+         * by scheduling it first or finds it closed and goes to a new mailbox.
+         */
+        void tryClose() {
+            if (frames.isEmpty() && dropped.get() == 0 && state.compareAndSet(IDLE, CLOSED)) {
+                mailboxes.remove(username, this);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                int gap = dropped.getAndSet(0);
+                if (gap > 0) {
+                    sink.gap(username, gap);
+                }
+                byte[] frame;
+                for (int sent = 0; sent < batchSize && (frame = frames.poll()) != null; sent++) {
+                    size.decrementAndGet();
+                    sink.send(username, frame);
+                }
+            } catch (RuntimeException e) {
+                log.error("Chat delivery to {} failed", username, e);
+            } finally {
+                state.set(IDLE);
+            }
+            // frames offered while still scheduled, or left over from a full batch
+            if (!frames.isEmpty() || dropped.get() > 0) {
+                schedule();
+            } else if (closing) {
+                tryClose();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.pentalign.backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Configuration class for application caches.
+ * Caches are bounded Caffeine caches created up front, so actuator binds their hit/miss metrics at startup.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_DETAILS = "userDetails";
+
+    /**
+     * Provides the cache manager.
+     *
+     * @param spec the Caffeine spec applied to every cache
+     * @return the {@link CacheManager}
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${cache.spec:maximumSize=10000,expireAfterWrite=5m}") String spec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.from(spec).recordStats());
+        cacheManager.setCacheNames(List.of(USER_DETAILS));
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
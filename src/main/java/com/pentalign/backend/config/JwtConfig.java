@@ -10,4 +10,8 @@ import org.springframework.context.annotation.Configuration;
 public class JwtConfig {
     private String secret;
     private long expirationMs;
+    /** Maximum number of verified tokens kept by {@code JwtService}, 0 disables the cache. */
+    private int verifiedCacheSize = 10_000;
+    /** Builds the request principal from token claims instead of loading the user; pair with a short expiration. */
+    private boolean stateless;
 }
@@ -0,0 +1,52 @@
+package com.pentalign.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for JDBC batching.
+ * Lets Hibernate group inserts of sequence-keyed entities (e.g. {@code GameMove}) into JDBC batches,
+ * and lets the PostgreSQL driver rewrite each batch into a single multi-row INSERT.
+ */
+@Configuration
+public class PersistenceConfig {
+
+    @Value("${game.journal.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * Enables JDBC batching and insert ordering in Hibernate.
+     *
+     * @return the {@link HibernatePropertiesCustomizer}
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernateProperties() {
+        return props -> {
+            props.putIfAbsent("hibernate.jdbc.batch_size", batchSize);
+            props.putIfAbsent("hibernate.order_inserts", true);
+        };
+    }
+
+    /**
+     * Turns on {@code reWriteBatchedInserts} on the Hikari pool before it opens its first connection.
+     * The property is ignored by drivers other than PostgreSQL.
+     *
+     * @return the {@link BeanPostProcessor}
+     */
+    @Bean
+    public static BeanPostProcessor batchedInsertsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource ds) {
+                    ds.addDataSourceProperty("reWriteBatchedInserts", "true");
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,8 +1,11 @@
 package com.pentalign.backend.config;
 
+import com.pentalign.backend.security.BoundedPasswordEncoder;
 import com.pentalign.backend.security.JwtAuthenticationFilter;
 import com.pentalign.backend.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,6 +30,9 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /** BCrypt log rounds used for password hashes. */
+    public static final int PASSWORD_STRENGTH = 10;
+
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final CustomUserDetailsService userDetailsService;
 
@@ -34,20 +40,22 @@ public class SecurityConfig {
      * Configures the security filter chain for HTTP requests.
      * Disables CSRF, sets session management to stateless, and adds JWT authentication filter.
      *
-     * @param http the {@link HttpSecurity} to modify
+     * @param http                   the {@link HttpSecurity} to modify
+     * @param authenticationProvider the {@link AuthenticationProvider}
      * @return the configured {@link SecurityFilterChain}
      * @throws Exception if an error occurs during configuration
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, AuthenticationProvider authenticationProvider)
+            throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/**", "/api/test").permitAll()
+                        .requestMatchers("/api/auth/**", "/api/test", "/ws/**").permitAll()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authenticationProvider(authenticationProvider())
+                .authenticationProvider(authenticationProvider)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
@@ -55,13 +63,14 @@ public class SecurityConfig {
     /**
      * Configures the authentication provider with user details service and password encoder.
      *
+     * @param passwordEncoder the {@link PasswordEncoder}
      * @return the {@link AuthenticationProvider}
      */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
         provider.setUserDetailsService(userDetailsService);
-        provider.setPasswordEncoder(passwordEncoder());
+        provider.setPasswordEncoder(passwordEncoder);
         return provider;
     }
 
@@ -78,12 +87,20 @@ public class SecurityConfig {
     }
 
     /**
-     * Provides the password encoder bean using BCrypt.
+     * Provides the password encoder bean using BCrypt, run on a bounded pool of
+     * {@code security.password-hashing.threads} threads (half the cores by default).
      *
+     * @param meterRegistry the registry for the hashing metrics
      * @return the {@link PasswordEncoder}
      */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMs) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(PASSWORD_STRENGTH),
+                poolSize, queueCapacity, timeoutMs, meterRegistry);
     }
 }
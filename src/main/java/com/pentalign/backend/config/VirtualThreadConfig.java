@@ -0,0 +1,58 @@
+package com.pentalign.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuration applied when the application runs on virtual threads ({@code spring.threads.virtual.enabled=true}).
+ * Spring Boot then serves Tomcat requests, {@code @Async} work and {@code @Scheduled} jobs on virtual threads,
+ * so request concurrency is no longer capped by the 200-thread Tomcat pool and the Hikari pool becomes
+ * the limit on database work. The pool is sized for that, and waits for a connection are kept short so that
+ * an overload fails fast instead of parking thousands of requests for the default 30 seconds.
+ * The game lanes, chat delivery and password hashing pools stay small platform pools on purpose:
+ * they bound CPU work or keep per-key ordering, which virtual threads would not improve.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    /**
+     * Sizes the Hikari pool unless {@code spring.datasource.hikari.maximum-pool-size} was set explicitly:
+     * {@code persistence.virtual-threads.pool-size} connections, by default twice the cores plus one.
+     * The connection timeout becomes {@code persistence.virtual-threads.connection-timeout-ms} (2 s).
+     *
+     * @param environment the environment holding the settings
+     * @return the {@link BeanPostProcessor}
+     */
+    @Bean
+    public static BeanPostProcessor virtualThreadDataSourcePostProcessor(Environment environment) {
+        int poolSize = environment.getProperty("persistence.virtual-threads.pool-size", Integer.class,
+                2 * Runtime.getRuntime().availableProcessors() + 1);
+        long connectionTimeoutMs = environment.getProperty("persistence.virtual-threads.connection-timeout-ms",
+                Long.class, 2_000L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource ds) {
+                    // -1 means unset; Hikari would fall back to 10
+                    if (ds.getMaximumPoolSize() < 1) {
+                        ds.setMaximumPoolSize(poolSize);
+                    }
+                    if (!environment.containsProperty("spring.datasource.hikari.connection-timeout")) {
+                        ds.setConnectionTimeout(connectionTimeoutMs);
+                    }
+                    log.info("Virtual threads enabled, datasource pool: {} connections, {} ms connection timeout",
+                            ds.getMaximumPoolSize(), ds.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,15 +1,25 @@
 package com.pentalign.backend.controller;
 
 import com.pentalign.backend.dto.*;
-import com.pentalign.backend.entities.RefreshToken;
 import com.pentalign.backend.security.JwtService;
+import com.pentalign.backend.security.StompAuthChannelInterceptor;
+import com.pentalign.backend.security.UserTokenRevocations;
+import com.pentalign.backend.service.AccessTokenRevocationService;
 import com.pentalign.backend.service.AuthenticationService;
+import com.pentalign.backend.service.CustomUserDetailsService;
+import com.pentalign.backend.service.PresenceService;
 import com.pentalign.backend.service.RefreshTokenService;
+import com.pentalign.backend.service.UsernameAvailabilityService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
@@ -23,6 +33,11 @@ public class AuthenticationController {
     private final AuthenticationService authService;
     private final RefreshTokenService refreshTokenService;
     private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final UserTokenRevocations userTokenRevocations;
+    private final AccessTokenRevocationService accessTokenRevocations;
+    private final UsernameAvailabilityService usernameAvailabilityService;
+    private final PresenceService presenceService;
 
     /**
      * Registers a new user with the provided registration details.
@@ -35,6 +50,18 @@ public class AuthenticationController {
         return ResponseEntity.ok(authService.register(request));
     }
 
+    /**
+     * Checks whether a username is still free, for live feedback on the registration form.
+     * Registration itself stays the authority: a name reported free can still be taken meanwhile.
+     *
+     * @param username the wanted username
+     * @return a response entity with the username and whether it is available
+     */
+    @GetMapping("/username-available")
+    public ResponseEntity<UsernameAvailability> usernameAvailable(@RequestParam String username) {
+        return ResponseEntity.ok(new UsernameAvailability(username, usernameAvailabilityService.isAvailable(username)));
+    }
+
     /**
      * Authenticates a user with the provided credentials.
      *
@@ -47,36 +74,54 @@ public class AuthenticationController {
     }
 
     /**
-     * Refreshes the access token using a valid refresh token.
+     * Refreshes the access token using a valid refresh token. The refresh token is rotated:
+     * the response carries its replacement and the presented one can no longer be used.
      *
      * @param request the token refresh request containing the refresh token
-     * @return a response entity containing the new access token and the refresh token
+     * @return a response entity containing the new access token and the new refresh token
      */
     @PostMapping("/refresh")
     public ResponseEntity<TokenRefreshResponse> refresh(@RequestBody TokenRefreshRequest request) {
-        RefreshToken rt = refreshTokenService.findByToken(request.getRefreshToken())
-                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
-        refreshTokenService.verifyExpiration(rt);
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
 
-        String newAccessToken = jwtService.generateToken(rt.getUser());
-        return ResponseEntity.ok(new TokenRefreshResponse(newAccessToken, rt.getToken()));
+        String newAccessToken = jwtService.generateToken(userDetailsService.loadUserByUsername(rotation.username()));
+        return ResponseEntity.ok(new TokenRefreshResponse(newAccessToken, rotation.refreshToken()));
     }
 
     /**
-     * Logs out a user by invalidating their refresh token.
+     * Logs out a user by invalidating their refresh token, the access token sent with the request
+     * and every access token issued to them before.
      *
-     * @param request the logout request containing the refresh token to invalidate
+     * @param request     the logout request containing the refresh token to invalidate
+     * @param accessToken the access token of the session, if sent
      * @return a response entity with a logout confirmation message
      */
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(@RequestBody TokenRefreshRequest request) {
-        RefreshToken rt = refreshTokenService.findByToken(request.getRefreshToken())
-                .orElseThrow(() -> new RuntimeException("Invalid refresh token"));
-
-        refreshTokenService.deleteByUserId(rt.getUser().getId());
+    public ResponseEntity<String> logout(@RequestBody TokenRefreshRequest request,
+                                         @RequestHeader(value = StompAuthChannelInterceptor.TOKEN_HEADER, required = false)
+                                         String accessToken) {
+        Long userId = refreshTokenService.revoke(request.getRefreshToken());
+        revokeAccessToken(accessToken, userId);
+        userTokenRevocations.revokeAll(userId);
+        presenceService.remove(userId);
 
         return ResponseEntity.ok("Logout successful");
     }
 
+    /**
+     * Revokes an access token if it is valid and belongs to the user logging out; anything else is ignored.
+     */
+    private void revokeAccessToken(String accessToken, Long userId) {
+        if (accessToken == null || accessToken.isBlank()) {
+            return;
+        }
+        try {
+            Claims claims = jwtService.verify(accessToken);
+            if (userId.equals(claims.get(JwtService.USER_ID_CLAIM, Long.class))) {
+                accessTokenRevocations.revoke(claims);
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            // an expired or forged token needs no revocation
+        }
+    }
 }
-
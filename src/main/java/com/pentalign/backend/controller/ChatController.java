@@ -0,0 +1,62 @@
+package com.pentalign.backend.controller;
+
+import com.pentalign.backend.dto.ChatMessage;
+import com.pentalign.backend.dto.ConversationPage;
+import com.pentalign.backend.dto.SendMessageRequest;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.service.ChatService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for chat endpoints.
+ * Sent messages are also pushed live over WebSocket on "/user/queue/chat".
+ */
+@RestController
+@RequestMapping("/api/chat")
+@RequiredArgsConstructor
+public class ChatController {
+
+    private final ChatService chatService;
+
+    /**
+     * Returns the conversation with another user, newest messages first.
+     *
+     * @param user    the authenticated user
+     * @param otherId the other participant
+     * @param before  cursor from the previous page, omitted for the latest messages
+     * @param limit   page size
+     * @return a response entity containing the page and the cursor of the next one
+     */
+    @GetMapping("/conversations/{otherId}")
+    public ResponseEntity<ConversationPage> conversation(@AuthenticationPrincipal User user,
+                                                         @PathVariable Long otherId,
+                                                         @RequestParam(required = false) String before,
+                                                         @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(chatService.conversation(user.getId(), otherId, before, limit));
+    }
+
+    /**
+     * Sends a message to another user.
+     *
+     * @param user    the authenticated user
+     * @param otherId the receiver
+     * @param request the message text
+     * @return a response entity containing the stored message
+     */
+    @PostMapping("/conversations/{otherId}")
+    public ResponseEntity<ChatMessage> send(@AuthenticationPrincipal User user,
+                                            @PathVariable Long otherId,
+                                            @Valid @RequestBody SendMessageRequest request) {
+        return ResponseEntity.ok(chatService.send(user, otherId, request.getContent()));
+    }
+}
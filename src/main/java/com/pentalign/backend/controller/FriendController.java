@@ -0,0 +1,58 @@
+package com.pentalign.backend.controller;
+
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.service.FriendService;
+import com.pentalign.backend.service.PresenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for friendship lookups.
+ */
+@RestController
+@RequestMapping("/api/friends")
+@RequiredArgsConstructor
+public class FriendController {
+
+    private final FriendService friendService;
+    private final PresenceService presenceService;
+
+    /**
+     * Returns the ids of the authenticated user's friends.
+     *
+     * @param user the authenticated user
+     * @return a response entity containing the friend ids
+     */
+    @GetMapping
+    public ResponseEntity<long[]> friends(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(friendService.friendsOf(user.getId()));
+    }
+
+    /**
+     * Returns the ids of the authenticated user's friends who are online.
+     *
+     * @param user the authenticated user
+     * @return a response entity containing the online friend ids
+     */
+    @GetMapping("/online")
+    public ResponseEntity<long[]> onlineFriends(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(presenceService.online(friendService.friendsOf(user.getId())));
+    }
+
+    /**
+     * Tells whether another user is a friend of the authenticated user.
+     *
+     * @param user    the authenticated user
+     * @param otherId the other user
+     * @return a response entity containing true if they are friends
+     */
+    @GetMapping("/{otherId}")
+    public ResponseEntity<Boolean> isFriend(@AuthenticationPrincipal User user, @PathVariable Long otherId) {
+        return ResponseEntity.ok(friendService.areFriends(user.getId(), otherId));
+    }
+}
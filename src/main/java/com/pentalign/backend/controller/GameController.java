@@ -0,0 +1,81 @@
+package com.pentalign.backend.controller;
+
+import com.pentalign.backend.dto.BookMoveSuggestion;
+import com.pentalign.backend.dto.MatchFoundEvent;
+import com.pentalign.backend.dto.MoveRequest;
+import com.pentalign.backend.dto.ReplayMove;
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.AiLevel;
+import com.pentalign.backend.enums.Stone;
+import com.pentalign.backend.service.AiPlayerService;
+import com.pentalign.backend.service.GameArchiveService;
+import com.pentalign.backend.service.OpeningBookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for game-related endpoints.
+ */
+@RestController
+@RequestMapping("/api/games")
+@RequiredArgsConstructor
+public class GameController {
+
+    private final GameArchiveService gameArchiveService;
+    private final AiPlayerService aiPlayerService;
+    private final OpeningBookService openingBookService;
+
+    /**
+     * Returns the moves of a game in move order, for replays.
+     *
+     * @param gameId the game ID
+     * @return a response entity containing the moves
+     */
+    @GetMapping("/{gameId}/moves")
+    public ResponseEntity<List<ReplayMove>> moves(@PathVariable Long gameId) {
+        return ResponseEntity.ok(gameArchiveService.loadReplay(gameId));
+    }
+
+    /**
+     * Starts a game against the built-in AI. The user plays X and moves first; moves go through
+     * "/app/games/{gameId}/move" and the AI's replies arrive on "/user/queue/games" like a human opponent's.
+     *
+     * @param user  the authenticated user
+     * @param level the AI's strength
+     * @return a response entity describing the new game
+     */
+    @PostMapping("/ai")
+    public ResponseEntity<MatchFoundEvent> playAi(@AuthenticationPrincipal User user,
+                                                  @RequestParam(defaultValue = "MEDIUM") AiLevel level) {
+        Game game = aiPlayerService.startGame(user, level);
+        User bot = aiPlayerService.bot();
+        return ResponseEntity.ok(MatchFoundEvent.builder()
+                .gameId(game.getId())
+                .opponentId(bot.getId())
+                .opponentUsername(bot.getUsername())
+                .stone(Stone.X)
+                .build());
+    }
+
+    /**
+     * Suggests opening moves from the book for the position reached by the given moves.
+     *
+     * @param moves the moves played so far, X first
+     * @return a response entity containing the book moves, most played first; empty if the book has none
+     */
+    @PostMapping("/book")
+    public ResponseEntity<List<BookMoveSuggestion>> book(@RequestBody List<MoveRequest> moves) {
+        return ResponseEntity.ok(openingBookService.suggest(moves));
+    }
+}
@@ -0,0 +1,37 @@
+package com.pentalign.backend.controller;
+
+import com.pentalign.backend.dto.MoveRequest;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.service.GameMoveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Controller;
+
+/**
+ * Controller for real-time gameplay messages sent over STOMP.
+ */
+@Controller
+@RequiredArgsConstructor
+public class GameSocketController {
+
+    private final GameMoveService gameMoveService;
+
+    /**
+     * Receives a move for a game. The result is pushed to both players on "/user/queue/games",
+     * or to the sender on "/user/queue/errors" if the move is rejected.
+     *
+     * @param gameId    the game ID
+     * @param request   the move coordinates
+     * @param principal the authenticated STOMP session user
+     */
+    @MessageMapping("/games/{gameId}/move")
+    public void move(@DestinationVariable Long gameId,
+                     @Payload MoveRequest request,
+                     UsernamePasswordAuthenticationToken principal) {
+        User player = (User) principal.getPrincipal();
+        gameMoveService.submitMove(gameId, player, request.getRow(), request.getCol());
+    }
+}
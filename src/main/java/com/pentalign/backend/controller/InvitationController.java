@@ -0,0 +1,78 @@
+package com.pentalign.backend.controller;
+
+import com.pentalign.backend.dto.InvitationRequest;
+import com.pentalign.backend.dto.InvitationView;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.service.InvitationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for game invitations.
+ */
+@RestController
+@RequestMapping("/api/invitations")
+@RequiredArgsConstructor
+public class InvitationController {
+
+    private final InvitationService invitationService;
+
+    /**
+     * Invites another user to a new game.
+     *
+     * @param user    the authenticated user
+     * @param request the invited user
+     * @return a response entity containing the pending invitation
+     */
+    @PostMapping
+    public ResponseEntity<InvitationView> invite(@AuthenticationPrincipal User user,
+                                                 @Valid @RequestBody InvitationRequest request) {
+        return ResponseEntity.ok(invitationService.invite(user, request.getReceiverId()));
+    }
+
+    /**
+     * Returns the invitations waiting for the authenticated user's answer.
+     *
+     * @param user the authenticated user
+     * @return a response entity containing the pending invitations
+     */
+    @GetMapping("/pending")
+    public ResponseEntity<List<InvitationView>> pending(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(invitationService.pendingFor(user.getId()));
+    }
+
+    /**
+     * Accepts an invitation and starts its game.
+     *
+     * @param user         the authenticated user
+     * @param invitationId the invitation ID
+     * @return a response entity containing the started game's ID
+     */
+    @PostMapping("/{invitationId}/accept")
+    public ResponseEntity<Long> accept(@AuthenticationPrincipal User user, @PathVariable Long invitationId) {
+        return ResponseEntity.ok(invitationService.accept(invitationId, user));
+    }
+
+    /**
+     * Declines an invitation.
+     *
+     * @param user         the authenticated user
+     * @param invitationId the invitation ID
+     * @return a response entity with a confirmation message
+     */
+    @PostMapping("/{invitationId}/decline")
+    public ResponseEntity<String> decline(@AuthenticationPrincipal User user, @PathVariable Long invitationId) {
+        invitationService.decline(invitationId, user);
+        return ResponseEntity.ok("Invitation declined");
+    }
+}
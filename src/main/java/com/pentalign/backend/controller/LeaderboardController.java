@@ -0,0 +1,63 @@
+package com.pentalign.backend.controller;
+
+import com.pentalign.backend.dto.LeaderboardEntry;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.service.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller for leaderboard endpoints.
+ */
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Returns a page of the leaderboard, best first.
+     *
+     * @param offset number of players to skip
+     * @param limit  page size
+     * @return a response entity containing the page
+     */
+    @GetMapping
+    public ResponseEntity<List<LeaderboardEntry>> page(@RequestParam(defaultValue = "0") int offset,
+                                                       @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(leaderboardService.page(offset, limit));
+    }
+
+    /**
+     * Returns the rank of the authenticated user.
+     *
+     * @param user the authenticated user
+     * @return a response entity containing the user's row, or 404 if the user has no ranking
+     */
+    @GetMapping("/me")
+    public ResponseEntity<LeaderboardEntry> me(@AuthenticationPrincipal User user) {
+        LeaderboardEntry entry = leaderboardService.entryOf(user.getId());
+        return entry == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(entry);
+    }
+
+    /**
+     * Returns the players ranked around the authenticated user.
+     *
+     * @param user   the authenticated user
+     * @param radius number of players above and below
+     * @return a response entity containing the rows, including the user's own
+     */
+    @GetMapping("/me/neighbors")
+    public ResponseEntity<List<LeaderboardEntry>> neighbors(@AuthenticationPrincipal User user,
+                                                            @RequestParam(defaultValue = "5") int radius) {
+        return ResponseEntity.ok(leaderboardService.neighbors(user.getId(), radius));
+    }
+}
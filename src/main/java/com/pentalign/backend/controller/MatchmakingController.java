@@ -0,0 +1,45 @@
+package com.pentalign.backend.controller;
+
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.service.MatchmakingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for joining and leaving the matchmaking queue.
+ * Matches are delivered over WebSocket on "/user/queue/matches".
+ */
+@RestController
+@RequestMapping("/api/matchmaking")
+@RequiredArgsConstructor
+public class MatchmakingController {
+
+    private final MatchmakingService matchmakingService;
+
+    /**
+     * Starts searching for an opponent.
+     *
+     * @param user the authenticated user
+     * @return a response entity telling whether a game was started or the user is waiting
+     */
+    @PostMapping
+    public ResponseEntity<String> join(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(matchmakingService.join(user) ? "Match found" : "Searching");
+    }
+
+    /**
+     * Stops searching.
+     *
+     * @param user the authenticated user
+     * @return a response entity with a confirmation message
+     */
+    @DeleteMapping
+    public ResponseEntity<String> leave(@AuthenticationPrincipal User user) {
+        return ResponseEntity.ok(matchmakingService.leave(user) ? "Left matchmaking" : "Not searching");
+    }
+}
@@ -0,0 +1,38 @@
+package com.pentalign.backend.controller;
+
+import com.pentalign.backend.exception.TooManyIdsException;
+import com.pentalign.backend.service.PresenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller for presence lookups.
+ */
+@RestController
+@RequestMapping("/api/presence")
+@RequiredArgsConstructor
+public class PresenceController {
+
+    private static final int MAX_IDS = 1000;
+
+    private final PresenceService presenceService;
+
+    /**
+     * Tells which of the given users are online.
+     *
+     * @param userIds up to 1000 user IDs
+     * @return a response entity containing the ids of those online
+     * @throws TooManyIdsException if more than 1000 ids were sent
+     */
+    @PostMapping("/online")
+    public ResponseEntity<long[]> online(@RequestBody long[] userIds) {
+        if (userIds.length > MAX_IDS) {
+            throw new TooManyIdsException("At most " + MAX_IDS + " user ids can be looked up at once");
+        }
+        return ResponseEntity.ok(presenceService.online(userIds));
+    }
+}
@@ -0,0 +1,18 @@
+package com.pentalign.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class BookMoveSuggestion {
+    private int row;
+    private int col;
+    private int games;
+    private int wins;
+    private int draws;
+    /** Expected result for the side to move, 1 for a win and 0.5 for a draw. */
+    private double score;
+}
@@ -0,0 +1,17 @@
+package com.pentalign.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ConversationPage {
+    /** Newest first. */
+    private List<ChatMessage> messages;
+    /** Pass as {@code before} to get older messages; null on the last page. */
+    private String nextCursor;
+}
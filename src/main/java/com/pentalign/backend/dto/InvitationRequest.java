@@ -0,0 +1,10 @@
+package com.pentalign.backend.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class InvitationRequest {
+    @NotNull
+    private Long receiverId;
+}
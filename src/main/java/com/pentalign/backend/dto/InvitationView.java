@@ -0,0 +1,22 @@
+package com.pentalign.backend.dto;
+
+import com.pentalign.backend.enums.InvitationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class InvitationView {
+    private Long id;
+    private Long senderId;
+    private String senderUsername;
+    private Long receiverId;
+    private Long gameId;
+    private InvitationStatus status;
+    private LocalDateTime sentAt;
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,15 @@
+package com.pentalign.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class LeaderboardEntry {
+    private int rank;
+    private Long userId;
+    private String username;
+    private int points;
+}
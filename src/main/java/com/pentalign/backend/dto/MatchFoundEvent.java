@@ -0,0 +1,16 @@
+package com.pentalign.backend.dto;
+
+import com.pentalign.backend.enums.Stone;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class MatchFoundEvent {
+    private Long gameId;
+    private Long opponentId;
+    private String opponentUsername;
+    private Stone stone;
+}
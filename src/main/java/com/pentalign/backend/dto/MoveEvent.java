@@ -0,0 +1,21 @@
+package com.pentalign.backend.dto;
+
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.enums.MoveOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class MoveEvent {
+    private Long gameId;
+    private Long playerId;
+    private int moveOrder;
+    private int row;
+    private int col;
+    private MoveOutcome outcome;
+    private GameStatus status;
+    private Long winnerId;
+}
@@ -0,0 +1,9 @@
+package com.pentalign.backend.dto;
+
+import lombok.Data;
+
+@Data
+public class MoveRequest {
+    private int row;
+    private int col;
+}
@@ -0,0 +1,18 @@
+package com.pentalign.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class ReplayMove {
+    private int moveOrder;
+    private Long playerId;
+    private int row;
+    private int col;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,12 @@
+package com.pentalign.backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class SendMessageRequest {
+    @NotBlank
+    @Size(max = 2000)
+    private String content;
+}
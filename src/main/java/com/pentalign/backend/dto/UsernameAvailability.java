@@ -0,0 +1,13 @@
+package com.pentalign.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Builder
+public class UsernameAvailability {
+    private String username;
+    private boolean available;
+}
@@ -0,0 +1,88 @@
+package com.pentalign.backend.engine;
+
+import java.util.Arrays;
+
+/**
+ * Packed set of board cells, one bit per cell.
+ * Cell {@code row * SIZE + col} lives in word {@code index >>> 6}, bit {@code index & 63}.
+ */
+public final class Bitboard {
+
+    public static final int SIZE = 15;
+    public static final int CELLS = SIZE * SIZE;
+
+    private static final int WORDS = (CELLS + 63) >>> 6;
+
+    private final long[] words;
+
+    public Bitboard() {
+        this.words = new long[WORDS];
+    }
+
+    private Bitboard(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Converts a (row, col) pair to a cell index.
+     *
+     * @param row the row, 0-based
+     * @param col the column, 0-based
+     * @return the cell index
+     */
+    public static int index(int row, int col) {
+        return row * SIZE + col;
+    }
+
+    /**
+     * Checks whether the given coordinates are on the board.
+     *
+     * @param row the row
+     * @param col the column
+     * @return true if the cell exists
+     */
+    public static boolean inBounds(int row, int col) {
+        return row >= 0 && row < SIZE && col >= 0 && col < SIZE;
+    }
+
+    public boolean get(int index) {
+        return (words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    public boolean get(int row, int col) {
+        return inBounds(row, col) && get(index(row, col));
+    }
+
+    public void set(int index) {
+        words[index >>> 6] |= 1L << index;
+    }
+
+    public void clear(int index) {
+        words[index >>> 6] &= ~(1L << index);
+    }
+
+    /**
+     * @return the number of cells set on this board
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    public Bitboard copy() {
+        return new Bitboard(words.clone());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Bitboard other && Arrays.equals(words, other.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,160 @@
+package com.pentalign.backend.engine;
+
+import com.pentalign.backend.entities.GameMove;
+import com.pentalign.backend.enums.MoveOutcome;
+import com.pentalign.backend.enums.Stone;
+import com.pentalign.backend.exception.InvalidMoveException;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * In-memory position of a single game, held as one {@link Bitboard} per side.
+ * Each placed stone is checked for five-in-a-row only along the four lines crossing it,
+ * so a move costs a bounded number of bit tests regardless of how full the board is.
+ * <p>
+ * Not thread-safe: callers must serialize moves on the same board.
+ */
+public class GameBoard {
+
+    public static final int WIN_LENGTH = 5;
+
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final Bitboard xStones = new Bitboard();
+    private final Bitboard oStones = new Bitboard();
+    private int moveCount;
+    private Stone winner;
+    private boolean finished;
+
+    /**
+     * Rebuilds a board from persisted moves.
+     *
+     * @param moves the moves of one game, in any order
+     * @return the board after all moves have been replayed
+     * @throws InvalidMoveException if the move sequence is not a legal game
+     */
+    public static GameBoard replay(List<GameMove> moves) {
+        GameBoard board = new GameBoard();
+        moves.stream()
+                .sorted(Comparator.comparingInt(GameMove::getMoveOrder))
+                .forEach(move -> board.play(move.getRow(), move.getCol()));
+        return board;
+    }
+
+    /**
+     * Places a stone for the side to move.
+     *
+     * @param row the row, 0-based
+     * @param col the column, 0-based
+     * @return the outcome of the move
+     * @throws InvalidMoveException if the game is over, or the cell is off the board or occupied
+     */
+    public MoveOutcome play(int row, int col) {
+        if (finished) {
+            throw new InvalidMoveException("Game is already finished");
+        }
+        if (!Bitboard.inBounds(row, col)) {
+            throw new InvalidMoveException("Cell (" + row + ", " + col + ") is outside the board");
+        }
+        int index = Bitboard.index(row, col);
+        if (xStones.get(index) || oStones.get(index)) {
+            throw new InvalidMoveException("Cell (" + row + ", " + col + ") is already occupied");
+        }
+
+        Stone stone = sideToMove();
+        Bitboard own = stonesOf(stone);
+        own.set(index);
+        moveCount++;
+
+        if (completesLine(own, row, col)) {
+            winner = stone;
+            finished = true;
+            return MoveOutcome.WIN;
+        }
+        if (moveCount == Bitboard.CELLS) {
+            finished = true;
+            return MoveOutcome.DRAW;
+        }
+        return MoveOutcome.CONTINUE;
+    }
+
+    /**
+     * Takes back the last move, e.g. a game-ending move that could not be stored.
+     *
+     * @param row the row of the last move
+     * @param col the column of the last move
+     * @throws IllegalStateException if (row, col) does not hold a stone of the side that moved last
+     */
+    public void undo(int row, int col) {
+        Stone last = (moveCount & 1) == 1 ? Stone.X : Stone.O;
+        Bitboard own = stonesOf(last);
+        int index = Bitboard.index(row, col);
+        if (moveCount == 0 || !own.get(index)) {
+            throw new IllegalStateException("Cell (" + row + ", " + col + ") is not the last move");
+        }
+        own.clear(index);
+        moveCount--;
+        winner = null;
+        finished = false;
+    }
+
+    /**
+     * Checks whether the stone at (row, col) is part of at least {@link #WIN_LENGTH} in a row.
+     * At most {@code 2 * (WIN_LENGTH - 1)} cells are tested per direction.
+     */
+    static boolean completesLine(Bitboard own, int row, int col) {
+        for (int[] dir : DIRECTIONS) {
+            int run = 1
+                    + countRun(own, row, col, dir[0], dir[1])
+                    + countRun(own, row, col, -dir[0], -dir[1]);
+            if (run >= WIN_LENGTH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int countRun(Bitboard own, int row, int col, int dr, int dc) {
+        int count = 0;
+        int r = row + dr;
+        int c = col + dc;
+        while (count < WIN_LENGTH - 1 && own.get(r, c)) {
+            count++;
+            r += dr;
+            c += dc;
+        }
+        return count;
+    }
+
+    public Stone sideToMove() {
+        return (moveCount & 1) == 0 ? Stone.X : Stone.O;
+    }
+
+    public Stone stoneAt(int row, int col) {
+        if (xStones.get(row, col)) {
+            return Stone.X;
+        }
+        return oStones.get(row, col) ? Stone.O : null;
+    }
+
+    public boolean isOccupied(int row, int col) {
+        return stoneAt(row, col) != null;
+    }
+
+    public Bitboard stonesOf(Stone stone) {
+        return stone == Stone.X ? xStones : oStones;
+    }
+
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    public Stone getWinner() {
+        return winner;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+}
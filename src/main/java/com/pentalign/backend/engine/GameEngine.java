@@ -0,0 +1,136 @@
+package com.pentalign.backend.engine;
+
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.GameMove;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.enums.MoveOutcome;
+import com.pentalign.backend.enums.Stone;
+import com.pentalign.backend.exception.InvalidMoveException;
+import com.pentalign.backend.repository.GameMoveRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service that keeps the board of every active game in memory and validates moves against it.
+ * A board is rebuilt from {@code game_moves} the first time a game is touched, after which
+ * occupied-cell, turn and win checks never hit the database.
+ * <p>
+ * The engine does not persist anything: it returns the {@link GameMove} to store and updates
+ * the {@link Game} entity in place when the game ends. The board of a finished game stays loaded
+ * until the caller has stored the result and {@link #evict evicts} it, so a final move can still be
+ * {@link #revert reverted}.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameEngine {
+
+    private final GameMoveRepository gameMoveRepository;
+
+    private final ConcurrentMap<Long, GameBoard> boards = new ConcurrentHashMap<>();
+
+    /**
+     * Validates and applies a move.
+     *
+     * @param game   the game being played, must be {@link GameStatus#IN_PROGRESS}
+     * @param player the player placing the stone
+     * @param row    the row, 0-based
+     * @param col    the column, 0-based
+     * @return the accepted move and its outcome
+     * @throws InvalidMoveException if the move is not legal
+     */
+    public MoveResult play(Game game, User player, int row, int col) {
+        if (game.getStatus() != GameStatus.IN_PROGRESS) {
+            throw new InvalidMoveException("Game " + game.getId() + " is not in progress");
+        }
+        Stone stone = stoneOf(game, player);
+        GameBoard board = boardFor(game.getId());
+
+        MoveOutcome outcome;
+        int moveOrder;
+        synchronized (board) {
+            if (board.sideToMove() != stone) {
+                throw new InvalidMoveException("It is not " + player.getUsername() + "'s turn");
+            }
+            outcome = board.play(row, col);
+            moveOrder = board.getMoveCount();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        GameMove move = GameMove.builder()
+                .game(game)
+                .player(player)
+                .moveOrder(moveOrder)
+                .row(row)
+                .col(col)
+                .createdAt(now)
+                .build();
+
+        if (outcome != MoveOutcome.CONTINUE) {
+            game.setStatus(GameStatus.FINISHED);
+            game.setWinner(outcome == MoveOutcome.WIN ? player : null);
+            game.setEndedAt(now);
+        }
+        return new MoveResult(move, outcome);
+    }
+
+    /**
+     * Takes back a game-ending move that could not be stored, so the game goes on from the position before it.
+     *
+     * @param game the game, marked finished by {@link #play}
+     * @param move the move that ended it
+     */
+    public void revert(Game game, GameMove move) {
+        GameBoard board = boardFor(game.getId());
+        synchronized (board) {
+            board.undo(move.getRow(), move.getCol());
+        }
+        game.setStatus(GameStatus.IN_PROGRESS);
+        game.setWinner(null);
+        game.setEndedAt(null);
+    }
+
+    /**
+     * Returns the in-memory board of a game, replaying its stored moves if it is not loaded yet.
+     *
+     * @param gameId the game ID
+     * @return the board
+     */
+    public GameBoard boardFor(Long gameId) {
+        return boards.computeIfAbsent(gameId,
+                id -> GameBoard.replay(gameMoveRepository.findByGameIdOrderByMoveOrderAsc(id)));
+    }
+
+    /**
+     * Drops the in-memory board of a game, e.g. after it was abandoned.
+     *
+     * @param gameId the game ID
+     */
+    public void evict(Long gameId) {
+        boards.remove(gameId);
+    }
+
+    private Stone stoneOf(Game game, User player) {
+        if (game.getPlayer1() != null && Objects.equals(game.getPlayer1().getId(), player.getId())) {
+            return Stone.X;
+        }
+        if (game.getPlayer2() != null && Objects.equals(game.getPlayer2().getId(), player.getId())) {
+            return Stone.O;
+        }
+        throw new InvalidMoveException("User " + player.getUsername() + " is not playing game " + game.getId());
+    }
+
+    /**
+     * A move accepted by the engine, not yet persisted.
+     *
+     * @param move    the move to store
+     * @param outcome whether the move ended the game
+     */
+    public record MoveResult(GameMove move, MoveOutcome outcome) {
+    }
+}
@@ -0,0 +1,167 @@
+package com.pentalign.backend.engine;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks on per-game lanes: tasks for one game execute one at a time in submission order,
+ * while lanes of different games run in parallel on a shared worker pool.
+ * A lane only occupies a worker while it has queued tasks, so idle games cost one map entry.
+ * <p>
+ * A lane leaves the map only once it is closed, which succeeds only while it has no task queued or running;
+ * a submit that races with the close finds the lane closed and starts a new one, so two lanes of one game
+ * never run at the same time.
+ */
+@Component
+@Slf4j
+public class GameLaneExecutor {
+
+    private final ExecutorService workers;
+    private final ConcurrentMap<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    public GameLaneExecutor(@Value("${game.lanes.threads:0}") int threads) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "game-lane-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Queues a task on the lane of the given game.
+     *
+     * @param gameId the game ID
+     * @param task   the task to run after every task previously queued for this game
+     */
+    public void execute(Long gameId, Runnable task) {
+        while (true) {
+            Lane lane = lanes.computeIfAbsent(gameId, Lane::new);
+            if (lane.submit(task)) {
+                return;
+            }
+            // closed between lookup and submit, make way for a new lane
+            lanes.remove(gameId, lane);
+        }
+    }
+
+    /**
+     * Forgets the lane of a finished game once its queued tasks have run.
+     *
+     * @param gameId the game ID
+     */
+    public void release(Long gameId) {
+        Lane lane = lanes.get(gameId);
+        if (lane != null) {
+            lane.released = true;
+            lane.tryClose();
+        }
+    }
+
+    /**
+     * Closes the lanes of games that have not run a task for a while, e.g. abandoned games.
+     *
+     * @param idleNanos how long a lane must have been idle
+     * @return the IDs of the games whose lane was closed
+     */
+    public List<Long> evictIdle(long idleNanos) {
+        long now = System.nanoTime();
+        List<Long> evicted = new ArrayList<>();
+        for (Lane lane : lanes.values()) {
+            if (now - lane.lastActiveNanos > idleNanos && lane.tryClose()) {
+                evicted.add(lane.gameId);
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return lanes.size();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private final class Lane implements Runnable {
+        /** Value of {@link #pending} once the lane is closed; it then never runs again. */
+        private static final int CLOSED = -1;
+
+        private final Long gameId;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        /** Tasks queued or running, or {@link #CLOSED}. */
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean released;
+        private volatile long lastActiveNanos = System.nanoTime();
+
+        Lane(Long gameId) {
+            this.gameId = gameId;
+        }
+
+        /**
+         * @return false if the lane is closed and the task was not queued
+         */
+        boolean submit(Runnable task) {
+            tasks.add(task);
+            while (true) {
+                int count = pending.get();
+                if (count == CLOSED) {
+                    // a closed lane never polls again, so the task is still there
+                    tasks.remove(task);
+                    return false;
+                }
+                if (pending.compareAndSet(count, count + 1)) {
+                    if (count == 0) {
+                        workers.execute(this);
+                    }
+                    return true;
+                }
+            }
+        }
+
+        /**
+         * Closes the lane and removes it from the map if nothing is queued or running.
+         */
+        boolean tryClose() {
+            if (!pending.compareAndSet(0, CLOSED)) {
+                return false;
+            }
+            lanes.remove(gameId, this);
+            return true;
+        }
+
+        @Override
+        public void run() {
+            do {
+                Runnable task = tasks.poll();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("Game lane task failed", e);
+                }
+                lastActiveNanos = System.nanoTime();
+            } while (pending.decrementAndGet() != 0);
+            if (released) {
+                tryClose();
+            }
+        }
+    }
+}
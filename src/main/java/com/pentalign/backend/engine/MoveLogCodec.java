@@ -0,0 +1,211 @@
+package com.pentalign.backend.engine;
+
+import com.pentalign.backend.entities.GameMove;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Packed binary format for the move sequence of a finished game, stored in {@code games.move_log}.
+ * <pre>
+ * version        : 1 byte
+ * moveCount      : varint
+ * firstCreatedAt : varint, epoch millis of the first move
+ * per move       : zigzag varint  cell index delta from the previous move
+ *                  zigzag varint  millis since the previous move
+ * </pre>
+ * Players are not stored: odd moves belong to {@code player1}, even moves to {@code player2}.
+ * A typical move costs 2-3 bytes instead of a full {@code game_moves} row.
+ */
+public final class MoveLogCodec {
+
+    public static final byte VERSION = 1;
+
+    private MoveLogCodec() {
+    }
+
+    /**
+     * A decoded move.
+     *
+     * @param moveOrder the 1-based move number
+     * @param row       the row
+     * @param col       the column
+     * @param createdAt when the move was played
+     */
+    public record Entry(int moveOrder, int row, int col, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Encodes the moves of one game.
+     *
+     * @param moves the moves, in any order
+     * @return the packed move log
+     */
+    public static byte[] encode(List<GameMove> moves) {
+        List<GameMove> sorted = moves.stream()
+                .sorted(Comparator.comparingInt(GameMove::getMoveOrder))
+                .toList();
+
+        Writer out = new Writer(16 + sorted.size() * 4);
+        out.buf[out.pos++] = VERSION;
+        out.writeVarint(sorted.size());
+        if (sorted.isEmpty()) {
+            return out.toByteArray();
+        }
+
+        long previousMillis = toMillis(sorted.get(0).getCreatedAt());
+        out.writeVarint(previousMillis);
+        int previousCell = 0;
+        for (GameMove move : sorted) {
+            int cell = Bitboard.index(move.getRow(), move.getCol());
+            long millis = toMillis(move.getCreatedAt());
+            out.writeVarint(zigzag(cell - previousCell));
+            out.writeVarint(zigzag(millis - previousMillis));
+            previousCell = cell;
+            previousMillis = millis;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a packed move log.
+     *
+     * @param data the packed move log
+     * @return the moves in move order
+     * @throws IllegalArgumentException if the data is not a supported move log or holds a cell off the board
+     */
+    public static List<Entry> decode(byte[] data) {
+        if (data == null || data.length == 0 || data[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported move log format");
+        }
+        Reader in = new Reader(data);
+        int count = readCount(in);
+        List<Entry> entries = new ArrayList<>(count);
+        if (count == 0) {
+            return entries;
+        }
+
+        long millis = in.readVarint();
+        int cell = 0;
+        for (int i = 1; i <= count; i++) {
+            cell = nextCell(in, cell);
+            millis += unzigzag(in.readVarint());
+            entries.add(new Entry(i, cell / Bitboard.SIZE, cell % Bitboard.SIZE, fromMillis(millis)));
+        }
+        return entries;
+    }
+
+    /**
+     * Decodes only the cells of the first moves, skipping their timestamps.
+     *
+     * @param data  the packed move log
+     * @param limit maximum number of moves to decode
+     * @return the cell indexes in move order
+     * @throws IllegalArgumentException if the data is not a supported move log or holds a cell off the board
+     */
+    public static int[] decodeCells(byte[] data, int limit) {
+        if (data == null || data.length == 0 || data[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported move log format");
+        }
+        Reader in = new Reader(data);
+        int count = Math.min(readCount(in), limit);
+        int[] cells = new int[count];
+        if (count == 0) {
+            return cells;
+        }
+
+        in.readVarint();
+        int cell = 0;
+        for (int i = 0; i < count; i++) {
+            cell = nextCell(in, cell);
+            in.readVarint();
+            cells[i] = cell;
+        }
+        return cells;
+    }
+
+    private static int readCount(Reader in) {
+        long count = in.readVarint();
+        if (count < 0 || count > Bitboard.CELLS) {
+            throw new IllegalArgumentException("Move count " + count + " out of range in move log");
+        }
+        return (int) count;
+    }
+
+    private static int nextCell(Reader in, int previous) {
+        long cell = previous + unzigzag(in.readVarint());
+        if (cell < 0 || cell >= Bitboard.CELLS) {
+            throw new IllegalArgumentException("Cell " + cell + " out of range in move log");
+        }
+        return (int) cell;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000),
+                (int) Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private static long zigzag(long v) {
+        return (v << 1) ^ (v >> 63);
+    }
+
+    private static long unzigzag(long v) {
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            this.buf = new byte[capacity];
+        }
+
+        void writeVarint(long v) {
+            if (buf.length - pos < 10) {
+                buf = Arrays.copyOf(buf, buf.length * 2);
+            }
+            while ((v & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, pos);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos = 1;
+
+        Reader(byte[] buf) {
+            this.buf = buf;
+        }
+
+        long readVarint() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= buf.length) {
+                    throw new IllegalArgumentException("Truncated move log");
+                }
+                byte b = buf[pos++];
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in move log");
+        }
+    }
+}
@@ -5,6 +5,7 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(FriendListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
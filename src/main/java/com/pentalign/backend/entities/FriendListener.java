@@ -0,0 +1,54 @@
+package com.pentalign.backend.entities;
+
+import com.pentalign.backend.service.FriendService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that mirrors every {@link Friend} change into the in-memory friend graph.
+ * Changes are applied after the commit so a rolled-back transaction never shows up in lookups.
+ */
+@Component
+public class FriendListener {
+
+    private final FriendService friendService;
+
+    // lazy: the service needs the repositories, which are built after this listener
+    public FriendListener(@Lazy FriendService friendService) {
+        this.friendService = friendService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onFriendSaved(Friend friend) {
+        Long userId = friend.getUser().getId();
+        Long friendId = friend.getUserFriend().getId();
+        String status = friend.getStatus();
+        afterCommit(() -> friendService.onFriendSaved(userId, friendId, status));
+    }
+
+    @PostRemove
+    public void onFriendRemoved(Friend friend) {
+        Long userId = friend.getUser().getId();
+        Long friendId = friend.getUserFriend().getId();
+        afterCommit(() -> friendService.onFriendRemoved(userId, friendId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
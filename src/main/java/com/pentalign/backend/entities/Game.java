@@ -1,11 +1,13 @@
 package com.pentalign.backend.entities;
 
+import com.pentalign.backend.enums.AiLevel;
 import com.pentalign.backend.enums.GameStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
@@ -45,6 +47,21 @@ public class Game {
     @Builder.Default
     private GameStatus status = GameStatus.WAITING;
 
+    /** Packed move sequence written once the game is archived, see {@code MoveLogCodec}. */
+    @Column(name = "move_log", length = 2048)
+    private byte[] moveLog;
+
+    /** Strength of the AI playing {@code player2}, null in games between two users. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ai_level", length = 10)
+    private AiLevel aiLevel;
+
+    /** Set once the game has been counted in a Glicko-2 rating period. */
+    @Builder.Default
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean rated = false;
+
     @Transient
     public boolean isDraw() {
         return status == GameStatus.FINISHED && winner == null;
@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 @Builder
 public class GameMove {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_moves_seq")
+    @SequenceGenerator(name = "game_moves_seq", sequenceName = "game_moves_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -1,12 +1,14 @@
 package com.pentalign.backend.entities;
 
+import com.pentalign.backend.enums.InvitationStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "invitations",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"sender_id","receiver_id","game_id"}))
+        uniqueConstraints = @UniqueConstraint(columnNames = {"sender_id","receiver_id","game_id"}),
+        indexes = @Index(name = "idx_invitations_receiver_status", columnList = "receiver_id, status, expires_at"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -28,9 +30,15 @@ public class Invitation {
     @JoinColumn(name = "game_id", nullable = false)
     private Game game;
 
+    @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
-    private String status;  // e.g. PENDING, ACCEPTED, DECLINED
+    @Builder.Default
+    private InvitationStatus status = InvitationStatus.PENDING;
 
     @Column(nullable = false, name = "sent_at")
     private LocalDateTime sentAt;
-}
\ No newline at end of file
+
+    /** When a still pending invitation turns {@link InvitationStatus#EXPIRED}. */
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+}
@@ -9,7 +9,9 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_conversation", columnList = "participant_low, participant_high, sent_at, id")
+})
 public class Message {
 
     @Id
@@ -28,4 +30,21 @@ public class Message {
     @Builder.Default
     @Column(nullable = false, name = "sent_at")
     private LocalDateTime sentAt = LocalDateTime.now();
-}
\ No newline at end of file
+
+    /** Lower of the two participant ids, so both directions of a conversation share one index range. */
+    @Column(name = "participant_low")
+    private Long participantLow;
+
+    /** Higher of the two participant ids. */
+    @Column(name = "participant_high")
+    private Long participantHigh;
+
+    @PrePersist
+    @PreUpdate
+    void assignParticipants() {
+        long a = sender.getId();
+        long b = receiver.getId();
+        participantLow = Math.min(a, b);
+        participantHigh = Math.max(a, b);
+    }
+}
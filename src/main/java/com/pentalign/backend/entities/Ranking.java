@@ -1,9 +1,12 @@
 package com.pentalign.backend.entities;
 
+import com.pentalign.backend.rating.Glicko2;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+@EntityListeners(RankingListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -23,5 +26,21 @@ public class Ranking {
     private int losses;
     private int draws;
     private int points;
+
+    /** Glicko-2 rating; {@link #points} is this value rounded, refreshed every rating period. */
+    @Builder.Default
+    @ColumnDefault("1500")
+    @Column(nullable = false)
+    private double rating = Glicko2.DEFAULT_RATING;
+
+    @Builder.Default
+    @ColumnDefault("350")
+    @Column(name = "rating_deviation", nullable = false)
+    private double ratingDeviation = Glicko2.DEFAULT_DEVIATION;
+
+    @Builder.Default
+    @ColumnDefault("0.06")
+    @Column(nullable = false)
+    private double volatility = Glicko2.DEFAULT_VOLATILITY;
 }
 
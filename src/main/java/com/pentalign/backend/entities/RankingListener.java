@@ -0,0 +1,53 @@
+package com.pentalign.backend.entities;
+
+import com.pentalign.backend.service.LeaderboardService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that mirrors every {@link Ranking} change into the in-memory leaderboard.
+ * Changes are applied after the commit so a rolled-back transaction never shows up in ranks.
+ */
+@Component
+public class RankingListener {
+
+    private final LeaderboardService leaderboardService;
+
+    // lazy: the service needs the repositories, which are built after this listener
+    public RankingListener(@Lazy LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onRankingSaved(Ranking ranking) {
+        Long userId = ranking.getUser().getId();
+        String username = ranking.getUser().getUsername();
+        int points = ranking.getPoints();
+        afterCommit(() -> leaderboardService.onRankingSaved(userId, username, points));
+    }
+
+    @PostRemove
+    public void onRankingRemoved(Ranking ranking) {
+        Long userId = ranking.getUser().getId();
+        afterCommit(() -> leaderboardService.onRankingRemoved(userId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -10,7 +10,8 @@ import org.hibernate.annotations.NaturalId;
 import java.time.Instant;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens",
+        indexes = @Index(name = "idx_refresh_tokens_expiry", columnList = "expiry_date"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,9 +25,10 @@ public class RefreshToken {
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
 
+    /** Hex SHA-256 of the token; the token itself is only ever sent to the client. */
     @NaturalId
-    @Column(nullable = false, unique = true)
-    private String token;
+    @Column(name = "token", nullable = false, unique = true, length = 64)
+    private String tokenHash;
 
     @Column(name = "expiry_date", nullable = false)
     private Instant expiryDate;
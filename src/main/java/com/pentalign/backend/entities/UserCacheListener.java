@@ -0,0 +1,45 @@
+package com.pentalign.backend.entities;
+
+import com.pentalign.backend.config.CacheConfig;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA listener that evicts a {@link User} from the user-details cache whenever its row is updated or deleted.
+ * Eviction waits for the commit so a concurrent lookup cannot re-cache the old row.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheListener {
+
+    private final CacheManager cacheManager;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String username = user.getUsername();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(username);
+                }
+            });
+        } else {
+            evict(username);
+        }
+    }
+
+    private void evict(String username) {
+        Cache cache = cacheManager.getCache(CacheConfig.USER_DETAILS);
+        if (cache != null) {
+            cache.evict(username);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.pentalign.backend.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * A per-user revocation cutoff: access tokens of the user issued at or before {@code revokedBefore} are rejected.
+ * Only needed until every token issued before it has expired anyway.
+ */
+@Entity
+@Table(name = "user_token_revocations",
+        indexes = @Index(name = "idx_user_token_revocations_cutoff", columnList = "revoked_before"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserTokenRevocation {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "revoked_before", nullable = false)
+    private Instant revokedBefore;
+}
@@ -0,0 +1,43 @@
+package com.pentalign.backend.enums;
+
+/**
+ * Strength of the built-in AI opponent: how deep and how wide it searches, how long a forced win
+ * by continuous fours it looks for, and how long it may think per move.
+ */
+public enum AiLevel {
+    EASY(2, 6, 0, 200),
+    MEDIUM(4, 10, 8, 500),
+    HARD(12, 16, 16, 1500);
+
+    private final int maxDepth;
+    private final int width;
+    private final int vcfDepth;
+    private final long thinkMs;
+
+    AiLevel(int maxDepth, int width, int vcfDepth, long thinkMs) {
+        this.maxDepth = maxDepth;
+        this.width = width;
+        this.vcfDepth = vcfDepth;
+        this.thinkMs = thinkMs;
+    }
+
+    /** Deepest full-width iteration, in plies. */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /** Candidate moves searched per node, best-ordered first. */
+    public int getWidth() {
+        return width;
+    }
+
+    /** Longest forced win by continuous fours looked for before the search, in own moves; 0 disables it. */
+    public int getVcfDepth() {
+        return vcfDepth;
+    }
+
+    /** Time budget per move. */
+    public long getThinkMs() {
+        return thinkMs;
+    }
+}
@@ -3,5 +3,6 @@ package com.pentalign.backend.enums;
 public enum GameStatus {
     WAITING,
     IN_PROGRESS,
-    FINISHED
+    FINISHED,
+    CANCELLED
 }
\ No newline at end of file
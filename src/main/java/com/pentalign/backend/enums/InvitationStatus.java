@@ -0,0 +1,15 @@
+package com.pentalign.backend.enums;
+
+/**
+ * Lifecycle of a game invitation. Only a pending invitation can change, and only once.
+ */
+public enum InvitationStatus {
+    PENDING,
+    ACCEPTED,
+    DECLINED,
+    EXPIRED;
+
+    public boolean canBecome(InvitationStatus next) {
+        return this == PENDING && next != PENDING;
+    }
+}
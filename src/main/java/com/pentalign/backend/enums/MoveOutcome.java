@@ -0,0 +1,7 @@
+package com.pentalign.backend.enums;
+
+public enum MoveOutcome {
+    CONTINUE,
+    WIN,
+    DRAW
+}
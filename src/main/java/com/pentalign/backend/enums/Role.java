@@ -3,5 +3,7 @@ package com.pentalign.backend.enums;
 
 public enum Role {
     USER,
-    ADMIN
+    ADMIN,
+    /** The built-in AI player, which cannot log in. */
+    BOT
 }
\ No newline at end of file
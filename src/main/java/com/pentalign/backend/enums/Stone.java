@@ -0,0 +1,13 @@
+package com.pentalign.backend.enums;
+
+/**
+ * Symbol placed on the board. {@code X} always belongs to {@code Game.player1} and moves first.
+ */
+public enum Stone {
+    X,
+    O;
+
+    public Stone opponent() {
+        return this == X ? O : X;
+    }
+}
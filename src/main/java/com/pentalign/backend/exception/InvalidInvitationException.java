@@ -0,0 +1,21 @@
+package com.pentalign.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when an invitation cannot make the requested transition,
+ * e.g. it was already answered, has expired or is addressed to someone else.
+ * Returns a 409 CONFLICT HTTP status when thrown in a controller.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InvalidInvitationException extends RuntimeException {
+    /**
+     * Constructs a new InvalidInvitationException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidInvitationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,21 @@
+package com.pentalign.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a move is rejected by the game engine
+ * (occupied cell, out of turn, off the board or game not in progress).
+ * Returns a 409 CONFLICT HTTP status when thrown in a controller.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class InvalidMoveException extends RuntimeException {
+    /**
+     * Constructs a new InvalidMoveException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public InvalidMoveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.pentalign.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a lookup asks for more ids than one request may carry.
+ * Returns a 400 BAD REQUEST HTTP status when thrown in a controller.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class TooManyIdsException extends RuntimeException {
+    /**
+     * Constructs a new TooManyIdsException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public TooManyIdsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,20 @@
+package com.pentalign.backend.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception thrown when a user referenced by id does not exist.
+ * Returns a 404 NOT FOUND HTTP status when thrown in a controller.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class UserNotFoundException extends RuntimeException {
+    /**
+     * Constructs a new UserNotFoundException with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public UserNotFoundException(String message) {
+        super(message);
+    }
+}
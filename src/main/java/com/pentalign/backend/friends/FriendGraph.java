@@ -0,0 +1,171 @@
+package com.pentalign.backend.friends;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory undirected friend graph: for every user, the ids of their friends in a {@link LongSet}.
+ * Membership checks are a single hash probe and listing friends copies one primitive array.
+ * Reads run concurrently; updates take a short write lock.
+ */
+public class FriendGraph {
+
+    /**
+     * One friendship.
+     *
+     * @param userId   one side
+     * @param friendId the other side
+     */
+    public record Edge(Long userId, Long friendId) {
+    }
+
+    private static final long[] NONE = new long[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LongSet> adjacency = new HashMap<>();
+    private long edges;
+
+    /**
+     * Adds a friendship in both directions.
+     *
+     * @return true if it was not known yet
+     */
+    public boolean add(long userId, long friendId) {
+        if (userId == friendId) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            boolean added = link(userId, friendId);
+            link(friendId, userId);
+            if (added) {
+                edges++;
+            }
+            return added;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a friendship in both directions.
+     *
+     * @return true if it was known
+     */
+    public boolean remove(long userId, long friendId) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = unlink(userId, friendId);
+            unlink(friendId, userId);
+            if (removed) {
+                edges--;
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole graph.
+     *
+     * @param friendships every friendship, in either direction
+     */
+    public void rebuild(List<Edge> friendships) {
+        lock.writeLock().lock();
+        try {
+            adjacency.clear();
+            edges = 0;
+            for (Edge e : friendships) {
+                if (!e.userId().equals(e.friendId()) && link(e.userId(), e.friendId())) {
+                    link(e.friendId(), e.userId());
+                    edges++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean areFriends(long userId, long friendId) {
+        lock.readLock().lock();
+        try {
+            LongSet friends = adjacency.get(userId);
+            return friends != null && friends.contains(friendId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param userId the user ID
+     * @return the ids of the user's friends, in no particular order
+     */
+    public long[] friendsOf(long userId) {
+        lock.readLock().lock();
+        try {
+            LongSet friends = adjacency.get(userId);
+            return friends == null ? NONE : friends.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of friendships, each counted once
+     */
+    public long edgeCount() {
+        lock.readLock().lock();
+        try {
+            return edges;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int userCount() {
+        lock.readLock().lock();
+        try {
+            return adjacency.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estimates the heap held by the graph: every set, plus per user a map node (32 B),
+     * a boxed key (16 B) and a table slot (8 B at the map's default load).
+     *
+     * @return approximate size in bytes
+     */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (LongSet friends : adjacency.values()) {
+                bytes += friends.footprintBytes() + 32 + 16 + 8;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean link(long from, long to) {
+        return adjacency.computeIfAbsent(from, id -> new LongSet()).add(to);
+    }
+
+    private boolean unlink(long from, long to) {
+        LongSet friends = adjacency.get(from);
+        if (friends == null || !friends.remove(to)) {
+            return false;
+        }
+        if (friends.isEmpty()) {
+            adjacency.remove(from);
+        }
+        return true;
+    }
+}
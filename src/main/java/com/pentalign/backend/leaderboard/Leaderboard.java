@@ -0,0 +1,289 @@
+package com.pentalign.backend.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory leaderboard ordered by points (highest first), ties broken by user id (lowest first).
+ * Players are kept in an order-statistic treap where every node knows the size of its subtree,
+ * so rank lookups, page starts and neighbor windows cost O(log n) plus the size of the page.
+ * Reads run concurrently; updates take a short write lock.
+ */
+public class Leaderboard {
+
+    /**
+     * A leaderboard row.
+     *
+     * @param rank     1-based position
+     * @param userId   the user ID
+     * @param username the username
+     * @param points   the points
+     */
+    public record Entry(int rank, Long userId, String username, int points) {
+    }
+
+    private static final class Node {
+        final int points;
+        final long userId;
+        final int priority;
+        int size = 1;
+        Node left;
+        Node right;
+
+        Node(int points, long userId) {
+            this.points = points;
+            this.userId = userId;
+            this.priority = ThreadLocalRandom.current().nextInt();
+        }
+    }
+
+    private record Player(int points, String username) {
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Player> players = new HashMap<>();
+    private Node root;
+
+    /**
+     * Inserts a player or moves them to their new points.
+     *
+     * @param userId   the user ID
+     * @param username the username
+     * @param points   the current points
+     */
+    public void update(Long userId, String username, int points) {
+        lock.writeLock().lock();
+        try {
+            Player previous = players.put(userId, new Player(points, username));
+            if (previous != null) {
+                if (previous.points() == points) {
+                    return;
+                }
+                root = delete(root, previous.points(), userId);
+            }
+            root = insert(root, new Node(points, userId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a player.
+     *
+     * @param userId the user ID
+     */
+    public void remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            Player previous = players.remove(userId);
+            if (previous != null) {
+                root = delete(root, previous.points(), userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole leaderboard.
+     *
+     * @param entries the players; ranks are ignored
+     */
+    public void rebuild(List<Entry> entries) {
+        lock.writeLock().lock();
+        try {
+            players.clear();
+            root = null;
+            for (Entry e : entries) {
+                players.put(e.userId(), new Player(e.points(), e.username()));
+                root = insert(root, new Node(e.points(), e.userId()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param userId the user ID
+     * @return the player's row, or null if they are not ranked
+     */
+    public Entry entryOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Player player = players.get(userId);
+            if (player == null) {
+                return null;
+            }
+            int rank = countBefore(root, player.points(), userId) + 1;
+            return new Entry(rank, userId, player.username(), player.points());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param offset number of rows to skip from the top
+     * @param limit  maximum number of rows
+     * @return the rows of the page, best first
+     */
+    public List<Entry> page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Entry> rows = new ArrayList<>(Math.max(Math.min(limit, size(root) - offset), 0));
+            collect(root, Math.max(offset, 0), Math.max(limit, 0), 0, rows);
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param userId the user ID
+     * @param radius number of rows on each side of the player
+     * @return the rows around the player including the player, or an empty list if not ranked
+     */
+    public List<Entry> neighbors(Long userId, int radius) {
+        lock.readLock().lock();
+        try {
+            Player player = players.get(userId);
+            if (player == null) {
+                return List.of();
+            }
+            int index = countBefore(root, player.points(), userId);
+            int from = Math.max(index - radius, 0);
+            List<Entry> rows = new ArrayList<>(2 * radius + 1);
+            collect(root, from, index - from + radius + 1, 0, rows);
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size(root);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Orders by points descending, then user id ascending. */
+    private static int compare(int pointsA, long userA, int pointsB, long userB) {
+        if (pointsA != pointsB) {
+            return Integer.compare(pointsB, pointsA);
+        }
+        return Long.compare(userA, userB);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void resize(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static Node rotateRight(Node node) {
+        Node l = node.left;
+        node.left = l.right;
+        l.right = node;
+        resize(node);
+        resize(l);
+        return l;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node r = node.right;
+        node.right = r.left;
+        r.left = node;
+        resize(node);
+        resize(r);
+        return r;
+    }
+
+    private static Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.points, added.userId, node.points, node.userId) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        resize(node);
+        return node;
+    }
+
+    private static Node delete(Node node, int points, long userId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(points, userId, node.points, node.userId);
+        if (cmp < 0) {
+            node.left = delete(node.left, points, userId);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, points, userId);
+        } else {
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            if (node.left.priority > node.right.priority) {
+                node = rotateRight(node);
+                node.right = delete(node.right, points, userId);
+            } else {
+                node = rotateLeft(node);
+                node.left = delete(node.left, points, userId);
+            }
+        }
+        resize(node);
+        return node;
+    }
+
+    /** Number of players ranked strictly before (points, userId). */
+    private static int countBefore(Node node, int points, long userId) {
+        int count = 0;
+        while (node != null) {
+            int cmp = compare(points, userId, node.points, node.userId);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                count += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return count;
+    }
+
+    /** In-order walk of the rows [skip, skip + limit), pruning subtrees outside the range. */
+    private void collect(Node node, int skip, int limit, int base, List<Entry> out) {
+        if (node == null || out.size() >= limit) {
+            return;
+        }
+        int leftSize = size(node.left);
+        int index = base + leftSize;
+        if (skip < index) {
+            collect(node.left, skip, limit, base, out);
+        }
+        if (index >= skip && out.size() < limit) {
+            out.add(new Entry(index + 1, node.userId, players.get(node.userId).username(), node.points));
+        }
+        if (skip <= base + node.size - 1) {
+            collect(node.right, skip, limit, index + 1, out);
+        }
+    }
+}
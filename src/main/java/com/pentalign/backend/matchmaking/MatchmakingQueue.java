@@ -0,0 +1,224 @@
+package com.pentalign.backend.matchmaking;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free queue of players searching for a game, bucketed by rating.
+ * A player is paired with the waiting player closest in points, as long as the difference fits
+ * in a search window that widens the longer either of them has been waiting.
+ * Pairing claims both tickets with compare-and-set, so concurrent searches never pair a player twice
+ * and never block each other. Cancelling claims the ticket the same way, waiting out a search that holds it
+ * for the moment it takes to claim an opponent, so a cancelled player is never paired.
+ */
+public class MatchmakingQueue {
+
+    /**
+     * A searching player.
+     */
+    public static final class Ticket {
+        private static final int WAITING = 0;
+        /** Held by a search while it tries to claim an opponent. */
+        private static final int CLAIMING = 1;
+        private static final int TAKEN = 2;
+        private static final int CANCELLED = 3;
+
+        private final Long userId;
+        private final String username;
+        private final int points;
+        private final long enqueuedAtNanos;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Ticket(Long userId, String username, int points, long enqueuedAtNanos) {
+            this.userId = userId;
+            this.username = username;
+            this.points = points;
+            this.enqueuedAtNanos = enqueuedAtNanos;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public int getPoints() {
+            return points;
+        }
+    }
+
+    /**
+     * Two players taken out of the queue together.
+     *
+     * @param first  the player whose search produced the match
+     * @param second the opponent found for them
+     */
+    public record Pair(Ticket first, Ticket second) {
+    }
+
+    private final int bucketWidth;
+    private final int baseWindow;
+    private final int widenPerSecond;
+    private final int maxWindow;
+
+    private final ConcurrentMap<Integer, Queue<Ticket>> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Ticket> tickets = new ConcurrentHashMap<>();
+
+    public MatchmakingQueue(int bucketWidth, int baseWindow, int widenPerSecond, int maxWindow) {
+        this.bucketWidth = bucketWidth;
+        this.baseWindow = baseWindow;
+        this.widenPerSecond = widenPerSecond;
+        this.maxWindow = maxWindow;
+    }
+
+    /**
+     * Adds a player and immediately tries to pair them.
+     *
+     * @param userId   the user ID
+     * @param username the username
+     * @param points   the player's rating points
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the pair if an opponent was found, empty if the player is now waiting
+     */
+    public Optional<Pair> enqueue(Long userId, String username, int points, long nowNanos) {
+        Ticket ticket = new Ticket(userId, username, points, nowNanos);
+        Ticket existing = tickets.putIfAbsent(userId, ticket);
+        if (existing != null) {
+            return Optional.empty();
+        }
+        buckets.computeIfAbsent(bucketOf(points), b -> new ConcurrentLinkedQueue<>()).add(ticket);
+        return tryMatch(ticket, nowNanos);
+    }
+
+    /**
+     * Removes a waiting player.
+     *
+     * @param userId the user ID
+     * @return true if the player was waiting and is now removed, false if they were not queued or already paired
+     */
+    public boolean cancel(Long userId) {
+        Ticket ticket = tickets.get(userId);
+        if (ticket == null) {
+            return false;
+        }
+        while (true) {
+            int state = ticket.state.get();
+            if (state == Ticket.CLAIMING) {
+                // a search holds the ticket for one compare-and-set, wait for its outcome
+                Thread.onSpinWait();
+                continue;
+            }
+            if (state != Ticket.WAITING) {
+                return false;
+            }
+            if (ticket.state.compareAndSet(Ticket.WAITING, Ticket.CANCELLED)) {
+                remove(ticket);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Retries every waiting player with its current, possibly widened, window.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the pairs formed
+     */
+    public List<Pair> matchWaiting(long nowNanos) {
+        List<Pair> pairs = new ArrayList<>();
+        for (Ticket ticket : tickets.values()) {
+            if (ticket.state.get() == Ticket.WAITING) {
+                tryMatch(ticket, nowNanos).ifPresent(pairs::add);
+            }
+        }
+        return pairs;
+    }
+
+    public boolean isWaiting(Long userId) {
+        return tickets.containsKey(userId);
+    }
+
+    public int size() {
+        return tickets.size();
+    }
+
+    private Optional<Pair> tryMatch(Ticket ticket, long nowNanos) {
+        while (true) {
+            Ticket best = findClosest(ticket, nowNanos);
+            if (best == null) {
+                return Optional.empty();
+            }
+            if (!ticket.state.compareAndSet(Ticket.WAITING, Ticket.CLAIMING)) {
+                // someone else paired or cancelled this ticket meanwhile
+                return Optional.empty();
+            }
+            if (best.state.compareAndSet(Ticket.WAITING, Ticket.TAKEN)) {
+                ticket.state.set(Ticket.TAKEN);
+                remove(ticket);
+                remove(best);
+                return Optional.of(new Pair(ticket, best));
+            }
+            // lost the race for this opponent, release and look again
+            ticket.state.set(Ticket.WAITING);
+        }
+    }
+
+    private Ticket findClosest(Ticket ticket, long nowNanos) {
+        int window = windowOf(ticket, nowNanos);
+        int home = bucketOf(ticket.points);
+        int maxDistance = window / bucketWidth + 1;
+
+        Ticket best = null;
+        int bestDiff = Integer.MAX_VALUE;
+        for (int d = 0; d <= maxDistance; d++) {
+            // nothing in buckets d or further can be closer than (d - 1) * bucketWidth
+            if (best != null && bestDiff <= (d - 1) * bucketWidth) {
+                break;
+            }
+            for (int bucket : d == 0 ? new int[]{home} : new int[]{home - d, home + d}) {
+                Queue<Ticket> queue = buckets.get(bucket);
+                if (queue == null) {
+                    continue;
+                }
+                for (Ticket candidate : queue) {
+                    if (candidate == ticket || candidate.state.get() != Ticket.WAITING) {
+                        continue;
+                    }
+                    int diff = Math.abs(candidate.points - ticket.points);
+                    int allowed = Math.max(window, windowOf(candidate, nowNanos));
+                    if (diff <= allowed && diff < bestDiff) {
+                        best = candidate;
+                        bestDiff = diff;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int windowOf(Ticket ticket, long nowNanos) {
+        long waitedSeconds = TimeUnit.NANOSECONDS.toSeconds(Math.max(nowNanos - ticket.enqueuedAtNanos, 0));
+        return (int) Math.min(maxWindow, baseWindow + waitedSeconds * widenPerSecond);
+    }
+
+    private int bucketOf(int points) {
+        return Math.floorDiv(points, bucketWidth);
+    }
+
+    private void remove(Ticket ticket) {
+        tickets.remove(ticket.userId, ticket);
+        Queue<Ticket> queue = buckets.get(bucketOf(ticket.points));
+        if (queue != null) {
+            queue.remove(ticket);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.pentalign.backend.presence;
+
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.service.PresenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+
+/**
+ * Reports every inbound STOMP frame of an authenticated session, heartbeats included, as activity
+ * to the {@link PresenceService}. Must run after {@link com.pentalign.backend.security.StompAuthChannelInterceptor}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PresenceChannelInterceptor implements ChannelInterceptor {
+
+    private final PresenceService presenceService;
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        Principal principal = SimpMessageHeaderAccessor.getUser(message.getHeaders());
+        if (principal instanceof Authentication auth && auth.getPrincipal() instanceof User user) {
+            presenceService.touch(user.getId());
+        }
+        return message;
+    }
+}
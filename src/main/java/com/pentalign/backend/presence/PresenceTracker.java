@@ -0,0 +1,160 @@
+package com.pentalign.backend.presence;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tracks who is online from their last activity.
+ * Recording activity for a known user is a map lookup and one volatile write. Expiry uses a hashed
+ * timing wheel: each user sits in the slot of the tick their timeout would fire, and advancing the wheel
+ * only visits the slots that came due, so the cost follows the number of users timing out,
+ * never the number online. A user active since being scheduled is moved to their new deadline instead
+ * of expiring, so each user is rescheduled at most once per timeout, however often they are seen.
+ */
+public class PresenceTracker {
+
+    private static final class Entry {
+        final long userId;
+        volatile long lastSeen;
+
+        Entry(long userId, long lastSeen) {
+            this.userId = userId;
+            this.lastSeen = lastSeen;
+        }
+    }
+
+    private final long tickNanos;
+    private final long timeoutNanos;
+    private final ConcurrentMap<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry>[] wheel;
+    private final int mask;
+    private volatile long lastTick;
+
+    /**
+     * @param timeoutNanos how long a user stays online after their last activity
+     * @param tickNanos    resolution of the wheel; users expire up to one tick late
+     * @param nowNanos     the current {@link System#nanoTime()}
+     */
+    @SuppressWarnings("unchecked")
+    public PresenceTracker(long timeoutNanos, long tickNanos, long nowNanos) {
+        this.tickNanos = tickNanos;
+        this.timeoutNanos = timeoutNanos;
+        // the wheel spans more than a full timeout, so a slot never holds entries for a later lap
+        int slots = Integer.highestOneBit((int) (timeoutNanos / tickNanos + 2)) << 1;
+        this.wheel = new Queue[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.mask = slots - 1;
+        this.lastTick = Math.floorDiv(nowNanos, tickNanos);
+    }
+
+    /**
+     * Records activity of a user.
+     *
+     * @param userId   the user ID
+     * @param nowNanos the current {@link System#nanoTime()}
+     */
+    public void touch(long userId, long nowNanos) {
+        Entry entry = entries.get(userId);
+        if (entry != null) {
+            entry.lastSeen = nowNanos;
+            return;
+        }
+        Entry created = new Entry(userId, nowNanos);
+        entry = entries.putIfAbsent(userId, created);
+        if (entry != null) {
+            entry.lastSeen = nowNanos;
+        } else {
+            schedule(created);
+        }
+    }
+
+    /**
+     * Marks a user offline right away, e.g. on logout.
+     *
+     * @param userId the user ID
+     */
+    public void remove(long userId) {
+        entries.remove(userId);
+    }
+
+    public boolean isOnline(long userId, long nowNanos) {
+        Entry entry = entries.get(userId);
+        return entry != null && nowNanos - entry.lastSeen < timeoutNanos;
+    }
+
+    /**
+     * @param userIds  the users to check
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return the users among {@code userIds} who are online, in the same order
+     */
+    public long[] online(long[] userIds, long nowNanos) {
+        long[] online = new long[userIds.length];
+        int n = 0;
+        for (long userId : userIds) {
+            if (isOnline(userId, nowNanos)) {
+                online[n++] = userId;
+            }
+        }
+        return n == online.length ? online : Arrays.copyOf(online, n);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Expires every user whose timeout fell in the ticks elapsed since the last call.
+     * Must not be called concurrently.
+     *
+     * @param nowNanos the current {@link System#nanoTime()}
+     * @return number of users expired
+     */
+    public int advance(long nowNanos) {
+        long current = Math.floorDiv(nowNanos, tickNanos);
+        int expired = 0;
+        List<Entry> due = new ArrayList<>();
+        for (long tick = lastTick + 1; tick <= current; tick++) {
+            lastTick = tick;
+            Queue<Entry> slot = wheel[(int) (tick & mask)];
+            Entry entry;
+            while ((entry = slot.poll()) != null) {
+                due.add(entry);
+            }
+            for (Entry e : due) {
+                if (entries.get(e.userId) != e) {
+                    continue;
+                }
+                if (tickOf(e.lastSeen + timeoutNanos) > tick) {
+                    schedule(e);
+                    continue;
+                }
+                long seen = e.lastSeen;
+                entries.remove(e.userId, e);
+                if (e.lastSeen != seen) {
+                    // touched while being removed
+                    touch(e.userId, e.lastSeen);
+                } else {
+                    expired++;
+                }
+            }
+            due.clear();
+        }
+        return expired;
+    }
+
+    private void schedule(Entry entry) {
+        long tick = Math.max(tickOf(entry.lastSeen + timeoutNanos), lastTick + 1);
+        wheel[(int) (tick & mask)].add(entry);
+    }
+
+    private long tickOf(long nanos) {
+        return Math.floorDiv(nanos + tickNanos - 1, tickNanos);
+    }
+}
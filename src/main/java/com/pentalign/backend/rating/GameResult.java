@@ -0,0 +1,11 @@
+package com.pentalign.backend.rating;
+
+/**
+ * Outcome of one finished game, as read for a rating period.
+ *
+ * @param player1Id the first player
+ * @param player2Id the second player
+ * @param winnerId  the winner, or null for a draw
+ */
+public record GameResult(Long player1Id, Long player2Id, Long winnerId) {
+}
@@ -0,0 +1,133 @@
+package com.pentalign.backend.rating;
+
+/**
+ * One-player Glicko-2 update, following Glickman's "Example of the Glicko-2 system".
+ * Values are converted to the internal Glicko-2 scale, updated for one rating period
+ * and converted back. Instances are immutable and safe to share between threads.
+ */
+public class Glicko2 {
+
+    public static final double DEFAULT_RATING = 1500;
+    public static final double DEFAULT_DEVIATION = 350;
+    public static final double DEFAULT_VOLATILITY = 0.06;
+
+    private static final double SCALE = 173.7178;
+    private static final double CONVERGENCE = 0.000001;
+
+    private final double tau;
+
+    /**
+     * @param tau the system constant constraining volatility changes, typically between 0.3 and 1.2
+     */
+    public Glicko2(double tau) {
+        this.tau = tau;
+    }
+
+    static double toMu(double rating) {
+        return (rating - DEFAULT_RATING) / SCALE;
+    }
+
+    static double toPhi(double deviation) {
+        return deviation / SCALE;
+    }
+
+    static double toRating(double mu) {
+        return mu * SCALE + DEFAULT_RATING;
+    }
+
+    static double toDeviation(double phi) {
+        return phi * SCALE;
+    }
+
+    static double g(double phi) {
+        return 1 / Math.sqrt(1 + 3 * phi * phi / (Math.PI * Math.PI));
+    }
+
+    /**
+     * Rates a player over one period.
+     *
+     * @param mu         the player's rating, internal scale
+     * @param phi        the player's deviation, internal scale
+     * @param sigma      the player's volatility
+     * @param opponents  indexes into {@code oppMu} and {@code oppG}, one per game
+     * @param scores     the player's score per game: 1, 0.5 or 0
+     * @param from       first game of the player in {@code opponents} and {@code scores}
+     * @param to         one past the last game of the player
+     * @param oppMu      every player's rating, internal scale
+     * @param oppG       every player's {@code g(phi)}
+     * @param out        receives mu', phi' and sigma' at {@code out[0..2]}
+     */
+    public void rate(double mu, double phi, double sigma,
+                     int[] opponents, double[] scores, int from, int to,
+                     double[] oppMu, double[] oppG, double[] out) {
+        if (from == to) {
+            // no games: only the deviation grows
+            out[0] = mu;
+            out[1] = Math.sqrt(phi * phi + sigma * sigma);
+            out[2] = sigma;
+            return;
+        }
+
+        double vInverse = 0;
+        double improvement = 0;
+        for (int i = from; i < to; i++) {
+            int j = opponents[i];
+            double gj = oppG[j];
+            double e = 1 / (1 + Math.exp(-gj * (mu - oppMu[j])));
+            vInverse += gj * gj * e * (1 - e);
+            improvement += gj * (scores[i] - e);
+        }
+        double v = 1 / vInverse;
+        double delta = v * improvement;
+
+        double newSigma = volatility(delta, phi, v, sigma);
+        double phiStar = Math.sqrt(phi * phi + newSigma * newSigma);
+        double newPhi = 1 / Math.sqrt(1 / (phiStar * phiStar) + 1 / v);
+
+        out[0] = mu + newPhi * newPhi * improvement;
+        out[1] = newPhi;
+        out[2] = newSigma;
+    }
+
+    /** Step 5: Illinois-method root of f(x) for the new volatility. */
+    private double volatility(double delta, double phi, double v, double sigma) {
+        double a = Math.log(sigma * sigma);
+        double tau2 = tau * tau;
+        double phi2 = phi * phi;
+        double delta2 = delta * delta;
+
+        double bigA = a;
+        double bigB;
+        if (delta2 > phi2 + v) {
+            bigB = Math.log(delta2 - phi2 - v);
+        } else {
+            int k = 1;
+            while (f(a - k * tau, delta2, phi2, v, a, tau2) < 0) {
+                k++;
+            }
+            bigB = a - k * tau;
+        }
+
+        double fA = f(bigA, delta2, phi2, v, a, tau2);
+        double fB = f(bigB, delta2, phi2, v, a, tau2);
+        while (Math.abs(bigB - bigA) > CONVERGENCE) {
+            double bigC = bigA + (bigA - bigB) * fA / (fB - fA);
+            double fC = f(bigC, delta2, phi2, v, a, tau2);
+            if (fC * fB <= 0) {
+                bigA = bigB;
+                fA = fB;
+            } else {
+                fA = fA / 2;
+            }
+            bigB = bigC;
+            fB = fC;
+        }
+        return Math.exp(bigA / 2);
+    }
+
+    private static double f(double x, double delta2, double phi2, double v, double a, double tau2) {
+        double ex = Math.exp(x);
+        double d = phi2 + v + ex;
+        return ex * (delta2 - phi2 - v - ex) / (2 * d * d) - (x - a) / tau2;
+    }
+}
@@ -0,0 +1,12 @@
+package com.pentalign.backend.rating;
+
+/**
+ * A player's Glicko-2 rating on the public (1500-centered) scale.
+ *
+ * @param userId     the user ID
+ * @param rating     the rating
+ * @param deviation  the rating deviation
+ * @param volatility the rating volatility
+ */
+public record PlayerRating(Long userId, double rating, double deviation, double volatility) {
+}
@@ -0,0 +1,108 @@
+package com.pentalign.backend.rating;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Computes one Glicko-2 rating period for every player at once.
+ * Games are grouped per player into flat arrays (each game appears once for each side),
+ * and players are then rated independently on a parallel stream, reading only the
+ * pre-period ratings of their opponents, so the work spreads over every core without locking.
+ */
+public class RatingPeriod {
+
+    private final Glicko2 glicko;
+
+    public RatingPeriod(Glicko2 glicko) {
+        this.glicko = glicko;
+    }
+
+    /**
+     * Rates a period.
+     *
+     * @param current the ratings before the period; players missing here start from the defaults
+     * @param games   the games of the period
+     * @return the new rating of every player in {@code current} or {@code games}
+     */
+    public List<PlayerRating> rate(List<PlayerRating> current, List<GameResult> games) {
+        Map<Long, Integer> index = new HashMap<>(Math.max(current.size() * 2, 16));
+        List<Long> userIds = new ArrayList<>(current.size());
+        for (PlayerRating r : current) {
+            if (index.putIfAbsent(r.userId(), userIds.size()) == null) {
+                userIds.add(r.userId());
+            }
+        }
+        int[] side1 = new int[games.size()];
+        int[] side2 = new int[games.size()];
+        double[] score1 = new double[games.size()];
+        for (int i = 0; i < games.size(); i++) {
+            GameResult game = games.get(i);
+            side1[i] = indexOf(game.player1Id(), index, userIds);
+            side2[i] = indexOf(game.player2Id(), index, userIds);
+            score1[i] = game.winnerId() == null ? 0.5 : game.winnerId().equals(game.player1Id()) ? 1 : 0;
+        }
+
+        int players = userIds.size();
+        double[] mu = new double[players];
+        double[] phi = new double[players];
+        double[] sigma = new double[players];
+        double[] g = new double[players];
+        Arrays.fill(phi, Glicko2.toPhi(Glicko2.DEFAULT_DEVIATION));
+        Arrays.fill(sigma, Glicko2.DEFAULT_VOLATILITY);
+        for (PlayerRating r : current) {
+            int p = index.get(r.userId());
+            mu[p] = Glicko2.toMu(r.rating());
+            phi[p] = Glicko2.toPhi(r.deviation());
+            sigma[p] = r.volatility();
+        }
+        for (int p = 0; p < players; p++) {
+            g[p] = Glicko2.g(phi[p]);
+        }
+
+        // counting sort of both sides of every game by player
+        int[] start = new int[players + 1];
+        for (int i = 0; i < games.size(); i++) {
+            start[side1[i] + 1]++;
+            start[side2[i] + 1]++;
+        }
+        for (int p = 0; p < players; p++) {
+            start[p + 1] += start[p];
+        }
+        int[] fill = start.clone();
+        int[] opponents = new int[2 * games.size()];
+        double[] scores = new double[2 * games.size()];
+        for (int i = 0; i < games.size(); i++) {
+            int a = fill[side1[i]]++;
+            opponents[a] = side2[i];
+            scores[a] = score1[i];
+            int b = fill[side2[i]]++;
+            opponents[b] = side1[i];
+            scores[b] = 1 - score1[i];
+        }
+
+        PlayerRating[] rated = new PlayerRating[players];
+        IntStream.range(0, players).parallel().forEach(p -> {
+            double[] out = new double[3];
+            glicko.rate(mu[p], phi[p], sigma[p], opponents, scores, start[p], start[p + 1], mu, g, out);
+            rated[p] = new PlayerRating(userIds.get(p),
+                    Glicko2.toRating(out[0]),
+                    Math.min(Glicko2.toDeviation(out[1]), Glicko2.DEFAULT_DEVIATION),
+                    out[2]);
+        });
+        return List.of(rated);
+    }
+
+    private static int indexOf(Long userId, Map<Long, Integer> index, List<Long> userIds) {
+        Integer p = index.get(userId);
+        if (p == null) {
+            p = userIds.size();
+            index.put(userId, p);
+            userIds.add(userId);
+        }
+        return p;
+    }
+}
@@ -1,9 +1,25 @@
 package com.pentalign.backend.repository;
 
 import com.pentalign.backend.entities.Friend;
+import com.pentalign.backend.friends.FriendGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface FriendRepository extends JpaRepository<Friend, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT new com.pentalign.backend.friends.FriendGraph$Edge(f.user.id, f.userFriend.id) " +
+            "FROM Friend f WHERE upper(f.status) = :status")
+    List<FriendGraph.Edge> findEdgesByStatus(@Param("status") String status);
+
+    @Query("SELECT count(f) > 0 FROM Friend f WHERE upper(f.status) = :status " +
+            "AND ((f.user.id = :userId AND f.userFriend.id = :friendId) " +
+            "OR (f.user.id = :friendId AND f.userFriend.id = :userId))")
+    boolean existsEitherWayByStatus(@Param("userId") Long userId,
+                                    @Param("friendId") Long friendId,
+                                    @Param("status") String status);
+}
@@ -2,8 +2,18 @@ package com.pentalign.backend.repository;
 
 import com.pentalign.backend.entities.GameMove;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface GameMoveRepository extends JpaRepository<GameMove, Long> {
+    List<GameMove> findByGameIdOrderByMoveOrderAsc(Long gameId);
+
+    @Modifying
+    @Query("DELETE FROM GameMove m WHERE m.game.id = :gameId")
+    void deleteByGameId(@Param("gameId") Long gameId);
 }
@@ -1,9 +1,65 @@
 package com.pentalign.backend.repository;
 
+import com.pentalign.backend.book.BookGame;
 import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.enums.InvitationStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
+    List<Game> findByStatusAndMoveLogIsNullAndIdGreaterThanOrderByIdAsc(GameStatus status, Long afterId, Pageable pageable);
+
+    List<Game> findByStatusAndAiLevelIsNotNull(GameStatus status);
+
+    @Modifying
+    @Query("UPDATE Game g SET g.status = :to, g.startedAt = :now WHERE g.id = :id AND g.status = :from")
+    int start(@Param("id") Long id,
+              @Param("from") GameStatus from,
+              @Param("to") GameStatus to,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * Stores the move log of a game that has none yet, leaving every other column as it is.
+     *
+     * @return 1 if the log was stored, 0 if the game was already archived
+     */
+    @Modifying
+    @Query("UPDATE Game g SET g.moveLog = :moveLog WHERE g.id = :id AND g.moveLog IS NULL")
+    int storeMoveLog(@Param("id") Long id, @Param("moveLog") byte[] moveLog);
+
+    /**
+     * Moves the games of those invitations that are in {@code invitationStatus} from {@code from} to {@code to}.
+     *
+     * @return number of games moved
+     */
+    @Modifying
+    @Query("UPDATE Game g SET g.status = :to, g.endedAt = :now WHERE g.status = :from AND g.id IN " +
+            "(SELECT i.game.id FROM Invitation i WHERE i.id IN :invitationIds AND i.status = :invitationStatus)")
+    int closeInvitedGames(@Param("invitationIds") Collection<Long> invitationIds,
+                          @Param("invitationStatus") InvitationStatus invitationStatus,
+                          @Param("from") GameStatus from,
+                          @Param("to") GameStatus to,
+                          @Param("now") LocalDateTime now);
+
+    /** Archived games between two users, fetched in chunks; must be consumed and closed inside a transaction. */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "2000"))
+    @Query("SELECT new com.pentalign.backend.book.BookGame(g.moveLog, g.player1.id, w.id) " +
+            "FROM Game g LEFT JOIN g.winner w " +
+            "WHERE g.status = :status AND g.moveLog IS NOT NULL AND g.aiLevel IS NULL")
+    Stream<BookGame> streamArchivedGames(@Param("status") GameStatus status);
 }
@@ -1,9 +1,76 @@
 package com.pentalign.backend.repository;
 
+import com.pentalign.backend.dto.InvitationView;
 import com.pentalign.backend.entities.Invitation;
+import com.pentalign.backend.enums.InvitationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface InvitationRepository extends JpaRepository<Invitation, Long> {
+
+    String VIEW = "SELECT new com.pentalign.backend.dto.InvitationView(i.id, s.id, s.username, i.receiver.id, " +
+            "i.game.id, i.status, i.sentAt, i.expiresAt) FROM Invitation i JOIN i.sender s ";
+
+    @Query(VIEW + "WHERE i.receiver.id = :receiverId AND i.status = :status AND i.expiresAt > :now " +
+            "ORDER BY i.expiresAt")
+    List<InvitationView> findActiveByReceiver(@Param("receiverId") Long receiverId,
+                                              @Param("status") InvitationStatus status,
+                                              @Param("now") LocalDateTime now);
+
+    @Query(VIEW + "WHERE i.status = :status")
+    List<InvitationView> findViewsByStatus(@Param("status") InvitationStatus status);
+
+    @Query("SELECT i.game.id FROM Invitation i WHERE i.id = :id")
+    Optional<Long> findGameIdById(@Param("id") Long id);
+
+    /**
+     * Moves one invitation out of {@code from}, only if it is addressed to {@code receiverId}
+     * and still in {@code from}.
+     *
+     * @return 1 if the transition happened, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE Invitation i SET i.status = :to " +
+            "WHERE i.id = :id AND i.receiver.id = :receiverId AND i.status = :from AND i.expiresAt > :now")
+    int transition(@Param("id") Long id,
+                   @Param("receiverId") Long receiverId,
+                   @Param("from") InvitationStatus from,
+                   @Param("to") InvitationStatus to,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Invitation i SET i.status = :to WHERE i.id IN :ids AND i.status = :from")
+    int transitionAll(@Param("ids") Collection<Long> ids,
+                      @Param("from") InvitationStatus from,
+                      @Param("to") InvitationStatus to);
+
+    /**
+     * Rewrites statuses stored as free-form text before the column was typed: known values are upper-cased
+     * and trimmed, anything else becomes {@code fallback}.
+     *
+     * @param known    the names of every status
+     * @param fallback the status for values that match none of them
+     * @return the number of rows rewritten
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE invitations SET status = CASE
+                WHEN upper(trim(status)) IN (:known) THEN upper(trim(status))
+                ELSE :fallback END
+            WHERE status IS NULL OR status NOT IN (:known)
+            """, nativeQuery = true)
+    int normalizeStatuses(@Param("known") Collection<String> known, @Param("fallback") String fallback);
+
+    @Modifying
+    @Query("UPDATE Invitation i SET i.expiresAt = :expiresAt WHERE i.status = :status AND i.expiresAt IS NULL")
+    int backfillExpiry(@Param("status") InvitationStatus status, @Param("expiresAt") LocalDateTime expiresAt);
 }
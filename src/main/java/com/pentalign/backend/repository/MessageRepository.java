@@ -1,10 +1,43 @@
 package com.pentalign.backend.repository;
 
+import com.pentalign.backend.dto.ChatMessage;
 import com.pentalign.backend.entities.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
-}
 
+    @Query("SELECT new com.pentalign.backend.dto.ChatMessage(m.id, m.sender.id, m.receiver.id, m.content, m.sentAt) " +
+            "FROM Message m " +
+            "WHERE m.participantLow = :low AND m.participantHigh = :high " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<ChatMessage> findLatestInConversation(@Param("low") Long low,
+                                               @Param("high") Long high,
+                                               Pageable pageable);
+
+    // row-value comparison so PostgreSQL can start the index scan right at the cursor
+    @Query("SELECT new com.pentalign.backend.dto.ChatMessage(m.id, m.sender.id, m.receiver.id, m.content, m.sentAt) " +
+            "FROM Message m " +
+            "WHERE m.participantLow = :low AND m.participantHigh = :high " +
+            "AND (m.sentAt, m.id) < (:sentAt, :id) " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<ChatMessage> findInConversationBefore(@Param("low") Long low,
+                                               @Param("high") Long high,
+                                               @Param("sentAt") LocalDateTime sentAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Message m SET m.participantLow = least(m.sender.id, m.receiver.id), " +
+            "m.participantHigh = greatest(m.sender.id, m.receiver.id) " +
+            "WHERE m.participantLow IS NULL")
+    int backfillParticipants();
+}
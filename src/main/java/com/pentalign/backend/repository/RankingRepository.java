@@ -1,9 +1,30 @@
 package com.pentalign.backend.repository;
 
+import com.pentalign.backend.dto.LeaderboardEntry;
 import com.pentalign.backend.entities.Ranking;
+import com.pentalign.backend.rating.PlayerRating;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface RankingRepository extends JpaRepository<Ranking, Long> {
-}
\ No newline at end of file
+    Optional<Ranking> findByUserId(Long userId);
+
+    @Query("SELECT new com.pentalign.backend.dto.LeaderboardEntry(0, u.id, u.username, r.points) " +
+            "FROM Ranking r JOIN r.user u")
+    List<LeaderboardEntry> findAllScores();
+
+    @Query("SELECT new com.pentalign.backend.dto.LeaderboardEntry(0, u.id, u.username, r.points) " +
+            "FROM Ranking r JOIN r.user u WHERE u.id IN :userIds")
+    List<LeaderboardEntry> findScoresByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT new com.pentalign.backend.rating.PlayerRating(u.id, r.rating, r.ratingDeviation, r.volatility) " +
+            "FROM Ranking r JOIN r.user u")
+    List<PlayerRating> findAllRatings();
+}
@@ -1,19 +1,59 @@
 package com.pentalign.backend.repository;
 
 import com.pentalign.backend.entities.RefreshToken;
+import com.pentalign.backend.service.RefreshTokenService;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
 public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
-    Optional<RefreshToken> findByToken(String token);
+
+    @Query("SELECT new com.pentalign.backend.service.RefreshTokenService$TokenOwner(u.id, u.username, rt.expiryDate) " +
+            "FROM RefreshToken rt JOIN rt.user u WHERE rt.tokenHash = :tokenHash")
+    Optional<RefreshTokenService.TokenOwner> findOwnerByTokenHash(@Param("tokenHash") String tokenHash);
+
+    /**
+     * Replaces a token by its successor, only if it is still the current, unexpired one.
+     *
+     * @return 1 if the token was rotated, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.tokenHash = :newHash, rt.expiryDate = :expiryDate " +
+            "WHERE rt.tokenHash = :oldHash AND rt.expiryDate > :now")
+    int rotate(@Param("oldHash") String oldHash,
+               @Param("newHash") String newHash,
+               @Param("expiryDate") Instant expiryDate,
+               @Param("now") Instant now);
+
+    /**
+     * @return 1 if the token was still the stored one and is now deleted, 0 otherwise
+     */
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
 
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :userId")
     void deleteByUser(@Param("userId") Long userId);
+
+    /**
+     * Deletes up to {@code limit} tokens that expired before {@code now}, oldest first.
+     * Rows locked by a concurrent login or refresh are skipped and left for a later chunk.
+     *
+     * @return the number of rows deleted
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM refresh_tokens WHERE id IN (
+                SELECT id FROM refresh_tokens WHERE expiry_date < :now
+                ORDER BY expiry_date LIMIT :limit
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
 }
@@ -1,10 +1,17 @@
 package com.pentalign.backend.repository;
 
 import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.Role;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -13,4 +20,11 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    Optional<User> findFirstByRoleOrderByIdAsc(Role role);
+
+    /** Every username, fetched in chunks; must be consumed and closed inside a transaction. */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "10000"))
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamAllUsernames();
 }
@@ -0,0 +1,21 @@
+package com.pentalign.backend.repository;
+
+import com.pentalign.backend.entities.UserTokenRevocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface UserTokenRevocationRepository extends JpaRepository<UserTokenRevocation, Long> {
+
+    List<UserTokenRevocation> findByRevokedBeforeAfter(Instant since);
+
+    @Modifying
+    @Query("DELETE FROM UserTokenRevocation r WHERE r.revokedBefore <= :before")
+    int deleteRevokedUntil(@Param("before") Instant before);
+}
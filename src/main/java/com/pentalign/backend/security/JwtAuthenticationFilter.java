@@ -1,6 +1,10 @@
 package com.pentalign.backend.security;
 
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.service.AccessTokenRevocationService;
 import com.pentalign.backend.service.CustomUserDetailsService;
+import com.pentalign.backend.service.PresenceService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,7 +24,9 @@ import java.io.IOException;
 
 /**
  * Filter that authenticates requests based on a JWT token found in the request header.
- * Extracts the username from the token, validates it, and sets the authentication in the security context.
+ * Verifies the token once, rejects it if it was revoked, validates its claims, and sets the authentication
+ * in the security context.
+ * Every authenticated request also counts as activity for the {@link PresenceService}.
  */
 @Component
 @RequiredArgsConstructor
@@ -29,6 +35,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final CustomUserDetailsService userDetailsService;
+    private final UserTokenRevocations revocations;
+    private final AccessTokenRevocationService accessTokenRevocations;
+    private final PresenceService presenceService;
 
     /**
      * Filters incoming HTTP requests to authenticate users based on JWT tokens.
@@ -47,12 +56,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         final String token = request.getHeader("penta-auth-token");
         
         try {
-            final String username = jwtService.extractUsername(token);
+            final Claims claims = jwtService.verify(token);
+            final String username = claims.getSubject();
 
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (username != null && !accessTokenRevocations.isRevoked(claims.getId())
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = resolveUser(claims, username);
 
-                if (jwtService.isTokenValid(token, userDetails)) {
+                if (userDetails != null && jwtService.areClaimsValid(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities()
                     );
@@ -62,6 +73,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                     );
 
                     SecurityContextHolder.getContext().setAuthentication(authToken);
+                    if (userDetails instanceof User user) {
+                        presenceService.touch(user.getId());
+                    }
                 }
             }
         } catch (Exception e) {
@@ -71,5 +85,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Resolves the user a token belongs to. In stateless mode the user is built from the claims,
+     * otherwise it is loaded through the user details service; either way it is checked against the
+     * revocation cutoffs.
+     *
+     * @param claims   the verified claims
+     * @param username the token subject
+     * @return the user details, or null if the token must be rejected
+     */
+    private UserDetails resolveUser(Claims claims, String username) {
+        UserDetails userDetails = jwtService.isStateless()
+                ? jwtService.toPrincipal(claims)
+                : userDetailsService.loadUserByUsername(username);
+        if (userDetails instanceof User user && revocations.isRevoked(user.getId(), claims.getIssuedAt())) {
+            return null;
+        }
+        return userDetails;
+    }
 }
 
@@ -1,53 +1,98 @@
 package com.pentalign.backend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.pentalign.backend.config.JwtConfig;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.Role;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 /**
  * Service for handling JWT token generation, validation, and extraction of claims.
+ * A token is verified once; its claims are then kept in a bounded cache, keyed by the SHA-256
+ * digest of the token, until the token expires.
  */
 @Service
-@RequiredArgsConstructor
 public class JwtService {
 
+    public static final String USER_ID_CLAIM = "uid";
+    public static final String ROLE_CLAIM = "role";
+
     private final JwtConfig jwtConfig;
+    private final Cache<ByteBuffer, Claims> verifiedTokens;
+
+    private volatile SigningContext signingContext;
+
+    public JwtService(JwtConfig jwtConfig) {
+        this.jwtConfig = jwtConfig;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(Math.max(jwtConfig.getVerifiedCacheSize(), 0))
+                .expireAfter(new ExpireAtTokenExpiration())
+                .build();
+    }
+
+    /**
+     * Signing key and parser built from one value of the secret.
+     */
+    private record SigningContext(String secret, SecretKey key, JwtParser parser) {
+    }
 
     /**
-     * Generates the signing key for JWT using the secret from configuration.
+     * Returns the signing key and parser, rebuilding them only if the configured secret changed.
      *
-     * @return the signing {@link SecretKey}
+     * @return the current {@link SigningContext}
      */
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = jwtConfig.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private SigningContext signingContext() {
+        String secret = jwtConfig.getSecret();
+        SigningContext context = signingContext;
+        if (context == null || !context.secret().equals(secret)) {
+            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            context = new SigningContext(secret, key, Jwts.parser().verifyWith(key).build());
+            signingContext = context;
+            verifiedTokens.invalidateAll();
+        }
+        return context;
     }
 
     /**
-     * Extracts all claims from the provided JWT token.
+     * Verifies the signature of the provided JWT token and returns its claims.
+     * Tokens verified earlier are served from the cache without another signature check.
      *
      * @param token the JWT token
      * @return the {@link Claims} object
+     * @throws IllegalArgumentException if the token is null or blank
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, has a bad signature or is expired
      */
-    private Claims extractAllClaims(String token) {
+    public Claims verify(String token) {
         if (token == null || token.trim().isEmpty()) {
             throw new IllegalArgumentException("JWT token cannot be null or empty");
         }
 
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        SigningContext context = signingContext();
+        ByteBuffer digest = digest(token);
+        Claims claims = verifiedTokens.getIfPresent(digest);
+        if (claims == null) {
+            claims = context.parser().parseSignedClaims(token).getPayload();
+            verifiedTokens.put(digest, claims);
+        }
+        return claims;
     }
 
     /**
@@ -59,7 +104,7 @@ public class JwtService {
      * @return the extracted claim
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = verify(token);
         return claimsResolver.apply(claims);
     }
 
@@ -84,7 +129,8 @@ public class JwtService {
     }
 
     /**
-     * Generates a JWT token for the given user details.
+     * Generates a JWT token for the given user details. Every token gets a random {@code jti},
+     * so it can be revoked on its own.
      *
      * @param userDetails the user details
      * @return the generated JWT token
@@ -96,14 +142,46 @@ public class JwtService {
 
         long currentTimeMillis = System.currentTimeMillis();
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(currentTimeMillis))
-                .expiration(new Date(currentTimeMillis + jwtConfig.getExpirationMs()))
-                .signWith(getSignInKey())
+                .expiration(new Date(currentTimeMillis + jwtConfig.getExpirationMs()));
+        if (userDetails instanceof User user && user.getId() != null) {
+            builder.claim(USER_ID_CLAIM, user.getId());
+            builder.claim(ROLE_CLAIM, (user.getRole() != null ? user.getRole() : Role.USER).name());
+        }
+        return builder
+                .signWith(signingContext().key())
                 .compact();
     }
 
+    /**
+     * @return true if requests are authenticated from token claims alone, see {@link JwtConfig#isStateless()}
+     */
+    public boolean isStateless() {
+        return jwtConfig.isStateless();
+    }
+
+    /**
+     * Builds a detached {@link User} carrying only the id, username and role found in verified claims.
+     *
+     * @param claims the claims returned by {@link #verify(String)}
+     * @return the user, or null if the token was issued without identity claims
+     */
+    public User toPrincipal(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        if (userId == null || role == null || claims.getSubject() == null) {
+            return null;
+        }
+        return User.builder()
+                .id(userId)
+                .username(claims.getSubject())
+                .role(Role.valueOf(role))
+                .build();
+    }
+
     /**
      * Checks if the JWT token is expired.
      *
@@ -111,7 +189,12 @@ public class JwtService {
      * @return true if expired, false otherwise
      */
     protected boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return isExpired(verify(token));
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.before(new Date());
     }
 
     /**
@@ -127,12 +210,58 @@ public class JwtService {
         }
 
         try {
-            final String username = extractUsername(token);
-            return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+            return areClaimsValid(verify(token), userDetails);
         } catch (Exception e) {
             // Any JWT parsing exception means token is invalid
             return false;
         }
     }
-}
 
+    /**
+     * Validates already verified claims against the user details.
+     *
+     * @param claims      the claims returned by {@link #verify(String)}
+     * @param userDetails the user details
+     * @return true if the claims belong to the user and have not expired, false otherwise
+     */
+    public boolean areClaimsValid(Claims claims, UserDetails userDetails) {
+        if (claims == null || userDetails == null || userDetails.getUsername() == null) {
+            return false;
+        }
+        return userDetails.getUsername().equals(claims.getSubject()) && !isExpired(claims);
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Keeps a verified token in the cache until its own {@code exp} claim.
+     */
+    private static final class ExpireAtTokenExpiration implements Expiry<ByteBuffer, Claims> {
+        @Override
+        public long expireAfterCreate(ByteBuffer key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
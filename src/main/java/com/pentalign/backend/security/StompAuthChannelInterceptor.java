@@ -0,0 +1,72 @@
+package com.pentalign.backend.security;
+
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.service.AccessTokenRevocationService;
+import com.pentalign.backend.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authenticates STOMP sessions with the same "penta-auth-token" JWT used by {@link JwtAuthenticationFilter}.
+ * The token is checked once on CONNECT; the resulting principal is attached to the session
+ * and reused for every following frame.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    public static final String TOKEN_HEADER = "penta-auth-token";
+
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final AccessTokenRevocationService accessTokenRevocations;
+    private final UserTokenRevocations revocations;
+
+    /**
+     * Authenticates CONNECT frames and rejects them if the token is missing or invalid.
+     *
+     * @param message the inbound message
+     * @param channel the inbound channel
+     * @return the message, unchanged
+     * @throws BadCredentialsException if a CONNECT frame does not carry a valid token
+     */
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String token = accessor.getFirstNativeHeader(TOKEN_HEADER);
+        try {
+            Claims claims = jwtService.verify(token);
+            if (accessTokenRevocations.isRevoked(claims.getId())) {
+                throw new BadCredentialsException("Token revoked");
+            }
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            if (userDetails instanceof User user && revocations.isRevoked(user.getId(), claims.getIssuedAt())) {
+                throw new BadCredentialsException("Token revoked");
+            }
+            if (!jwtService.areClaimsValid(claims, userDetails)) {
+                throw new BadCredentialsException("Invalid token");
+            }
+            accessor.setUser(new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities()
+            ));
+        } catch (Exception e) {
+            throw new BadCredentialsException("WebSocket authentication failed", e);
+        }
+        return message;
+    }
+}
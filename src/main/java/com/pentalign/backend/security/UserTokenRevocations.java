@@ -0,0 +1,99 @@
+package com.pentalign.backend.security;
+
+import com.pentalign.backend.config.JwtConfig;
+import com.pentalign.backend.repository.UserTokenRevocationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-user revocation cutoff: access tokens of a user issued at or before the cutoff are rejected.
+ * Cutoffs are checked in memory and written to a small table that is reloaded on startup.
+ * An entry is only needed until every token issued before it has expired on its own,
+ * so both stay as small as the number of users revoked within one token lifetime.
+ */
+@Component
+@Slf4j
+public class UserTokenRevocations {
+
+    private static final String UPSERT = """
+            INSERT INTO user_token_revocations (user_id, revoked_before) VALUES (?, ?)
+            ON CONFLICT (user_id) DO UPDATE
+            SET revoked_before = GREATEST(user_token_revocations.revoked_before, EXCLUDED.revoked_before)
+            """;
+
+    private final JwtConfig jwtConfig;
+    private final UserTokenRevocationRepository userTokenRevocationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /** User ID to cutoff, in epoch milliseconds truncated to the second. */
+    private final ConcurrentMap<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+
+    public UserTokenRevocations(JwtConfig jwtConfig,
+                                UserTokenRevocationRepository userTokenRevocationRepository,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager) {
+        this.jwtConfig = jwtConfig;
+        this.userTokenRevocationRepository = userTokenRevocationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Loads the cutoffs that still cover unexpired tokens.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Instant since = Instant.now().minusMillis(jwtConfig.getExpirationMs());
+        userTokenRevocationRepository.findByRevokedBeforeAfter(since)
+                .forEach(r -> revokedBefore.merge(r.getUserId(), r.getRevokedBefore().toEpochMilli(), Math::max));
+        log.info("Loaded {} user token revocations", revokedBefore.size());
+    }
+
+    /**
+     * Revokes every access token issued to the user so far.
+     *
+     * @param userId the user ID
+     */
+    public void revokeAll(Long userId) {
+        // "iat" has second precision, so the cutoff does too
+        long cutoff = System.currentTimeMillis() / 1000 * 1000;
+        revokedBefore.merge(userId, cutoff, Math::max);
+        jdbcTemplate.update(UPSERT, userId, new Timestamp(cutoff));
+    }
+
+    /**
+     * Checks whether a token was issued at or before the user's revocation cutoff.
+     *
+     * @param userId   the user ID
+     * @param issuedAt the token's "iat" claim
+     * @return true if the token must be rejected
+     */
+    public boolean isRevoked(Long userId, Date issuedAt) {
+        Long cutoff = revokedBefore.get(userId);
+        return cutoff != null && (issuedAt == null || issuedAt.getTime() <= cutoff);
+    }
+
+    /**
+     * Drops cutoffs older than the token lifetime, since every token they cover has expired.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public void purge() {
+        long until = System.currentTimeMillis() - jwtConfig.getExpirationMs();
+        revokedBefore.values().removeIf(cutoff -> cutoff <= until);
+        transactionTemplate.executeWithoutResult(status ->
+                userTokenRevocationRepository.deleteRevokedUntil(Instant.ofEpochMilli(until)));
+    }
+}
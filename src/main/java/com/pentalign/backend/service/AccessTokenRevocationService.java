@@ -0,0 +1,97 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.repository.RevokedAccessTokenRepository;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Service that revokes single access tokens by their {@code jti} claim, e.g. on logout.
+ * Revoked ids are held in memory, so the per-request check is one hash lookup on a string the
+ * cached claims already hold, with no allocation. They are also written to a small table that is
+ * reloaded on startup. An entry is dropped from both once its token would have expired anyway.
+ */
+@Service
+@Slf4j
+public class AccessTokenRevocationService {
+
+    private static final String INSERT = """
+            INSERT INTO revoked_access_tokens (jti, expires_at) VALUES (?, ?)
+            ON CONFLICT (jti) DO NOTHING
+            """;
+
+    private final RevokedAccessTokenRepository revokedAccessTokenRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    /** jti to expiry, in epoch milliseconds. */
+    private final ConcurrentMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public AccessTokenRevocationService(RevokedAccessTokenRepository revokedAccessTokenRepository,
+                                        JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager) {
+        this.revokedAccessTokenRepository = revokedAccessTokenRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Loads the revocations that are still relevant.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        revokedAccessTokenRepository.findByExpiresAtAfter(Instant.now())
+                .forEach(r -> revoked.put(r.getJti(), r.getExpiresAt().toEpochMilli()));
+        log.info("Loaded {} revoked access tokens", revoked.size());
+    }
+
+    /**
+     * Revokes the token the claims were read from. Tokens without {@code jti} or {@code exp} are ignored.
+     *
+     * @param claims the verified claims
+     */
+    public void revoke(Claims claims) {
+        String jti = claims.getId();
+        Date expiration = claims.getExpiration();
+        if (jti == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        jdbcTemplate.update(INSERT, jti, new Timestamp(expiration.getTime()));
+        revoked.put(jti, expiration.getTime());
+    }
+
+    /**
+     * @param jti the token's {@code jti} claim, may be null
+     * @return true if the token was revoked
+     */
+    public boolean isRevoked(String jti) {
+        return jti != null && revoked.containsKey(jti);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Drops revocations of tokens that have expired since.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:60000}")
+    public void purge() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiry -> expiry <= now);
+        transactionTemplate.executeWithoutResult(status ->
+                revokedAccessTokenRepository.deleteExpired(Instant.ofEpochMilli(now)));
+    }
+}
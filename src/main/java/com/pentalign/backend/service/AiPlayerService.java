@@ -0,0 +1,212 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.ai.AiMove;
+import com.pentalign.backend.ai.GomokuAi;
+import com.pentalign.backend.ai.Position;
+import com.pentalign.backend.book.OpeningBook;
+import com.pentalign.backend.engine.Bitboard;
+import com.pentalign.backend.engine.GameBoard;
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.AiLevel;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.enums.Role;
+import com.pentalign.backend.repository.GameRepository;
+import com.pentalign.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service for games against the built-in {@link GomokuAi}.
+ * The AI plays as a dedicated {@link Role#BOT} user that cannot log in, always as {@code player2} (O), so a human
+ * can start a game at any time instead of waiting for an opponent. Its moves are chosen off the game lanes,
+ * within the level's time budget capped by {@code ai.max-think-ms}, and then submitted like any other move.
+ * While the position is in the {@link OpeningBookService opening book}, the AI plays the book's best move without searching.
+ * Games against the AI are not rated. Its username is reserved, so no one can register it.
+ * If the search fails, the AI plays a random empty cell instead, so a game never waits on it forever.
+ */
+@Service
+@Slf4j
+public class AiPlayerService {
+
+    public static final String BOT_USERNAME = "pentalign-ai";
+    private static final String BOT_EMAIL = "ai@pentalign.invalid";
+    /** Not a BCrypt hash, so no password matches it. */
+    private static final String NO_PASSWORD = "!";
+
+    private final UserRepository userRepository;
+    private final GameRepository gameRepository;
+    private final OpeningBookService openingBookService;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool searchPool;
+    private final ExecutorService thinkers;
+    private final GomokuAi ai;
+    private final long maxThinkMs;
+
+    private volatile User bot;
+
+    public AiPlayerService(UserRepository userRepository,
+                           GameRepository gameRepository,
+                           OpeningBookService openingBookService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${ai.threads:0}") int threads,
+                           @Value("${ai.concurrent-searches:2}") int concurrentSearches,
+                           @Value("${ai.transposition-table-entries:1048576}") int tableEntries,
+                           @Value("${ai.max-think-ms:2000}") long maxThinkMs) {
+        this.userRepository = userRepository;
+        this.gameRepository = gameRepository;
+        this.openingBookService = openingBookService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.searchPool = new ForkJoinPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+        AtomicInteger counter = new AtomicInteger();
+        this.thinkers = Executors.newFixedThreadPool(concurrentSearches, r -> {
+            Thread t = new Thread(r, "ai-search-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.ai = new GomokuAi(searchPool, tableEntries);
+        this.maxThinkMs = maxThinkMs;
+    }
+
+    /**
+     * @param username a wanted username
+     * @return true if the username belongs to the AI and cannot be registered
+     */
+    public static boolean isReserved(String username) {
+        return BOT_USERNAME.equalsIgnoreCase(username);
+    }
+
+    /**
+     * Creates the AI's user on first start and loads it. Runs before anything that resumes games against it.
+     *
+     * @throws IllegalStateException if a user registered the AI's name before it was reserved
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void loadBot() {
+        bot = transactionTemplate.execute(status -> userRepository.findFirstByRoleOrderByIdAsc(Role.BOT)
+                .orElseGet(() -> userRepository.save(userRepository.findByUsername(BOT_USERNAME)
+                        .map(AiPlayerService::promoteBot)
+                        .orElseGet(() -> User.builder()
+                                .username(BOT_USERNAME)
+                                .email(BOT_EMAIL)
+                                .password(NO_PASSWORD)
+                                .role(Role.BOT)
+                                .build()))));
+        log.info("AI player ready as user {}, transposition table {} MB, {} search threads",
+                bot.getId(), ai.tableSizeBytes() / (1024 * 1024), searchPool.getParallelism());
+    }
+
+    /** A user created for the AI before it had its own role; no login matches its password, a real account's does. */
+    private static User promoteBot(User user) {
+        if (!NO_PASSWORD.equals(user.getPassword())) {
+            throw new IllegalStateException("User " + BOT_USERNAME
+                    + " is a registered account, rename it so the AI can use the name");
+        }
+        user.setRole(Role.BOT);
+        return user;
+    }
+
+    public User bot() {
+        return bot;
+    }
+
+    public boolean isBot(User user) {
+        return bot != null && user != null && Objects.equals(bot.getId(), user.getId());
+    }
+
+    /**
+     * Starts a game between a user, who plays X and moves first, and the AI.
+     *
+     * @param human the user
+     * @param level the AI's strength
+     * @return the started game
+     */
+    public Game startGame(User human, AiLevel level) {
+        return transactionTemplate.execute(status -> gameRepository.save(Game.builder()
+                .player1(userRepository.getReferenceById(human.getId()))
+                .player2(userRepository.getReferenceById(bot.getId()))
+                .status(GameStatus.IN_PROGRESS)
+                .startedAt(LocalDateTime.now())
+                .aiLevel(level)
+                .build()));
+    }
+
+    /**
+     * Chooses the AI's reply, from the opening book or on a search thread. The board is copied before returning,
+     * so it may change as soon as this method returns.
+     *
+     * @param board the game's board, with the AI to move
+     * @param level the AI's strength
+     * @return the chosen move
+     */
+    public CompletableFuture<AiMove> think(GameBoard board, AiLevel level) {
+        long started = System.nanoTime();
+        Position position;
+        Optional<OpeningBook.Move> bookMove;
+        synchronized (board) {
+            bookMove = openingBookService.bestMove(board);
+            position = bookMove.isEmpty() ? Position.of(board) : null;
+        }
+        if (bookMove.isPresent()) {
+            return CompletableFuture.completedFuture(
+                    new AiMove(bookMove.get().cell(), 0, 0, 0, System.nanoTime() - started));
+        }
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(Math.min(level.getThinkMs(), maxThinkMs));
+        return CompletableFuture.supplyAsync(() -> {
+            AiMove move = ai.chooseMove(position, level, budgetNanos);
+            log.debug("AI {} chose ({}, {}) at depth {}: {} nodes in {} ms, {} nodes/s",
+                    level, move.row(), move.col(), move.depth(), move.nodes(),
+                    TimeUnit.NANOSECONDS.toMillis(move.elapsedNanos()), move.nodesPerSecond());
+            return move;
+        }, thinkers);
+    }
+
+    /**
+     * Picks a random empty cell, for when the search fails and the game must go on.
+     *
+     * @param board the game's board, with the AI to move
+     * @return the move
+     * @throws IllegalStateException if the board is full
+     */
+    public AiMove randomMove(GameBoard board) {
+        synchronized (board) {
+            int free = Bitboard.CELLS - board.getMoveCount();
+            if (free <= 0) {
+                throw new IllegalStateException("No empty cell left");
+            }
+            int skip = ThreadLocalRandom.current().nextInt(free);
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                if (!board.isOccupied(cell / Bitboard.SIZE, cell % Bitboard.SIZE) && skip-- == 0) {
+                    return new AiMove(cell, 0, 0, 0, 0);
+                }
+            }
+            throw new IllegalStateException("No empty cell left");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thinkers.shutdownNow();
+        searchPool.shutdownNow();
+    }
+}
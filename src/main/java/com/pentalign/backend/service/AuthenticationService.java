@@ -9,6 +9,7 @@ import com.pentalign.backend.exception.UsernameAlreadyExistsException;
 import com.pentalign.backend.repository.UserRepository;
 import com.pentalign.backend.security.JwtService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -29,23 +30,22 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final AuthenticationManager authManager;
     private final RefreshTokenService refreshTokenService;
+    private final UsernameAvailabilityService usernameAvailabilityService;
 
     /**
      * Registers a new user and returns authentication tokens.
+     * The user is inserted right away; a taken username or email is detected by the unique constraints,
+     * so two concurrent signups for the same name cannot both succeed.
      *
      * @param request the registration request data
      * @return authentication response with access and refresh tokens
+     * @throws UsernameAlreadyExistsException if the username is taken or reserved
+     * @throws EmailAlreadyExistsException    if the email is already registered
      */
     public AuthResponse register(RegisterRequest request) {
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new UsernameAlreadyExistsException(
-                    "Username '" + request.getUsername() + "' is already taken");
+        if (AiPlayerService.isReserved(request.getUsername())) {
+            throw new UsernameAlreadyExistsException("Username '" + request.getUsername() + "' is already taken");
         }
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new EmailAlreadyExistsException(
-                    "Email '" + request.getEmail() + "' is already registered");
-        }
-
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
@@ -53,9 +53,15 @@ public class AuthenticationService {
                 .registeredAt(LocalDateTime.now())
                 .build();
 
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateOf(request, e);
+        }
+        usernameAvailabilityService.add(user.getUsername());
+
         String accessToken = jwtService.generateToken(user);
-        String refreshToken = refreshTokenService.createRefreshToken(user.getId()).getToken();
+        String refreshToken = refreshTokenService.issue(user);
         return AuthResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
@@ -77,11 +83,26 @@ public class AuthenticationService {
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         String accessToken = jwtService.generateToken(user);
-        String refreshToken = refreshTokenService.createRefreshToken(user.getId()).getToken();
+        String refreshToken = refreshTokenService.issue(user);
 
         return AuthResponse.builder()
                 .accessToken(accessToken)
                 .refreshToken(refreshToken)
                 .build();
     }
+
+    /**
+     * Maps a unique-constraint violation on insert to the matching conflict. PostgreSQL names the column
+     * in the detail, e.g. "Key (username)=(bob) already exists.", whatever the constraint is called.
+     */
+    private static RuntimeException duplicateOf(RegisterRequest request, DataIntegrityViolationException e) {
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+        if (detail.contains("(username)")) {
+            return new UsernameAlreadyExistsException("Username '" + request.getUsername() + "' is already taken");
+        }
+        if (detail.contains("(email)")) {
+            return new EmailAlreadyExistsException("Email '" + request.getEmail() + "' is already registered");
+        }
+        return e;
+    }
 }
@@ -0,0 +1,131 @@
+package com.pentalign.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pentalign.backend.chat.ChatOutbox;
+import com.pentalign.backend.dto.ChatMessage;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service that pushes new chat messages to the open STOMP sessions of both participants
+ * on "/user/queue/chat". A message is serialized to JSON once and the same bytes are sent as the payload
+ * to every session of both users, bypassing the message converters. Delivery goes through a bounded {@link ChatOutbox} per user;
+ * a client that falls behind receives a count of skipped messages on "/user/queue/chat-gaps"
+ * and can refetch them with the conversation endpoint.
+ */
+@Service
+public class ChatDeliveryService implements ChatOutbox.Sink {
+
+    public static final String CHAT_QUEUE = "/queue/chat";
+    public static final String GAPS_QUEUE = "/queue/chat-gaps";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SimpUserRegistry userRegistry;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService workers;
+    private final ChatOutbox outbox;
+
+    public ChatDeliveryService(SimpMessagingTemplate messagingTemplate,
+                               SimpUserRegistry userRegistry,
+                               ObjectMapper objectMapper,
+                               @Value("${chat.outbox.capacity:256}") int capacity,
+                               @Value("${chat.outbox.batch-size:32}") int batchSize,
+                               @Value("${chat.outbox.threads:0}") int threads) {
+        this.messagingTemplate = messagingTemplate;
+        this.userRegistry = userRegistry;
+        this.objectMapper = objectMapper;
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "chat-delivery-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.outbox = new ChatOutbox(capacity, batchSize, workers, this);
+    }
+
+    /**
+     * Queues a stored message for both participants. Returns without waiting for any client.
+     *
+     * @param message          the message as stored
+     * @param senderUsername   the sender, whose other sessions also get the message
+     * @param receiverUsername the receiver
+     */
+    public void deliver(ChatMessage message, String senderUsername, String receiverUsername) {
+        boolean senderOnline = userRegistry.getUser(senderUsername) != null;
+        boolean receiverOnline = userRegistry.getUser(receiverUsername) != null;
+        if (!senderOnline && !receiverOnline) {
+            return;
+        }
+        byte[] frame = serialize(message);
+        if (receiverOnline) {
+            outbox.offer(receiverUsername, frame);
+        }
+        if (senderOnline) {
+            outbox.offer(senderUsername, frame);
+        }
+    }
+
+    @Override
+    public void send(String username, byte[] frame) {
+        // convertAndSend would run the bytes through the converters, which encode a byte[] as a base64 string
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headers.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        headers.setLeaveMutable(true);
+        String destination = messagingTemplate.getUserDestinationPrefix()
+                + StringUtils.replace(username, "/", "%2F") + CHAT_QUEUE;
+        messagingTemplate.send(destination, MessageBuilder.createMessage(frame, headers.getMessageHeaders()));
+    }
+
+    @Override
+    public void gap(String username, int dropped) {
+        messagingTemplate.convertAndSendToUser(username, GAPS_QUEUE, Map.of("dropped", dropped));
+    }
+
+    /**
+     * Drops the outbound queue of a user whose last session closed.
+     *
+     * @param event the disconnect event
+     */
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Principal user = event.getUser();
+        if (user != null && userRegistry.getUser(user.getName()) == null) {
+            outbox.remove(user.getName());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+
+    private byte[] serialize(ChatMessage message) {
+        try {
+            return objectMapper.writeValueAsBytes(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize chat message " + message.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.dto.ChatMessage;
+import com.pentalign.backend.dto.ConversationPage;
+import com.pentalign.backend.entities.Message;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.exception.InvalidCursorException;
+import com.pentalign.backend.exception.UserNotFoundException;
+import com.pentalign.backend.repository.MessageRepository;
+import com.pentalign.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Service for sending and reading chat messages.
+ * New messages are stored and then pushed live by the {@link ChatDeliveryService}.
+ * Conversation pages are addressed by a keyset cursor on ({@code sent_at}, {@code id}) rather than an offset,
+ * so every page is a bounded range scan of the conversation index, however long the history is.
+ */
+@Service
+@Slf4j
+public class ChatService {
+
+    private final MessageRepository messageRepository;
+    private final UserRepository userRepository;
+    private final ChatDeliveryService chatDeliveryService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPageSize;
+
+    public ChatService(MessageRepository messageRepository,
+                       UserRepository userRepository,
+                       ChatDeliveryService chatDeliveryService,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${chat.max-page-size:100}") int maxPageSize) {
+        this.messageRepository = messageRepository;
+        this.userRepository = userRepository;
+        this.chatDeliveryService = chatDeliveryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Fills the participant pair of messages stored before it existed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillParticipants() {
+        Integer updated = transactionTemplate.execute(status -> messageRepository.backfillParticipants());
+        if (updated != null && updated > 0) {
+            log.info("Backfilled conversation keys of {} messages", updated);
+        }
+    }
+
+    /**
+     * Stores a message and pushes it to both participants once committed.
+     *
+     * @param sender     the authenticated sender
+     * @param receiverId the receiver
+     * @param content    the text
+     * @return the stored message
+     * @throws UserNotFoundException if the receiver does not exist
+     */
+    public ChatMessage send(User sender, Long receiverId, String content) {
+        User receiver = userRepository.findById(receiverId)
+                .orElseThrow(() -> new UserNotFoundException("User " + receiverId + " does not exist"));
+        Message saved = transactionTemplate.execute(status -> messageRepository.save(Message.builder()
+                .sender(userRepository.getReferenceById(sender.getId()))
+                .receiver(receiver)
+                .content(content)
+                .build()));
+
+        ChatMessage message = new ChatMessage(saved.getId(), sender.getId(), receiverId, content, saved.getSentAt());
+        chatDeliveryService.deliver(message, sender.getUsername(), receiver.getUsername());
+        return message;
+    }
+
+    /**
+     * Returns one page of the conversation between two users, newest first.
+     *
+     * @param userId  the requesting user
+     * @param otherId the other participant
+     * @param before  the cursor returned with the previous page, or null for the latest messages
+     * @param limit   page size, capped at {@code chat.max-page-size}
+     * @return the page and the cursor of the next one
+     * @throws InvalidCursorException if {@code before} is not a cursor issued by this service
+     */
+    public ConversationPage conversation(Long userId, Long otherId, String before, int limit) {
+        long low = Math.min(userId, otherId);
+        long high = Math.max(userId, otherId);
+        int size = Math.min(Math.max(limit, 1), maxPageSize);
+        // one extra row tells whether an older page exists
+        PageRequest page = PageRequest.of(0, size + 1);
+
+        List<ChatMessage> rows;
+        if (before == null || before.isBlank()) {
+            rows = messageRepository.findLatestInConversation(low, high, page);
+        } else {
+            Cursor cursor = Cursor.decode(before);
+            rows = messageRepository.findInConversationBefore(low, high, cursor.sentAt(), cursor.id(), page);
+        }
+
+        if (rows.size() <= size) {
+            return new ConversationPage(rows, null);
+        }
+        List<ChatMessage> messages = rows.subList(0, size);
+        ChatMessage last = messages.get(size - 1);
+        return new ConversationPage(messages, new Cursor(last.getSentAt(), last.getId()).encode());
+    }
+
+    /**
+     * Position after which the next page starts, sent to clients as an opaque URL-safe string.
+     */
+    record Cursor(LocalDateTime sentAt, Long id) {
+
+        String encode() {
+            String raw = sentAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int separator = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+        }
+    }
+}
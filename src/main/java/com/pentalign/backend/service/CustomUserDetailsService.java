@@ -1,7 +1,10 @@
 package com.pentalign.backend.service;
 
+import com.pentalign.backend.config.CacheConfig;
 import com.pentalign.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -10,6 +13,7 @@ import org.springframework.stereotype.Service;
 /**
  * Service for loading user-specific data for authentication.
  * Implements {@link UserDetailsService} to integrate with Spring Security.
+ * Lookups are cached per username; entries are evicted when the user row changes.
  */
 @Service
 @RequiredArgsConstructor
@@ -25,8 +29,20 @@ public class CustomUserDetailsService implements UserDetailsService {
      * @throws UsernameNotFoundException if the user is not found
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.USER_DETAILS, key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
+
+    /**
+     * Drops the cached user details of a user.
+     * Entity updates are evicted by {@code UserCacheListener}; call this after bulk queries that bypass it.
+     *
+     * @param username the username identifying the user
+     */
+    @CacheEvict(cacheNames = CacheConfig.USER_DETAILS, key = "#username")
+    public void evict(String username) {
+        // eviction is handled by the cache annotation
+    }
 }
@@ -0,0 +1,96 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.friends.FriendGraph;
+import com.pentalign.backend.repository.FriendRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service for friendship lookups, served from an in-memory {@link FriendGraph} so that
+ * "is X my friend" and friends lists never join against {@code friends} or load users.
+ * The graph is loaded once at startup and then kept current by {@link com.pentalign.backend.entities.FriendListener}.
+ * Rows are directed but the graph is not: both users may have sent a request, so an edge only goes away once
+ * neither row between the two users is accepted any more. Changes are applied one at a time, and a removal
+ * checks the committed rows, so a removal never undoes a concurrent acceptance of the other row.
+ */
+@Service
+@Slf4j
+public class FriendService {
+
+    /** Only friendships in this status are part of the graph. */
+    public static final String ACCEPTED = "ACCEPTED";
+
+    private final FriendRepository friendRepository;
+    private final FriendGraph graph = new FriendGraph();
+    private final Object updateLock = new Object();
+
+    public FriendService(FriendRepository friendRepository) {
+        this.friendRepository = friendRepository;
+    }
+
+    /**
+     * Loads every accepted friendship into the graph.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<FriendGraph.Edge> edges = friendRepository.findEdgesByStatus(ACCEPTED);
+        graph.rebuild(edges);
+        long bytes = graph.footprintBytes();
+        long edgeCount = graph.edgeCount();
+        log.info("Friend graph loaded: {} users, {} friendships, ~{} KB ({} MB per million friendships)",
+                graph.userCount(), edgeCount, bytes / 1024,
+                edgeCount == 0 ? 0 : Math.round(bytes * 1_000_000.0 / edgeCount / (1024 * 1024)));
+    }
+
+    /**
+     * Applies a saved friendship row to the graph.
+     *
+     * @param userId   the requesting side
+     * @param friendId the other side
+     * @param status   the committed status
+     */
+    public void onFriendSaved(Long userId, Long friendId, String status) {
+        if (ACCEPTED.equalsIgnoreCase(status)) {
+            synchronized (updateLock) {
+                graph.add(userId, friendId);
+            }
+        } else {
+            removeUnlessAcceptedEitherWay(userId, friendId);
+        }
+    }
+
+    /**
+     * Removes a deleted friendship row from the graph.
+     *
+     * @param userId   the requesting side
+     * @param friendId the other side
+     */
+    public void onFriendRemoved(Long userId, Long friendId) {
+        removeUnlessAcceptedEitherWay(userId, friendId);
+    }
+
+    public boolean areFriends(Long userId, Long otherId) {
+        return graph.areFriends(userId, otherId);
+    }
+
+    /**
+     * @param userId the user ID
+     * @return the ids of the user's friends, in no particular order
+     */
+    public long[] friendsOf(Long userId) {
+        return graph.friendsOf(userId);
+    }
+
+    /** Runs after the change is committed, so the query sees it and any change applied before it. */
+    private void removeUnlessAcceptedEitherWay(Long userId, Long friendId) {
+        synchronized (updateLock) {
+            if (!friendRepository.existsEitherWayByStatus(userId, friendId, ACCEPTED)) {
+                graph.remove(userId, friendId);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.dto.ReplayMove;
+import com.pentalign.backend.engine.MoveLogCodec;
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.GameMove;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.exception.GameNotFoundException;
+import com.pentalign.backend.repository.GameMoveRepository;
+import com.pentalign.backend.repository.GameRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Service that moves finished games from {@code game_moves} rows into the packed {@code games.move_log} column.
+ * The same background job migrates historical games and archives newly finished ones,
+ * one game per transaction so it never holds locks on many rows at once.
+ * Pages are read by game ID, so a game that keeps failing is passed over instead of blocking every run.
+ */
+@Service
+@Slf4j
+public class GameArchiveService {
+
+    private final GameRepository gameRepository;
+    private final GameMoveRepository gameMoveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public GameArchiveService(GameRepository gameRepository,
+                              GameMoveRepository gameMoveRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${game.archive.batch-size:200}") int batchSize) {
+        this.gameRepository = gameRepository;
+        this.gameMoveRepository = gameMoveRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Archives every finished game that still has its moves stored as rows.
+     * A game that fails is logged and skipped, so it cannot stop the others; the next run retries it.
+     */
+    @Scheduled(fixedDelayString = "${game.archive.interval-ms:60000}")
+    public void archiveFinishedGames() {
+        int archived = 0;
+        int failed = 0;
+        long afterId = 0;
+        List<Game> page;
+        do {
+            page = gameRepository.findByStatusAndMoveLogIsNullAndIdGreaterThanOrderByIdAsc(
+                    GameStatus.FINISHED, afterId, PageRequest.of(0, batchSize));
+            for (Game game : page) {
+                afterId = game.getId();
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> archive(game.getId())))) {
+                        archived++;
+                    }
+                } catch (RuntimeException e) {
+                    failed++;
+                    log.error("Could not archive game {}, skipping it until the next run", game.getId(), e);
+                }
+            }
+        } while (page.size() == batchSize);
+
+        if (archived > 0 || failed > 0) {
+            log.info("Archived {} finished games into move logs, {} failed", archived, failed);
+        }
+    }
+
+    /**
+     * Packs the moves of a finished game into its move log and deletes its {@code game_moves} rows.
+     * Only the move log column is written, so columns changed since the game was read, such as
+     * {@code rated}, are kept. Must run inside a transaction.
+     *
+     * @param gameId the finished game's ID
+     * @return true if the game was archived, false if another run archived it first
+     */
+    public boolean archive(Long gameId) {
+        List<GameMove> moves = gameMoveRepository.findByGameIdOrderByMoveOrderAsc(gameId);
+        if (gameRepository.storeMoveLog(gameId, MoveLogCodec.encode(moves)) == 0) {
+            return false;
+        }
+        gameMoveRepository.deleteByGameId(gameId);
+        return true;
+    }
+
+    /**
+     * Loads the moves of a game, from its move log when archived and from {@code game_moves} otherwise.
+     *
+     * @param gameId the game ID
+     * @return the moves in move order
+     * @throws GameNotFoundException if the game does not exist
+     */
+    public List<ReplayMove> loadReplay(Long gameId) {
+        Game game = gameRepository.findById(gameId)
+                .orElseThrow(() -> new GameNotFoundException("Game " + gameId + " not found"));
+
+        if (game.getMoveLog() != null) {
+            return MoveLogCodec.decode(game.getMoveLog()).stream()
+                    .map(e -> ReplayMove.builder()
+                            .moveOrder(e.moveOrder())
+                            .playerId(playerIdFor(game, e.moveOrder()))
+                            .row(e.row())
+                            .col(e.col())
+                            .createdAt(e.createdAt())
+                            .build())
+                    .toList();
+        }
+
+        return gameMoveRepository.findByGameIdOrderByMoveOrderAsc(gameId).stream()
+                .map(m -> ReplayMove.builder()
+                        .moveOrder(m.getMoveOrder())
+                        .playerId(m.getPlayer().getId())
+                        .row(m.getRow())
+                        .col(m.getCol())
+                        .createdAt(m.getCreatedAt())
+                        .build())
+                .toList();
+    }
+
+    private static Long playerIdFor(Game game, int moveOrder) {
+        User player = (moveOrder & 1) == 1 ? game.getPlayer1() : game.getPlayer2();
+        return player != null ? player.getId() : null;
+    }
+}
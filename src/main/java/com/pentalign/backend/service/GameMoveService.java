@@ -0,0 +1,224 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.ai.AiMove;
+import com.pentalign.backend.dto.ApiError;
+import com.pentalign.backend.dto.MoveEvent;
+import com.pentalign.backend.engine.GameBoard;
+import com.pentalign.backend.engine.GameEngine;
+import com.pentalign.backend.engine.GameLaneExecutor;
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.GameMove;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.enums.MoveOutcome;
+import com.pentalign.backend.enums.Stone;
+import com.pentalign.backend.exception.InvalidMoveException;
+import com.pentalign.backend.repository.GameRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that applies moves received over WebSocket.
+ * Every move of a game runs on that game's lane, validated by the {@link GameEngine},
+ * handed to the {@link MoveJournal} and pushed to both players' {@code /user/queue/games} destination.
+ * Only a game-ending move waits for the database before being pushed; its result is then queued
+ * for the {@link RankingUpdateService}. If it cannot be stored, the move is taken back and the player
+ * gets an error, so the game stays playable instead of ending only in memory.
+ * In a game against the AI, each move of the user is answered by the {@link AiPlayerService},
+ * whose move comes back through the same lane. Games left waiting for the AI by a restart are resumed at startup.
+ * Games without a move for {@code game.lanes.idle-timeout-ms}, typically abandoned ones, are dropped from memory.
+ */
+@Service
+@Slf4j
+public class GameMoveService {
+
+    public static final String GAMES_QUEUE = "/queue/games";
+    public static final String ERRORS_QUEUE = "/queue/errors";
+
+    private final GameEngine gameEngine;
+    private final GameLaneExecutor laneExecutor;
+    private final GameRepository gameRepository;
+    private final MoveJournal moveJournal;
+    private final RankingUpdateService rankingUpdateService;
+    private final AiPlayerService aiPlayerService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    /** Games with a move in flight, only ever touched from their own lane. */
+    private final ConcurrentMap<Long, Game> activeGames = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+
+    public GameMoveService(GameEngine gameEngine,
+                           GameLaneExecutor laneExecutor,
+                           GameRepository gameRepository,
+                           MoveJournal moveJournal,
+                           RankingUpdateService rankingUpdateService,
+                           AiPlayerService aiPlayerService,
+                           SimpMessagingTemplate messagingTemplate,
+                           @Value("${game.lanes.idle-timeout-ms:1800000}") long idleTimeoutMs) {
+        this.gameEngine = gameEngine;
+        this.laneExecutor = laneExecutor;
+        this.gameRepository = gameRepository;
+        this.moveJournal = moveJournal;
+        this.rankingUpdateService = rankingUpdateService;
+        this.aiPlayerService = aiPlayerService;
+        this.messagingTemplate = messagingTemplate;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+    }
+
+    /**
+     * Queues a move on the game's lane. The outcome is delivered asynchronously.
+     *
+     * @param gameId the game ID
+     * @param player the authenticated player
+     * @param row    the row, 0-based
+     * @param col    the column, 0-based
+     */
+    public void submitMove(Long gameId, User player, int row, int col) {
+        laneExecutor.execute(gameId, () -> applyMove(gameId, player, row, col));
+    }
+
+    /**
+     * Drops the lane, cached game and board of every game idle for longer than the timeout.
+     * A later move reloads them from the database.
+     */
+    @Scheduled(fixedDelayString = "${game.lanes.evict-interval-ms:60000}")
+    public void evictIdleGames() {
+        List<Long> evicted = laneExecutor.evictIdle(idleTimeoutNanos);
+        for (Long gameId : evicted) {
+            activeGames.remove(gameId);
+            gameEngine.evict(gameId);
+        }
+        if (!evicted.isEmpty()) {
+            log.info("Evicted {} idle games, {} lanes left", evicted.size(), laneExecutor.size());
+        }
+    }
+
+    /**
+     * Asks the AI to move in every game against it that was waiting for its reply when the server stopped.
+     * Runs after the AI's user is loaded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void resumeAiGames() {
+        List<Game> games = gameRepository.findByStatusAndAiLevelIsNotNull(GameStatus.IN_PROGRESS);
+        for (Game game : games) {
+            Long gameId = game.getId();
+            laneExecutor.execute(gameId, () -> {
+                try {
+                    Game active = activeGames.computeIfAbsent(gameId, id -> game);
+                    if (gameEngine.boardFor(gameId).sideToMove() == Stone.O) {
+                        requestAiMove(active);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Could not resume AI game {}", gameId, e);
+                }
+            });
+        }
+        if (!games.isEmpty()) {
+            log.info("Checked {} games against the AI for a pending reply", games.size());
+        }
+    }
+
+    private void applyMove(Long gameId, User player, int row, int col) {
+        try {
+            Game game = activeGames.computeIfAbsent(gameId, id -> gameRepository.findById(id)
+                    .orElseThrow(() -> new InvalidMoveException("Game " + id + " does not exist")));
+            if (game.getStatus() != GameStatus.IN_PROGRESS) {
+                // don't pin a stale snapshot, the game may start or end elsewhere
+                activeGames.remove(gameId);
+            }
+
+            GameEngine.MoveResult result = gameEngine.play(game, player, row, col);
+            GameMove move = result.move();
+
+            if (result.outcome() == MoveOutcome.CONTINUE) {
+                moveJournal.append(move);
+                if (game.getAiLevel() != null && !aiPlayerService.isBot(player)) {
+                    requestAiMove(game);
+                }
+            } else {
+                try {
+                    moveJournal.appendFinal(move, game);
+                } catch (RuntimeException e) {
+                    log.error("Could not store the end of game {}, taking the final move back", gameId, e);
+                    gameEngine.revert(game, move);
+                    sendError(player, gameId, HttpStatus.SERVICE_UNAVAILABLE, "The move could not be saved, please try again");
+                    return;
+                }
+                if (game.getAiLevel() == null) {
+                    rankingUpdateService.record(game);
+                }
+                activeGames.remove(gameId);
+                gameEngine.evict(gameId);
+                laneExecutor.release(gameId);
+            }
+
+            MoveEvent event = toEvent(game, move, result.outcome());
+            messagingTemplate.convertAndSendToUser(game.getPlayer1().getUsername(), GAMES_QUEUE, event);
+            messagingTemplate.convertAndSendToUser(game.getPlayer2().getUsername(), GAMES_QUEUE, event);
+        } catch (InvalidMoveException e) {
+            sendError(player, gameId, HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    private void sendError(User player, Long gameId, HttpStatus status, String message) {
+        ApiError err = new ApiError(
+                Instant.now(),
+                status.value(),
+                status.getReasonPhrase(),
+                message,
+                "/app/games/" + gameId + "/move"
+        );
+        messagingTemplate.convertAndSendToUser(player.getUsername(), ERRORS_QUEUE, err);
+    }
+
+    private void requestAiMove(Game game) {
+        Long gameId = game.getId();
+        GameBoard board = gameEngine.boardFor(gameId);
+        CompletableFuture<AiMove> thinking;
+        try {
+            thinking = aiPlayerService.think(board, game.getAiLevel());
+        } catch (RuntimeException e) {
+            thinking = CompletableFuture.failedFuture(e);
+        }
+        thinking
+                .exceptionally(e -> {
+                    log.error("AI search failed in game {}, playing a random move", gameId, e);
+                    return aiPlayerService.randomMove(board);
+                })
+                .thenAccept(move -> submitMove(gameId, aiPlayerService.bot(), move.row(), move.col()))
+                .exceptionally(e -> {
+                    log.error("AI could not move in game {}", gameId, e);
+                    return null;
+                });
+    }
+
+    private MoveEvent toEvent(Game game, GameMove move, MoveOutcome outcome) {
+        return MoveEvent.builder()
+                .gameId(game.getId())
+                .playerId(move.getPlayer().getId())
+                .moveOrder(move.getMoveOrder())
+                .row(move.getRow())
+                .col(move.getCol())
+                .outcome(outcome)
+                .status(game.getStatus())
+                .winnerId(game.getStatus() == GameStatus.FINISHED && game.getWinner() != null
+                        ? game.getWinner().getId() : null)
+                .build();
+    }
+}
@@ -0,0 +1,256 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.dto.InvitationView;
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.Invitation;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.enums.InvitationStatus;
+import com.pentalign.backend.exception.InvalidInvitationException;
+import com.pentalign.backend.exception.UserNotFoundException;
+import com.pentalign.backend.repository.GameRepository;
+import com.pentalign.backend.repository.InvitationRepository;
+import com.pentalign.backend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service for the game invitation lifecycle: PENDING, then ACCEPTED, DECLINED or EXPIRED.
+ * Every transition is a conditional UPDATE on the current status, so concurrent answers and expiry
+ * cannot both win. Accepting starts the linked game in the same transaction; declining or expiring
+ * cancels it in the same transaction or batch.
+ * Pending invitations wait for their expiry in an in-memory {@link DelayQueue}; due ones are expired
+ * in batched UPDATEs, so nothing ever scans the table for stale rows.
+ */
+@Service
+@Slf4j
+public class InvitationService {
+
+    private static final int EXPIRY_BATCH_SIZE = 500;
+
+    private final InvitationRepository invitationRepository;
+    private final GameRepository gameRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+
+    private final DelayQueue<Expiry> expiries = new DelayQueue<>();
+    private final ScheduledExecutorService expirer;
+
+    public InvitationService(InvitationRepository invitationRepository,
+                             GameRepository gameRepository,
+                             UserRepository userRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${invitation.ttl-ms:300000}") long ttlMs,
+                             @Value("${invitation.expiry-interval-ms:1000}") long expiryIntervalMs) {
+        this.invitationRepository = invitationRepository;
+        this.gameRepository = gameRepository;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMillis(ttlMs);
+        this.expirer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "invitation-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        this.expirer.scheduleWithFixedDelay(this::expireDueQuietly, expiryIntervalMs, expiryIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pending invitation waiting for its expiry time.
+     */
+    private record Expiry(Long invitationId, long dueAtMillis) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Expiry) other).dueAtMillis);
+        }
+    }
+
+    /**
+     * Schedules the expiry of every pending invitation. Statuses stored as free-form text are normalized first,
+     * unknown ones are expired. Invitations stored before expiry existed get a full time-to-live from now.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPending() {
+        transactionTemplate.executeWithoutResult(status -> {
+            int normalized = invitationRepository.normalizeStatuses(
+                    Arrays.stream(InvitationStatus.values()).map(Enum::name).toList(), InvitationStatus.EXPIRED.name());
+            if (normalized > 0) {
+                log.info("Normalized the status of {} invitations", normalized);
+            }
+            invitationRepository.backfillExpiry(InvitationStatus.PENDING, LocalDateTime.now().plus(ttl));
+        });
+        List<InvitationView> pending = invitationRepository.findViewsByStatus(InvitationStatus.PENDING);
+        pending.forEach(i -> schedule(i.getId(), i.getExpiresAt()));
+        log.info("Scheduled expiry of {} pending invitations", pending.size());
+    }
+
+    /**
+     * Invites another user to a new game. The game waits until the invitation is accepted.
+     *
+     * @param sender     the authenticated sender, who plays X
+     * @param receiverId the invited user, who plays O
+     * @return the pending invitation
+     * @throws UserNotFoundException if the receiver does not exist
+     */
+    public InvitationView invite(User sender, Long receiverId) {
+        if (sender.getId().equals(receiverId)) {
+            throw new InvalidInvitationException("You cannot invite yourself");
+        }
+        User receiver = userRepository.findById(receiverId)
+                .orElseThrow(() -> new UserNotFoundException("User " + receiverId + " does not exist"));
+        LocalDateTime now = LocalDateTime.now();
+
+        Invitation invitation = transactionTemplate.execute(status -> {
+            Game game = gameRepository.save(Game.builder()
+                    .player1(userRepository.getReferenceById(sender.getId()))
+                    .player2(receiver)
+                    .status(GameStatus.WAITING)
+                    .build());
+            return invitationRepository.save(Invitation.builder()
+                    .sender(game.getPlayer1())
+                    .receiver(receiver)
+                    .game(game)
+                    .status(InvitationStatus.PENDING)
+                    .sentAt(now)
+                    .expiresAt(now.plus(ttl))
+                    .build());
+        });
+        schedule(invitation.getId(), invitation.getExpiresAt());
+
+        return new InvitationView(invitation.getId(), sender.getId(), sender.getUsername(), receiverId,
+                invitation.getGame().getId(), invitation.getStatus(), invitation.getSentAt(), invitation.getExpiresAt());
+    }
+
+    /**
+     * @param userId the receiver
+     * @return the invitations waiting for the user's answer, soonest to expire first
+     */
+    public List<InvitationView> pendingFor(Long userId) {
+        return invitationRepository.findActiveByReceiver(userId, InvitationStatus.PENDING, LocalDateTime.now());
+    }
+
+    /**
+     * Accepts an invitation and starts its game, atomically.
+     *
+     * @param invitationId the invitation
+     * @param user         the authenticated receiver
+     * @return the ID of the started game
+     * @throws InvalidInvitationException if the invitation is not pending for this user, or its game cannot start
+     */
+    public Long accept(Long invitationId, User user) {
+        return transactionTemplate.execute(status -> {
+            transition(invitationId, user, InvitationStatus.ACCEPTED);
+            Long gameId = invitationRepository.findGameIdById(invitationId).orElseThrow();
+            if (gameRepository.start(gameId, GameStatus.WAITING, GameStatus.IN_PROGRESS, LocalDateTime.now()) == 0) {
+                // rolls back the acceptance too
+                throw new InvalidInvitationException("Game " + gameId + " can no longer start");
+            }
+            return gameId;
+        });
+    }
+
+    /**
+     * Declines an invitation.
+     *
+     * @param invitationId the invitation
+     * @param user         the authenticated receiver
+     * @throws InvalidInvitationException if the invitation is not pending for this user
+     */
+    public void decline(Long invitationId, User user) {
+        transactionTemplate.executeWithoutResult(status -> {
+            transition(invitationId, user, InvitationStatus.DECLINED);
+            cancelGames(List.of(invitationId), InvitationStatus.DECLINED);
+        });
+    }
+
+    /**
+     * Expires every invitation whose time is up. Already answered ones are skipped by the UPDATE itself,
+     * so answered invitations never need to be taken out of the queue.
+     *
+     * @return number of invitations expired
+     */
+    public int expireDue() {
+        List<Expiry> due = new ArrayList<>();
+        expiries.drainTo(due);
+        int expired = 0;
+        for (int from = 0; from < due.size(); from += EXPIRY_BATCH_SIZE) {
+            List<Long> ids = due.subList(from, Math.min(from + EXPIRY_BATCH_SIZE, due.size())).stream()
+                    .map(Expiry::invitationId)
+                    .toList();
+            try {
+                Integer updated = transactionTemplate.execute(status -> {
+                    int count = invitationRepository.transitionAll(ids, InvitationStatus.PENDING, InvitationStatus.EXPIRED);
+                    cancelGames(ids, InvitationStatus.EXPIRED);
+                    return count;
+                });
+                expired += updated == null ? 0 : updated;
+            } catch (RuntimeException e) {
+                // retry these on the next run
+                due.subList(from, due.size()).forEach(expiries::add);
+                throw e;
+            }
+        }
+        return expired;
+    }
+
+    private void transition(Long invitationId, User user, InvitationStatus target) {
+        if (!InvitationStatus.PENDING.canBecome(target)) {
+            throw new IllegalArgumentException("Invalid invitation transition to " + target);
+        }
+        int updated = invitationRepository.transition(invitationId, user.getId(),
+                InvitationStatus.PENDING, target, LocalDateTime.now());
+        if (updated == 0) {
+            throw new InvalidInvitationException("Invitation " + invitationId + " is not pending for you");
+        }
+    }
+
+    /** Only games still waiting are cancelled, an accepted invitation's game has already started. */
+    private void cancelGames(List<Long> invitationIds, InvitationStatus invitationStatus) {
+        gameRepository.closeInvitedGames(invitationIds, invitationStatus,
+                GameStatus.WAITING, GameStatus.CANCELLED, LocalDateTime.now());
+    }
+
+    private void schedule(Long invitationId, LocalDateTime expiresAt) {
+        expiries.add(new Expiry(invitationId, expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+    }
+
+    private void expireDueQuietly() {
+        try {
+            int expired = expireDue();
+            if (expired > 0) {
+                log.debug("Expired {} invitations", expired);
+            }
+        } catch (RuntimeException e) {
+            log.error("Invitation expiry failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expirer.shutdown();
+    }
+}
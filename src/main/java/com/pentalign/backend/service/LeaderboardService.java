@@ -0,0 +1,107 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.dto.LeaderboardEntry;
+import com.pentalign.backend.leaderboard.Leaderboard;
+import com.pentalign.backend.repository.RankingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service for leaderboard queries, served from an in-memory {@link Leaderboard} instead of
+ * sorting and counting the {@code rankings} table on every request.
+ * The index is loaded once at startup and then kept current by {@link com.pentalign.backend.entities.RankingListener}.
+ */
+@Service
+@Slf4j
+public class LeaderboardService {
+
+    private final RankingRepository rankingRepository;
+    private final Leaderboard leaderboard = new Leaderboard();
+    private final int maxPageSize;
+
+    public LeaderboardService(RankingRepository rankingRepository,
+                              @Value("${leaderboard.max-page-size:100}") int maxPageSize) {
+        this.rankingRepository = rankingRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Loads every ranking into the index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<Leaderboard.Entry> entries = rankingRepository.findAllScores().stream()
+                .map(s -> new Leaderboard.Entry(0, s.getUserId(), s.getUsername(), s.getPoints()))
+                .toList();
+        leaderboard.rebuild(entries);
+        log.info("Leaderboard loaded with {} players", entries.size());
+    }
+
+    /**
+     * Applies a saved ranking to the index.
+     *
+     * @param userId   the owner of the ranking
+     * @param username the owner's username
+     * @param points   the committed points
+     */
+    public void onRankingSaved(Long userId, String username, int points) {
+        leaderboard.update(userId, username, points);
+    }
+
+    /**
+     * Removes a deleted ranking from the index.
+     *
+     * @param userId the owner of the ranking
+     */
+    public void onRankingRemoved(Long userId) {
+        leaderboard.remove(userId);
+    }
+
+    /**
+     * Returns a page of the leaderboard, best first.
+     *
+     * @param offset number of players to skip
+     * @param limit  page size, capped at {@code leaderboard.max-page-size}
+     * @return the page
+     */
+    public List<LeaderboardEntry> page(int offset, int limit) {
+        return toDtos(leaderboard.page(Math.max(offset, 0), Math.min(Math.max(limit, 0), maxPageSize)));
+    }
+
+    /**
+     * @param userId the user ID
+     * @return the player's rank and points, or null if they have no ranking
+     */
+    public LeaderboardEntry entryOf(Long userId) {
+        Leaderboard.Entry entry = leaderboard.entryOf(userId);
+        return entry == null ? null : toDto(entry);
+    }
+
+    /**
+     * Returns the players ranked around a player.
+     *
+     * @param userId the user ID
+     * @param radius number of players above and below, capped at half of {@code leaderboard.max-page-size}
+     * @return the rows around the player, including the player, or an empty list if they have no ranking
+     */
+    public List<LeaderboardEntry> neighbors(Long userId, int radius) {
+        return toDtos(leaderboard.neighbors(userId, Math.min(Math.max(radius, 0), maxPageSize / 2)));
+    }
+
+    public int size() {
+        return leaderboard.size();
+    }
+
+    private static List<LeaderboardEntry> toDtos(List<Leaderboard.Entry> entries) {
+        return entries.stream().map(LeaderboardService::toDto).toList();
+    }
+
+    private static LeaderboardEntry toDto(Leaderboard.Entry entry) {
+        return new LeaderboardEntry(entry.rank(), entry.userId(), entry.username(), entry.points());
+    }
+}
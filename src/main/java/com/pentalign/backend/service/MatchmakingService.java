@@ -0,0 +1,155 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.dto.ApiError;
+import com.pentalign.backend.dto.MatchFoundEvent;
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.Ranking;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.enums.Stone;
+import com.pentalign.backend.matchmaking.MatchmakingQueue;
+import com.pentalign.backend.rating.Glicko2;
+import com.pentalign.backend.repository.GameRepository;
+import com.pentalign.backend.repository.RankingRepository;
+import com.pentalign.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service that pairs searching players by rating and starts their game.
+ * Players without a ranking yet search at the Glicko-2 default rating.
+ * A player is matched immediately if a close opponent is waiting; otherwise a background sweep
+ * retries waiting players as their search window widens.
+ * If the game cannot be created, both players go back to the queue, where they may be paired again;
+ * after {@value #MAX_START_ATTEMPTS} failed attempts in a row they are told to search again instead.
+ */
+@Service
+@Slf4j
+public class MatchmakingService {
+
+    public static final String MATCHES_QUEUE = "/queue/matches";
+
+    static final int MAX_START_ATTEMPTS = 3;
+
+    private final MatchmakingQueue queue;
+    private final RankingRepository rankingRepository;
+    private final UserRepository userRepository;
+    private final GameRepository gameRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public MatchmakingService(RankingRepository rankingRepository,
+                              UserRepository userRepository,
+                              GameRepository gameRepository,
+                              SimpMessagingTemplate messagingTemplate,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${matchmaking.bucket-width:50}") int bucketWidth,
+                              @Value("${matchmaking.base-window:50}") int baseWindow,
+                              @Value("${matchmaking.widen-per-second:25}") int widenPerSecond,
+                              @Value("${matchmaking.max-window:1000}") int maxWindow) {
+        this.queue = new MatchmakingQueue(bucketWidth, baseWindow, widenPerSecond, maxWindow);
+        this.rankingRepository = rankingRepository;
+        this.userRepository = userRepository;
+        this.gameRepository = gameRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Puts a player in the queue. If an opponent is found, the game is created and both players
+     * are notified on "/user/queue/matches".
+     *
+     * @param user the searching player
+     * @return true if a game was started right away, false if the player is waiting
+     */
+    public boolean join(User user) {
+        int points = rankingRepository.findByUserId(user.getId())
+                .map(Ranking::getPoints)
+                .orElse((int) Math.round(Glicko2.DEFAULT_RATING));
+        return enqueue(user.getId(), user.getUsername(), points, 1);
+    }
+
+    /**
+     * Removes a player from the queue.
+     *
+     * @param user the player
+     * @return true if the player was waiting
+     */
+    public boolean leave(User user) {
+        return queue.cancel(user.getId());
+    }
+
+    /**
+     * Retries waiting players with their widened windows.
+     */
+    @Scheduled(fixedDelayString = "${matchmaking.sweep-interval-ms:250}")
+    public void sweep() {
+        List<MatchmakingQueue.Pair> pairs = queue.matchWaiting(System.nanoTime());
+        pairs.forEach(pair -> startGame(pair, 1));
+    }
+
+    private boolean enqueue(Long userId, String username, int points, int attempt) {
+        return queue.enqueue(userId, username, points, System.nanoTime())
+                .map(pair -> startGame(pair, attempt))
+                .orElse(false);
+    }
+
+    private boolean startGame(MatchmakingQueue.Pair pair, int attempt) {
+        MatchmakingQueue.Ticket x = pair.second();
+        MatchmakingQueue.Ticket o = pair.first();
+        Game game;
+        try {
+            game = transactionTemplate.execute(status -> gameRepository.save(Game.builder()
+                    .player1(userRepository.getReferenceById(x.getUserId()))
+                    .player2(userRepository.getReferenceById(o.getUserId()))
+                    .status(GameStatus.IN_PROGRESS)
+                    .startedAt(LocalDateTime.now())
+                    .build()));
+        } catch (RuntimeException e) {
+            if (attempt >= MAX_START_ATTEMPTS) {
+                log.error("Could not start game for users {} and {}, giving up", x.getUserId(), o.getUserId(), e);
+                sendError(x);
+                sendError(o);
+                return false;
+            }
+            log.error("Could not start game for users {} and {}, re-queueing", x.getUserId(), o.getUserId(), e);
+            enqueue(x.getUserId(), x.getUsername(), x.getPoints(), attempt + 1);
+            enqueue(o.getUserId(), o.getUsername(), o.getPoints(), attempt + 1);
+            return false;
+        }
+
+        notify(x, o, game.getId(), Stone.X);
+        notify(o, x, game.getId(), Stone.O);
+        return true;
+    }
+
+    private void sendError(MatchmakingQueue.Ticket player) {
+        ApiError err = new ApiError(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                "The game could not be started, please search again",
+                "/api/matchmaking/join"
+        );
+        messagingTemplate.convertAndSendToUser(player.getUsername(), GameMoveService.ERRORS_QUEUE, err);
+    }
+
+    private void notify(MatchmakingQueue.Ticket player, MatchmakingQueue.Ticket opponent, Long gameId, Stone stone) {
+        messagingTemplate.convertAndSendToUser(player.getUsername(), MATCHES_QUEUE, MatchFoundEvent.builder()
+                .gameId(gameId)
+                .opponentId(opponent.getUserId())
+                .opponentUsername(opponent.getUsername())
+                .stone(stone)
+                .build());
+    }
+}
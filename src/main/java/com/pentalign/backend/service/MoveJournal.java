@@ -0,0 +1,220 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.GameMove;
+import com.pentalign.backend.repository.GameMoveRepository;
+import com.pentalign.backend.repository.GameRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind journal for {@link GameMove} rows.
+ * Moves are acknowledged as soon as the engine has validated them and are inserted in batches,
+ * either when {@code game.journal.batch-size} moves are pending or every
+ * {@code game.journal.flush-interval-ms}, whichever comes first.
+ * The final move of a game is stored synchronously together with the finished {@link Game},
+ * after every earlier move of that game.
+ * <p>
+ * If a batch fails, its moves are retried one per transaction, so a single bad row cannot hold back the others.
+ * A move that violates a constraint is dropped and logged; one that fails while the database is unreachable
+ * is kept for as long as the outage lasts; one that fails for any other reason is retried on the next flushes,
+ * up to {@code game.journal.max-attempts} attempts.
+ */
+@Service
+@Slf4j
+public class MoveJournal {
+
+    /**
+     * A move waiting to be inserted.
+     *
+     * @param move     the move
+     * @param attempts failed attempts that counted against {@code game.journal.max-attempts}
+     */
+    private record Pending(GameMove move, int attempts) {
+    }
+
+    private final GameMoveRepository gameMoveRepository;
+    private final GameRepository gameRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final ConcurrentLinkedQueue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    public MoveJournal(GameMoveRepository gameMoveRepository,
+                       GameRepository gameRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${game.journal.batch-size:100}") int batchSize,
+                       @Value("${game.journal.flush-interval-ms:50}") long flushIntervalMs,
+                       @Value("${game.journal.max-attempts:5}") int maxAttempts) {
+        this.gameMoveRepository = gameMoveRepository;
+        this.gameRepository = gameRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "move-journal");
+            t.setDaemon(true);
+            return t;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a validated move for insertion.
+     *
+     * @param move the move to persist
+     */
+    public void append(GameMove move) {
+        pending.add(new Pending(move, 0));
+        if (pendingCount.incrementAndGet() % batchSize == 0) {
+            flusher.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * Persists the final move of a game and the finished game in one transaction, after flushing every
+     * pending move, and returns only once they are committed. On failure nothing of the final move is kept.
+     *
+     * @param move the move that ended the game
+     * @param game the game, already marked as finished
+     * @throws IllegalStateException if earlier moves of the game are still waiting for a retry
+     * @throws RuntimeException      if the final transaction fails
+     */
+    public void appendFinal(GameMove move, Game game) {
+        flushLock.lock();
+        try {
+            insertPending();
+            Long gameId = game.getId();
+            if (pending.stream().anyMatch(p -> gameId.equals(p.move().getGame().getId()))) {
+                throw new IllegalStateException("Earlier moves of game " + gameId + " are not stored yet");
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    gameMoveRepository.save(move);
+                    gameRepository.save(game);
+                });
+            } catch (RuntimeException e) {
+                move.setId(null);
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts every pending move.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            insertPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Must hold {@link #flushLock}. */
+    private void insertPending() {
+        List<Pending> batch = drain();
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    gameMoveRepository.saveAll(batch.stream().map(Pending::move).toList()));
+        } catch (RuntimeException e) {
+            log.warn("Move journal batch of {} moves failed, retrying one by one", batch.size(), e);
+            batch.forEach(p -> p.move().setId(null));
+            for (int i = 0; i < batch.size(); i++) {
+                if (!insertOne(batch.get(i))) {
+                    // the database is unreachable, don't hammer it with the rest of the batch
+                    batch.subList(i + 1, batch.size()).forEach(this::requeue);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return false if the database could not be reached; the move is then queued again
+     */
+    private boolean insertOne(Pending entry) {
+        GameMove move = entry.move();
+        try {
+            transactionTemplate.executeWithoutResult(status -> gameMoveRepository.save(move));
+        } catch (DataIntegrityViolationException e) {
+            deadLetter(move, e);
+        } catch (TransientDataAccessException | DataAccessResourceFailureException
+                 | CannotCreateTransactionException e) {
+            // not the row's fault, keep it however long the outage lasts
+            move.setId(null);
+            requeue(entry);
+            return false;
+        } catch (RuntimeException e) {
+            move.setId(null);
+            if (entry.attempts() + 1 >= maxAttempts) {
+                deadLetter(move, e);
+            } else {
+                requeue(new Pending(move, entry.attempts() + 1));
+            }
+        }
+        return true;
+    }
+
+    private void requeue(Pending entry) {
+        pending.add(entry);
+        pendingCount.incrementAndGet();
+    }
+
+    private void deadLetter(GameMove move, RuntimeException e) {
+        log.error("Dropping move {} of game {} at ({}, {}) by user {}: it could not be stored",
+                move.getMoveOrder(), move.getGame().getId(), move.getRow(), move.getCol(),
+                move.getPlayer().getId(), e);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Move journal flush failed, {} moves pending", pendingCount.get(), e);
+        }
+    }
+
+    private List<Pending> drain() {
+        List<Pending> batch = new ArrayList<>(Math.max(pendingCount.get(), 1));
+        Pending entry;
+        while ((entry = pending.poll()) != null) {
+            batch.add(entry);
+        }
+        pendingCount.addAndGet(-batch.size());
+        return batch;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+}
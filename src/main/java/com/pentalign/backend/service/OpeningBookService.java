@@ -0,0 +1,272 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.book.BookGame;
+import com.pentalign.backend.book.BookPosition;
+import com.pentalign.backend.book.OpeningBook;
+import com.pentalign.backend.book.OpeningBookBuilder;
+import com.pentalign.backend.dto.BookMoveSuggestion;
+import com.pentalign.backend.dto.MoveRequest;
+import com.pentalign.backend.engine.Bitboard;
+import com.pentalign.backend.engine.GameBoard;
+import com.pentalign.backend.engine.MoveLogCodec;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.repository.GameRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+/**
+ * Service that builds the {@link OpeningBook} from archived games and answers book lookups.
+ * <p>
+ * A build streams the move logs of finished games between two users from a single cursor, so only the games
+ * in flight are ever on the heap, and hands them to {@code book.build-threads} workers. Each worker counts
+ * the first {@code book.max-plies} plies into its own {@link OpeningBookBuilder}; the builders are merged
+ * once the cursor is drained and written to {@code book.path}, which is then mapped in place of the old book.
+ * Builds run every {@code book.build-cron}, disabled by default since the book only changes slowly;
+ * the file can also be built once and shipped to every node.
+ * <p>
+ * A game whose move log cannot be counted is skipped. A worker that dies anyway fails the build rather than
+ * leaving the cursor waiting on a queue nobody drains.
+ */
+@Service
+@Slf4j
+public class OpeningBookService {
+
+    private static final BookGame END = new BookGame(null, null, null);
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private final GameRepository gameRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Path path;
+    private final int maxPlies;
+    private final int minGames;
+    private final int threads;
+
+    private volatile OpeningBook book;
+
+    public OpeningBookService(GameRepository gameRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${book.path:opening-book.bin}") String path,
+                              @Value("${book.max-plies:12}") int maxPlies,
+                              @Value("${book.min-games:5}") int minGames,
+                              @Value("${book.build-threads:0}") int threads) {
+        this.gameRepository = gameRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.path = Path.of(path);
+        this.maxPlies = maxPlies;
+        this.minGames = minGames;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Maps the book file, if one has been built.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!Files.exists(path)) {
+            log.info("No opening book at {}", path.toAbsolutePath());
+            return;
+        }
+        try {
+            open();
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Could not load opening book from {}", path.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Rebuilds the book from every archived game and swaps it in.
+     */
+    @Scheduled(cron = "${book.build-cron:-}")
+    public synchronized void build() {
+        long started = System.nanoTime();
+        BlockingQueue<BookGame> queue = new ArrayBlockingQueue<>(threads * 1024);
+        AtomicLong skipped = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<OpeningBookBuilder> builders = new ArrayList<>(threads);
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            OpeningBookBuilder builder = new OpeningBookBuilder(maxPlies, 1 << 16);
+            builders.add(builder);
+            Thread worker = new Thread(() -> count(queue, builder, skipped, failure), "opening-book-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        boolean fed = false;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<BookGame> games = gameRepository.streamArchivedGames(GameStatus.FINISHED)) {
+                    games.forEach(game -> put(queue, game, failure));
+                }
+            });
+            for (int i = 0; i < threads; i++) {
+                put(queue, END, failure);
+            }
+            fed = true;
+        } finally {
+            if (!fed) {
+                workers.forEach(Thread::interrupt);
+            }
+            for (Thread worker : workers) {
+                join(worker);
+            }
+        }
+        if (failure.get() != null) {
+            throw new IllegalStateException("Opening book worker failed", failure.get());
+        }
+
+        OpeningBookBuilder merged = builders.get(0);
+        for (int i = 1; i < builders.size(); i++) {
+            merged.merge(builders.get(i));
+            builders.set(i, null);
+        }
+        try {
+            int moves = merged.write(path, minGames);
+            open();
+            log.info("Opening book built from {} games ({} skipped): {} of {} moves kept, {} KB, in {} ms",
+                    merged.getGames(), skipped.get(), moves, merged.size(),
+                    book.sizeBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write opening book to " + path.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * @param board the board; the caller must keep it from changing meanwhile
+     * @return the book moves for the board's position, most played first; empty if the book has none
+     */
+    public List<OpeningBook.Move> movesFor(GameBoard board) {
+        OpeningBook current = book;
+        if (current == null || board.getMoveCount() >= current.getMaxPlies()) {
+            return List.of();
+        }
+        return current.movesFor(BookPosition.of(board));
+    }
+
+    /**
+     * Suggests moves for the position reached by a sequence of moves.
+     *
+     * @param moves the moves played so far, X first
+     * @return the book moves, most played first; empty past the book's depth
+     * @throws com.pentalign.backend.exception.InvalidMoveException if the moves are not a legal game
+     */
+    public List<BookMoveSuggestion> suggest(List<MoveRequest> moves) {
+        OpeningBook current = book;
+        if (current == null || moves.size() >= current.getMaxPlies()) {
+            return List.of();
+        }
+        GameBoard board = new GameBoard();
+        moves.forEach(move -> board.play(move.getRow(), move.getCol()));
+        return movesFor(board).stream()
+                .map(move -> BookMoveSuggestion.builder()
+                        .row(move.cell() / Bitboard.SIZE)
+                        .col(move.cell() % Bitboard.SIZE)
+                        .games(move.games())
+                        .wins(move.wins())
+                        .draws(move.draws())
+                        .score(move.score())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * @param board the board; the caller must keep it from changing meanwhile
+     * @return the book move with the best results among those played in at least {@code book.min-games} games
+     */
+    public Optional<OpeningBook.Move> bestMove(GameBoard board) {
+        OpeningBook.Move best = null;
+        for (OpeningBook.Move move : movesFor(board)) {
+            if (move.games() >= minGames && (best == null || move.score() > best.score())) {
+                best = move;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    private void open() throws IOException {
+        OpeningBook opened = OpeningBook.open(path);
+        book = opened;
+        log.info("Opening book loaded: {} moves from {} games, first {} plies",
+                opened.size(), opened.getGames(), opened.getMaxPlies());
+    }
+
+    private void count(BlockingQueue<BookGame> queue, OpeningBookBuilder builder, AtomicLong skipped,
+                       AtomicReference<Throwable> failure) {
+        try {
+            countGames(queue, builder, skipped);
+        } catch (Throwable t) {
+            failure.compareAndSet(null, t);
+            throw t;
+        }
+    }
+
+    private void countGames(BlockingQueue<BookGame> queue, OpeningBookBuilder builder, AtomicLong skipped) {
+        while (true) {
+            BookGame game;
+            try {
+                game = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Opening book worker interrupted", e);
+            }
+            if (game == END) {
+                return;
+            }
+            try {
+                builder.addGame(MoveLogCodec.decodeCells(game.moveLog(), maxPlies), game.winner());
+            } catch (RuntimeException e) {
+                if (skipped.getAndIncrement() == 0) {
+                    log.warn("Skipping unreadable move log", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Waits for room in the queue, but gives up as soon as a worker has failed, since the build is lost anyway
+     * and the remaining workers may never drain it.
+     */
+    private static void put(BlockingQueue<BookGame> queue, BookGame game, AtomicReference<Throwable> failure) {
+        try {
+            while (!queue.offer(game, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null) {
+                    throw new IllegalStateException("Opening book worker failed", failure.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Opening book build interrupted", e);
+        }
+    }
+
+    private static void join(Thread worker) {
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Opening book build interrupted", e);
+        }
+    }
+}
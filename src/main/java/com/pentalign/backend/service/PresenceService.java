@@ -0,0 +1,83 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.presence.PresenceTracker;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service that knows which users are online.
+ * Activity is reported by every authenticated HTTP request and every inbound STOMP frame, heartbeats included;
+ * a user is offline once {@code presence.timeout-ms} passes without any.
+ */
+@Service
+@Slf4j
+public class PresenceService {
+
+    private final PresenceTracker tracker;
+    private final ScheduledExecutorService wheel;
+
+    public PresenceService(@Value("${presence.timeout-ms:60000}") long timeoutMs,
+                           @Value("${presence.tick-ms:1000}") long tickMs) {
+        this.tracker = new PresenceTracker(TimeUnit.MILLISECONDS.toNanos(timeoutMs),
+                TimeUnit.MILLISECONDS.toNanos(tickMs), System.nanoTime());
+        this.wheel = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "presence-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        this.wheel.scheduleAtFixedRate(this::advance, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Records activity of a user.
+     *
+     * @param userId the user ID
+     */
+    public void touch(Long userId) {
+        tracker.touch(userId, System.nanoTime());
+    }
+
+    /**
+     * Marks a user offline right away.
+     *
+     * @param userId the user ID
+     */
+    public void remove(Long userId) {
+        tracker.remove(userId);
+    }
+
+    public boolean isOnline(Long userId) {
+        return tracker.isOnline(userId, System.nanoTime());
+    }
+
+    /**
+     * @param userIds the users to check
+     * @return the users among {@code userIds} who are online, in the same order
+     */
+    public long[] online(long[] userIds) {
+        return tracker.online(userIds, System.nanoTime());
+    }
+
+    public int onlineCount() {
+        return tracker.size();
+    }
+
+    private void advance() {
+        try {
+            tracker.advance(System.nanoTime());
+        } catch (RuntimeException e) {
+            log.error("Presence expiry failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.shutdown();
+    }
+}
@@ -0,0 +1,225 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.dto.LeaderboardEntry;
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.rating.Glicko2;
+import com.pentalign.backend.repository.RankingRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Service that applies finished games to the win/loss/draw counters of the {@code rankings} table.
+ * Results are queued in memory, merged per player and written every {@code ranking.flush-interval-ms}
+ * as one JDBC batch of atomic upserts ({@code wins = wins + ?}), so concurrent games never
+ * read-modify-write a ranking row and a busy player's row is touched once per flush, not once per game.
+ * Rows are written in user id order to keep concurrent flushes from deadlocking.
+ * Ratings and points are owned by {@link RatingPeriodService}; new players start from the Glicko-2 defaults.
+ * <p>
+ * If a batch fails, its rows are retried one per transaction, so a single bad row cannot hold back the others.
+ * A row that violates a constraint is dropped and logged; one that fails while the database is unreachable
+ * is kept for as long as the outage lasts; one that fails for any other reason is retried on the next flushes,
+ * up to {@code ranking.max-attempts} attempts.
+ */
+@Service
+@Slf4j
+public class RankingUpdateService {
+
+    private static final String UPSERT = """
+            INSERT INTO rankings (user_id, wins, losses, draws, points, rating, rating_deviation, volatility)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (user_id) DO UPDATE SET
+                wins = rankings.wins + EXCLUDED.wins,
+                losses = rankings.losses + EXCLUDED.losses,
+                draws = rankings.draws + EXCLUDED.draws
+            """;
+
+    /** Change to one player's ranking. */
+    private record Delta(int wins, int losses, int draws) {
+        Delta plus(Delta other) {
+            return new Delta(wins + other.wins, losses + other.losses, draws + other.draws);
+        }
+    }
+
+    /**
+     * @param attempts failed attempts that counted against {@code ranking.max-attempts}
+     */
+    private record Result(Long userId, Delta delta, int attempts) {
+        Result plus(Result other) {
+            return new Result(userId, delta.plus(other.delta), Math.max(attempts, other.attempts));
+        }
+    }
+
+    private static final Delta WIN = new Delta(1, 0, 0);
+    private static final Delta LOSS = new Delta(0, 1, 0);
+    private static final Delta DRAW = new Delta(0, 0, 1);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RankingRepository rankingRepository;
+    private final LeaderboardService leaderboardService;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxAttempts;
+
+    private final ConcurrentLinkedQueue<Result> pending = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    public RankingUpdateService(JdbcTemplate jdbcTemplate,
+                                RankingRepository rankingRepository,
+                                LeaderboardService leaderboardService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${ranking.flush-interval-ms:200}") long flushIntervalMs,
+                                @Value("${ranking.max-attempts:5}") int maxAttempts) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rankingRepository = rankingRepository;
+        this.leaderboardService = leaderboardService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ranking-updates");
+            t.setDaemon(true);
+            return t;
+        });
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues the result of a finished game. Returns immediately.
+     *
+     * @param game the game, already marked as finished
+     */
+    public void record(Game game) {
+        if (game.getStatus() != GameStatus.FINISHED || game.getPlayer1() == null || game.getPlayer2() == null) {
+            return;
+        }
+        Long player1 = game.getPlayer1().getId();
+        Long player2 = game.getPlayer2().getId();
+        if (game.isDraw()) {
+            pending.add(new Result(player1, DRAW, 0));
+            pending.add(new Result(player2, DRAW, 0));
+        } else {
+            Long winner = game.getWinner().getId();
+            pending.add(new Result(winner, WIN, 0));
+            pending.add(new Result(winner.equals(player1) ? player2 : player1, LOSS, 0));
+        }
+    }
+
+    /**
+     * Writes every queued result.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Map<Long, Result> merged = drain();
+            if (merged.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT,
+                        merged.values().stream().map(RankingUpdateService::row).toList()));
+            } catch (RuntimeException e) {
+                log.warn("Ranking batch of {} rows failed, retrying one by one", merged.size(), e);
+                Iterator<Result> it = merged.values().iterator();
+                while (it.hasNext()) {
+                    Result result = it.next();
+                    if (!updateOne(result)) {
+                        // the database is unreachable, don't hammer it with the rest of the batch
+                        it.forEachRemaining(pending::add);
+                        return;
+                    }
+                }
+                return;
+            }
+
+            // the bulk write bypasses the Ranking entity listener, so new players are added to the leaderboard here
+            for (LeaderboardEntry score : rankingRepository.findScoresByUserIdIn(merged.keySet())) {
+                leaderboardService.onRankingSaved(score.getUserId(), score.getUsername(), score.getPoints());
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * @return false if the database could not be reached; the result is then queued again
+     */
+    private boolean updateOne(Result result) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(UPSERT, List.<Object[]>of(row(result))));
+        } catch (DataIntegrityViolationException e) {
+            deadLetter(result, e);
+            return true;
+        } catch (TransientDataAccessException | DataAccessResourceFailureException
+                 | CannotCreateTransactionException e) {
+            // not the row's fault, keep it however long the outage lasts
+            pending.add(result);
+            return false;
+        } catch (RuntimeException e) {
+            if (result.attempts() + 1 >= maxAttempts) {
+                deadLetter(result, e);
+            } else {
+                pending.add(new Result(result.userId(), result.delta(), result.attempts() + 1));
+            }
+            return true;
+        }
+        for (LeaderboardEntry score : rankingRepository.findScoresByUserIdIn(List.of(result.userId()))) {
+            leaderboardService.onRankingSaved(score.getUserId(), score.getUsername(), score.getPoints());
+        }
+        return true;
+    }
+
+    private void deadLetter(Result result, RuntimeException e) {
+        log.error("Dropping ranking update of user {} (+{} wins, +{} losses, +{} draws): it could not be stored",
+                result.userId(), result.delta().wins(), result.delta().losses(), result.delta().draws(), e);
+    }
+
+    private static Object[] row(Result result) {
+        Delta d = result.delta();
+        return new Object[]{result.userId(), d.wins(), d.losses(), d.draws(),
+                (int) Math.round(Glicko2.DEFAULT_RATING), Glicko2.DEFAULT_RATING,
+                Glicko2.DEFAULT_DEVIATION, Glicko2.DEFAULT_VOLATILITY};
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Ranking flush failed, {} results pending", pending.size(), e);
+        }
+    }
+
+    private Map<Long, Result> drain() {
+        Map<Long, Result> merged = new TreeMap<>();
+        Result result;
+        while ((result = pending.poll()) != null) {
+            merged.merge(result.userId(), result, Result::plus);
+        }
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        flushQuietly();
+    }
+}
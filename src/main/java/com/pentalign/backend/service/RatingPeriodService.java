@@ -0,0 +1,123 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.rating.GameResult;
+import com.pentalign.backend.rating.Glicko2;
+import com.pentalign.backend.rating.PlayerRating;
+import com.pentalign.backend.rating.RatingPeriod;
+import com.pentalign.backend.repository.RankingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service that closes Glicko-2 rating periods.
+ * Every {@code rating.period-cron}, all finished games not yet rated are rated together in one
+ * {@link RatingPeriod}, and every player's rating, deviation, volatility and points are written back
+ * in one JDBC batch. The games are claimed by the same transaction with a conditional update that marks
+ * them as rated and returns their results, so when periods close concurrently on several nodes,
+ * each game is rated by exactly one of them. Games against the AI are never rated.
+ */
+@Service
+@Slf4j
+public class RatingPeriodService {
+
+    /** Games ending this close to the cutoff may still be committing; they go to the next period. */
+    private static final Duration SETTLE_TIME = Duration.ofMinutes(1);
+
+    private static final String CLAIM = """
+            UPDATE games SET rated = true
+            WHERE status = 'FINISHED' AND rated = false AND ai_level IS NULL AND ended_at < ?
+            RETURNING player1_id, player2_id, winner_id
+            """;
+
+    private static final String UPSERT = """
+            INSERT INTO rankings (user_id, wins, losses, draws, points, rating, rating_deviation, volatility)
+            VALUES (?, 0, 0, 0, ?, ?, ?, ?)
+            ON CONFLICT (user_id) DO UPDATE SET
+                points = EXCLUDED.points,
+                rating = EXCLUDED.rating,
+                rating_deviation = EXCLUDED.rating_deviation,
+                volatility = EXCLUDED.volatility
+            """;
+
+    private record Closed(int games, int players, long computedAtNanos) {
+    }
+
+    private final RankingRepository rankingRepository;
+    private final LeaderboardService leaderboardService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RatingPeriod ratingPeriod;
+
+    public RatingPeriodService(RankingRepository rankingRepository,
+                               LeaderboardService leaderboardService,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${rating.tau:0.5}") double tau) {
+        this.rankingRepository = rankingRepository;
+        this.leaderboardService = leaderboardService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ratingPeriod = new RatingPeriod(new Glicko2(tau));
+    }
+
+    /**
+     * Rates every finished game that ended before now, minus a short settle time.
+     */
+    @Scheduled(cron = "${rating.period-cron:0 0 * * * *}")
+    public void closePeriod() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(SETTLE_TIME);
+        long started = System.nanoTime();
+
+        Closed closed = transactionTemplate.execute(status -> {
+            List<GameResult> games = claimUnratedResults(cutoff);
+            if (games.isEmpty()) {
+                return null;
+            }
+            List<PlayerRating> rated = ratingPeriod.rate(rankingRepository.findAllRatings(), games);
+            long computed = System.nanoTime();
+
+            List<Object[]> rows = new ArrayList<>(rated.size());
+            for (PlayerRating r : rated) {
+                rows.add(new Object[]{r.userId(), (int) Math.round(r.rating()), r.rating(), r.deviation(), r.volatility()});
+            }
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+            return new Closed(games.size(), rated.size(), computed);
+        });
+        if (closed == null) {
+            return;
+        }
+        leaderboardService.rebuild();
+
+        log.info("Rating period closed: {} games, {} players, computed in {} ms, total {} ms",
+                closed.games(), closed.players(),
+                Duration.ofNanos(closed.computedAtNanos() - started).toMillis(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    /**
+     * Marks every game that ended before the cutoff as rated. Must run in the transaction that stores the ratings,
+     * so the games are rated again if it rolls back.
+     *
+     * @return the results of those with two players; games another node claims first are not returned
+     */
+    private List<GameResult> claimUnratedResults(LocalDateTime cutoff) {
+        return jdbcTemplate.query(CLAIM, (rs, rowNum) -> new GameResult(
+                        rs.getObject("player1_id", Long.class),
+                        rs.getObject("player2_id", Long.class),
+                        rs.getObject("winner_id", Long.class)), Timestamp.valueOf(cutoff))
+                .stream()
+                .filter(game -> game.player1Id() != null && game.player2Id() != null)
+                .toList();
+    }
+}
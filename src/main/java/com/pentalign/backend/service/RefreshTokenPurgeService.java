@@ -0,0 +1,81 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Service that deletes expired refresh tokens.
+ * Abandoned tokens are never presented again, so nothing else would remove them. Every
+ * {@code jwt.refresh.purge-interval-ms}, expired rows are deleted through the expiry index in chunks of
+ * {@code jwt.refresh.purge-batch-size}, each in its own short transaction, so a purge never holds
+ * locks long enough to stall logins and refreshes.
+ * Rows removed and time taken are published as {@code refresh_tokens.purged} and {@code refresh_tokens.purge}.
+ */
+@Service
+@Slf4j
+public class RefreshTokenPurgeService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter purged;
+    private final Timer duration;
+
+    public RefreshTokenPurgeService(RefreshTokenRepository refreshTokenRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${jwt.refresh.purge-batch-size:1000}") int batchSize,
+                                    @Value("${jwt.refresh.purge-max-batches:1000}") int maxBatches) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.purged = Counter.builder("refresh_tokens.purged")
+                .description("Expired refresh tokens deleted by the purge")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.duration = Timer.builder("refresh_tokens.purge")
+                .description("Time taken by one purge of expired refresh tokens")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Deletes every refresh token that had expired when the purge started, up to
+     * {@code jwt.refresh.purge-max-batches} chunks; anything left goes to the next run.
+     *
+     * @return the number of rows deleted
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}",
+            initialDelayString = "${jwt.refresh.purge-initial-delay-ms:60000}")
+    public int purge() {
+        Instant now = Instant.now();
+        long started = System.nanoTime();
+        int total = 0;
+        int batches = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> refreshTokenRepository.deleteExpired(now, batchSize));
+            total += deleted;
+            purged.increment(deleted);
+        } while (deleted == batchSize && ++batches < maxBatches);
+
+        long elapsed = System.nanoTime() - started;
+        duration.record(Duration.ofNanos(elapsed));
+        if (total > 0) {
+            log.info("Purged {} expired refresh tokens in {} ms", total, Duration.ofNanos(elapsed).toMillis());
+        }
+        return total;
+    }
+}
@@ -1,79 +1,181 @@
 package com.pentalign.backend.service;
 
-import com.pentalign.backend.entities.RefreshToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.pentalign.backend.entities.User;
+import com.pentalign.backend.exception.InvalidRefreshTokenException;
 import com.pentalign.backend.exception.RefreshTokenExpiredException;
 import com.pentalign.backend.repository.RefreshTokenRepository;
-import com.pentalign.backend.repository.UserRepository;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import com.pentalign.backend.security.UserTokenRevocations;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
-import java.util.Optional;
-import java.util.UUID;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Service for managing refresh tokens for user authentication.
+ * Only the SHA-256 of a token is stored. Every refresh rotates the token, and a bounded in-memory
+ * index maps active token hashes to their owner, so a refresh is a single conditional UPDATE
+ * and a logout a single DELETE, with no token lookup or user load.
+ * Rotated-out hashes are remembered for one token lifetime: presenting one again means the token
+ * was copied, and every session of its owner is revoked.
+ * The index is per node and can be stale, so anything that deletes tokens checks the stored row first.
  */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class RefreshTokenService {
 
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final UserRepository userRepository;
+    private static final int TOKEN_BYTES = 32;
 
-    @Value("${jwt.refresh.expiration-ms}")
-    private Long refreshTokenDurationMs;
+    private static final String UPSERT = """
+            INSERT INTO refresh_tokens (user_id, token, expiry_date) VALUES (?, ?, ?)
+            ON CONFLICT (user_id) DO UPDATE SET token = EXCLUDED.token, expiry_date = EXCLUDED.expiry_date
+            """;
 
     /**
-     * Creates a new refresh token for the specified user.
-     * Deletes any existing tokens for the user before creating a new one.
+     * Owner of an active refresh token.
+     */
+    public record TokenOwner(Long userId, String username, Instant expiryDate) {
+    }
+
+    /**
+     * Result of a refresh.
      *
-     * @param userId the user ID
-     * @return the created refresh token
+     * @param userId       the owner
+     * @param username     the owner's username
+     * @param refreshToken the new refresh token, replacing the presented one
      */
-    @Transactional
-    public RefreshToken createRefreshToken(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        // Delete existing token(s) for this user
-        deleteByUserId(userId);
-
-        RefreshToken rt = RefreshToken.builder()
-                .user(user)
-                .token(UUID.randomUUID().toString())
-                .expiryDate(Instant.now().plusMillis(refreshTokenDurationMs))
-                .build();
+    public record Rotation(Long userId, String username, String refreshToken) {
+    }
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserTokenRevocations userTokenRevocations;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration refreshTokenDuration;
+    private final SecureRandom random = new SecureRandom();
 
-        return refreshTokenRepository.save(rt);
+    private final Cache<String, TokenOwner> activeTokens;
+    private final Cache<Long, String> currentTokenByUser;
+    private final Cache<String, Long> rotatedTokens;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserTokenRevocations userTokenRevocations,
+                               JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${jwt.refresh.expiration-ms}") long refreshTokenDurationMs,
+                               @Value("${jwt.refresh.index-size:100000}") long indexSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userTokenRevocations = userTokenRevocations;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.refreshTokenDuration = Duration.ofMillis(refreshTokenDurationMs);
+        this.activeTokens = Caffeine.newBuilder()
+                .maximumSize(indexSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .build();
+        this.currentTokenByUser = Caffeine.newBuilder()
+                .maximumSize(indexSize)
+                .expireAfterWrite(refreshTokenDuration)
+                .build();
+        this.rotatedTokens = Caffeine.newBuilder()
+                .maximumSize(indexSize)
+                .expireAfterWrite(refreshTokenDuration)
+                .build();
     }
 
     /**
-     * Finds a refresh token by its token string.
+     * Issues a new refresh token for the user, replacing any previous one.
      *
-     * @param token the token string
-     * @return an optional containing the refresh token if found
+     * @param user the user
+     * @return the token, to be sent to the client; it is not stored anywhere
      */
-    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+    public String issue(User user) {
+        String token = newToken();
+        String hash = hash(token);
+        Instant expiryDate = Instant.now().plus(refreshTokenDuration);
+        jdbcTemplate.update(UPSERT, user.getId(), hash, Timestamp.from(expiryDate));
+
+        activeTokens.put(hash, new TokenOwner(user.getId(), user.getUsername(), expiryDate));
+        String previous = currentTokenByUser.asMap().put(user.getId(), hash);
+        if (previous != null) {
+            activeTokens.invalidate(previous);
+        }
+        return token;
     }
 
     /**
-     * Verifies if the refresh token is expired and deletes it if so.
+     * Exchanges a refresh token for a new one.
      *
-     * @param token the refresh token to verify
-     * @throws RuntimeException if the token is expired
+     * @param token the presented refresh token
+     * @return the owner and the new token
+     * @throws RefreshTokenExpiredException if the token has expired
+     * @throws InvalidRefreshTokenException if the token is unknown or was already used
      */
-    public void verifyExpiration(RefreshToken token) {
-        if (token.getExpiryDate().isBefore(Instant.now())) {
-            refreshTokenRepository.delete(token);
+    public Rotation rotate(String token) {
+        String hash = hash(token);
+        TokenOwner owner = ownerOf(hash);
+        Instant now = Instant.now();
+        if (owner.expiryDate().isBefore(now)) {
+            deleteByUserId(owner.userId());
             throw new RefreshTokenExpiredException(
-                    "Refresh token expired on " + token.getExpiryDate() + ". Please login again."
-            );
+                    "Refresh token expired on " + owner.expiryDate() + ". Please login again.");
+        }
+
+        String next = newToken();
+        String nextHash = hash(next);
+        Instant expiryDate = now.plus(refreshTokenDuration);
+        Integer rotated = transactionTemplate.execute(status ->
+                refreshTokenRepository.rotate(hash, nextHash, expiryDate, now));
+        activeTokens.invalidate(hash);
+        if (rotated == null || rotated == 0) {
+            // lost a race with another refresh or a logout of the same token
+            throw new InvalidRefreshTokenException("Invalid refresh token");
+        }
+
+        rotatedTokens.put(hash, owner.userId());
+        activeTokens.put(nextHash, new TokenOwner(owner.userId(), owner.username(), expiryDate));
+        currentTokenByUser.put(owner.userId(), nextHash);
+        return new Rotation(owner.userId(), owner.username(), next);
+    }
+
+    /**
+     * Revokes a refresh token, e.g. on logout.
+     *
+     * @param token the presented refresh token
+     * @return the ID of the token's owner
+     * @throws InvalidRefreshTokenException if the token is unknown or was already used
+     */
+    public Long revoke(String token) {
+        String hash = hash(token);
+        // another node may have rotated the token since this node indexed it, only the stored row counts
+        TokenOwner owner = refreshTokenRepository.findOwnerByTokenHash(hash).orElse(null);
+        if (owner == null) {
+            activeTokens.invalidate(hash);
+            throw rejectUnknown(hash);
+        }
+        Integer deleted = transactionTemplate.execute(status -> refreshTokenRepository.deleteByTokenHash(hash));
+        activeTokens.invalidate(hash);
+        if (deleted == null || deleted == 0) {
+            // lost a race with a refresh of the same token
+            throw new InvalidRefreshTokenException("Invalid refresh token");
         }
+        currentTokenByUser.asMap().remove(owner.userId(), hash);
+        return owner.userId();
     }
 
     /**
@@ -81,8 +183,83 @@ public class RefreshTokenService {
      *
      * @param userId the user ID
      */
-    @Transactional
     public void deleteByUserId(Long userId) {
-        refreshTokenRepository.deleteByUser(userId);
+        transactionTemplate.executeWithoutResult(status -> refreshTokenRepository.deleteByUser(userId));
+        String current = currentTokenByUser.asMap().remove(userId);
+        if (current != null) {
+            activeTokens.invalidate(current);
+        }
+    }
+
+    private TokenOwner ownerOf(String hash) {
+        TokenOwner owner = activeTokens.getIfPresent(hash);
+        if (owner != null) {
+            return owner;
+        }
+        if (rotatedTokens.getIfPresent(hash) != null) {
+            throw rejectUnknown(hash);
+        }
+        // not indexed on this node: evicted, issued before a restart or by another node
+        owner = refreshTokenRepository.findOwnerByTokenHash(hash)
+                .orElseThrow(() -> new InvalidRefreshTokenException("Invalid refresh token"));
+        activeTokens.put(hash, owner);
+        currentTokenByUser.put(owner.userId(), hash);
+        return owner;
+    }
+
+    /**
+     * Handles a token that is not, or no longer, stored. If it was rotated out on this node, it has been copied
+     * and every session of its owner is revoked.
+     *
+     * @return the exception to throw
+     */
+    private InvalidRefreshTokenException rejectUnknown(String hash) {
+        Long reusedBy = rotatedTokens.getIfPresent(hash);
+        if (reusedBy == null) {
+            return new InvalidRefreshTokenException("Invalid refresh token");
+        }
+        log.warn("Rotated refresh token presented again for user {}, revoking all sessions", reusedBy);
+        deleteByUserId(reusedBy);
+        userTokenRevocations.revokeAll(reusedBy);
+        return new InvalidRefreshTokenException("Refresh token was already used. Please login again.");
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    static String hash(String token) {
+        if (token == null || token.isBlank()) {
+            throw new InvalidRefreshTokenException("Refresh token is required");
+        }
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Keeps an indexed token until its own expiry date.
+     */
+    private static final class ExpireAtTokenExpiry implements Expiry<String, TokenOwner> {
+        @Override
+        public long expireAfterCreate(String hash, TokenOwner owner, long currentTime) {
+            long remainingMs = owner.expiryDate().toEpochMilli() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(String hash, TokenOwner owner, long currentTime, long currentDuration) {
+            return expireAfterCreate(hash, owner, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String hash, TokenOwner owner, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
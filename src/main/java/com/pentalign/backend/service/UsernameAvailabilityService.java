@@ -0,0 +1,102 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.registration.BloomFilter;
+import com.pentalign.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+/**
+ * Service that answers "is this username free" for the registration form.
+ * A {@link BloomFilter} over every username answers most checks for free names without a query;
+ * only names the filter might contain, taken ones and the rare false positive, are checked in the database.
+ * The filter is built at startup and every {@code registration.username-filter.rebuild-cron}, which also
+ * picks up users registered on other nodes and sizes it for growth; registrations on this node are added right away.
+ */
+@Service
+@Slf4j
+public class UsernameAvailabilityService {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    /** Filter being rebuilt, also receives new usernames so none are missed during the rebuild. */
+    private volatile BloomFilter building;
+
+    public UsernameAvailabilityService(UserRepository userRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${registration.username-filter.expected-users:1000000}") long expectedUsers,
+                                       @Value("${registration.username-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Builds a new filter from every username, sized for twice the current user count or
+     * {@code registration.username-filter.expected-users}, whichever is larger.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${registration.username-filter.rebuild-cron:0 30 * * * *}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        long users = userRepository.count();
+        BloomFilter next = new BloomFilter(Math.max(expectedUsers, 2 * users), falsePositiveRate);
+        building = next;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> usernames = userRepository.streamAllUsernames()) {
+                    usernames.forEach(next::add);
+                }
+            });
+            filter = next;
+        } finally {
+            building = null;
+        }
+        log.info("Username filter built: {} users, {} KB, {} probes, in {} ms",
+                users, next.bitCount() / 8 / 1024, next.hashCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Records a newly registered username.
+     *
+     * @param username the username
+     */
+    public void add(String username) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(username);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.add(username);
+        }
+    }
+
+    /**
+     * @param username the wanted username
+     * @return true if no user has this username and it is not reserved
+     */
+    public boolean isAvailable(String username) {
+        if (AiPlayerService.isReserved(username)) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(username)) {
+            return true;
+        }
+        return !userRepository.existsByUsername(username);
+    }
+}
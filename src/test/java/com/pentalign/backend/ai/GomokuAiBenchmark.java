@@ -0,0 +1,81 @@
+package com.pentalign.backend.ai;
+
+import com.pentalign.backend.engine.GameBoard;
+import com.pentalign.backend.enums.AiLevel;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search speed of {@link GomokuAi} on a fixed middle-game position, with an empty transposition table
+ * for every move. The {@code nodes} counter is reported as nodes/sec; compare {@code threads} to see
+ * how the parallel root split scales.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class GomokuAiBenchmark {
+
+    @Param({"1", "4"})
+    public int threads;
+
+    @Param({"MEDIUM", "HARD"})
+    public AiLevel level;
+
+    private ForkJoinPool pool;
+    private GomokuAi ai;
+    private Position position;
+
+    /**
+     * Positions visited, reported per second next to the moves per second.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Nodes {
+        public long nodes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        ai = new GomokuAi(pool, 1 << 20);
+        GameBoard board = GomokuAiTest.board(
+                new int[]{7, 7}, new int[]{7, 8}, new int[]{8, 8}, new int[]{6, 6}, new int[]{8, 7}, new int[]{8, 6},
+                new int[]{9, 7}, new int[]{6, 7}, new int[]{6, 8}, new int[]{10, 6}, new int[]{5, 9}, new int[]{9, 9});
+        position = Position.of(board);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        ai.clearTable();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public AiMove chooseMove(Nodes counter) {
+        AiMove move = ai.chooseMove(position, level, TimeUnit.MILLISECONDS.toNanos(250));
+        counter.nodes += move.nodes();
+        return move;
+    }
+}
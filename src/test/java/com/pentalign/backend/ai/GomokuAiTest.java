@@ -0,0 +1,135 @@
+package com.pentalign.backend.ai;
+
+import com.pentalign.backend.engine.Bitboard;
+import com.pentalign.backend.engine.GameBoard;
+import com.pentalign.backend.enums.AiLevel;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GomokuAiTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    private final GomokuAi ai = new GomokuAi(POOL, 1 << 16);
+
+    @AfterAll
+    static void shutdown() {
+        POOL.shutdownNow();
+    }
+
+    /** Plays the moves alternately, X first. */
+    static GameBoard board(int[]... moves) {
+        GameBoard board = new GameBoard();
+        for (int[] move : moves) {
+            board.play(move[0], move[1]);
+        }
+        return board;
+    }
+
+    @Test
+    void shouldOpenInTheCenter() {
+        AiMove move = ai.chooseMove(Position.of(new GameBoard()), AiLevel.EASY);
+
+        assertEquals(7, move.row());
+        assertEquals(7, move.col());
+    }
+
+    @Test
+    void shouldCompleteFive() {
+        GameBoard board = board(new int[]{7, 3}, new int[]{0, 0}, new int[]{7, 4}, new int[]{0, 2},
+                new int[]{7, 5}, new int[]{0, 4}, new int[]{7, 6}, new int[]{14, 14});
+
+        AiMove move = ai.chooseMove(Position.of(board), AiLevel.EASY);
+
+        assertEquals(7, move.row());
+        assertTrue(move.col() == 2 || move.col() == 7);
+    }
+
+    @Test
+    void shouldBlockAFour() {
+        // X threatens five at (7, 7) only, (7, 2) is taken by O
+        GameBoard board = board(new int[]{7, 3}, new int[]{7, 2}, new int[]{7, 4}, new int[]{0, 0},
+                new int[]{7, 5}, new int[]{0, 2}, new int[]{7, 6});
+
+        AiMove move = ai.chooseMove(Position.of(board), AiLevel.HARD);
+
+        assertEquals(Bitboard.index(7, 7), move.cell());
+    }
+
+    @Test
+    void shouldFindAWinByContinuousFours() {
+        // X to move with an open three: extending it to an open four wins
+        GameBoard board = board(new int[]{7, 5}, new int[]{0, 0}, new int[]{7, 6}, new int[]{0, 2},
+                new int[]{7, 7}, new int[]{14, 4});
+
+        AiMove move = ai.chooseMove(Position.of(board), AiLevel.MEDIUM);
+
+        assertEquals(7, move.row());
+        assertTrue(move.col() == 4 || move.col() == 8);
+        assertTrue(move.score() >= Searcher.WIN_BOUND);
+    }
+
+    @Test
+    void shouldStayWithinTheTimeBudget() {
+        Random random = new Random(3);
+        GameBoard board = new GameBoard();
+        board.play(7, 7);
+        while (board.getMoveCount() < 16) {
+            int row = 4 + random.nextInt(7);
+            int col = 4 + random.nextInt(7);
+            if (!board.isOccupied(row, col)) {
+                board.play(row, col);
+            }
+        }
+        long budget = TimeUnit.MILLISECONDS.toNanos(100);
+
+        long started = System.nanoTime();
+        AiMove move = ai.chooseMove(Position.of(board), AiLevel.HARD, budget);
+        long elapsed = System.nanoTime() - started;
+
+        assertTrue(elapsed < budget + TimeUnit.MILLISECONDS.toNanos(50), "took " + elapsed / 1_000_000 + " ms");
+        assertFalse(board.isOccupied(move.row(), move.col()));
+    }
+
+    @Test
+    void shouldRestorePositionOnUndo() {
+        Position position = Position.of(board(new int[]{7, 7}, new int[]{7, 8}, new int[]{8, 8}));
+        Position before = position.copy();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 60; i++) {
+            int cell;
+            do {
+                cell = random.nextInt(Bitboard.CELLS);
+            } while (!position.isEmpty(cell));
+            position.play(cell);
+        }
+        for (int i = 0; i < 60; i++) {
+            position.undo();
+        }
+
+        assertEquals(before.hash, position.hash);
+        assertEquals(before.score, position.score);
+        assertArrayEquals(before.fours, position.fours);
+        assertArrayEquals(before.near, position.near);
+    }
+
+    @Test
+    void shouldRoundTripTableEntries() {
+        TranspositionTable table = new TranspositionTable(1024);
+        table.store(12345L, -777, 9, TranspositionTable.LOWER, 224);
+
+        long entry = table.probe(12345L);
+        assertEquals(-777, TranspositionTable.scoreOf(entry));
+        assertEquals(9, TranspositionTable.depthOf(entry));
+        assertEquals(TranspositionTable.LOWER, TranspositionTable.boundOf(entry));
+        assertEquals(224, TranspositionTable.moveOf(entry));
+        assertEquals(TranspositionTable.MISS, table.probe(12345L + 1024));
+    }
+}
@@ -0,0 +1,147 @@
+package com.pentalign.backend.book;
+
+import com.pentalign.backend.engine.Bitboard;
+import com.pentalign.backend.engine.GameBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+
+    private static final int[] GAME = {
+            Bitboard.index(7, 7), Bitboard.index(6, 9), Bitboard.index(8, 8),
+            Bitboard.index(6, 6), Bitboard.index(9, 9), Bitboard.index(5, 10)
+    };
+
+    @TempDir
+    Path dir;
+
+    private static int[] transform(int symmetry, int[] cells) {
+        int[] out = new int[cells.length];
+        for (int i = 0; i < cells.length; i++) {
+            out[i] = Symmetry.apply(symmetry, cells[i]);
+        }
+        return out;
+    }
+
+    private static BookPosition after(int[] cells, int plies) {
+        BookPosition position = new BookPosition();
+        for (int i = 0; i < plies; i++) {
+            position.play(cells[i]);
+        }
+        return position;
+    }
+
+    @Test
+    void shouldMapEveryCellBackWithTheInverse() {
+        Set<Integer> images = new HashSet<>();
+        for (int s = 0; s < Symmetry.COUNT; s++) {
+            images.add(Symmetry.apply(s, Bitboard.index(2, 5)));
+            for (int cell = 0; cell < Bitboard.CELLS; cell++) {
+                assertEquals(cell, Symmetry.apply(Symmetry.inverse(s), Symmetry.apply(s, cell)));
+            }
+        }
+        assertEquals(Symmetry.COUNT, images.size());
+        assertEquals(Bitboard.index(7, 7), Symmetry.apply(5, Bitboard.index(7, 7)));
+    }
+
+    @Test
+    void shouldGiveSymmetricPositionsTheSameKey() {
+        long key = after(GAME, 4).key();
+        for (int s = 1; s < Symmetry.COUNT; s++) {
+            assertEquals(key, after(transform(s, GAME), 4).key());
+        }
+        assertNotEquals(key, after(GAME, 3).key());
+    }
+
+    @Test
+    void shouldAggregateGamesUnderAllSymmetries() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(6, 16);
+        for (int s = 0; s < Symmetry.COUNT; s++) {
+            builder.addGame(transform(s, GAME), s < 6 ? 0 : OpeningBookBuilder.DRAW);
+        }
+        Path path = dir.resolve("book.bin");
+        builder.write(path, 1);
+
+        OpeningBook book = OpeningBook.open(path);
+        assertEquals(8, book.getGames());
+        assertEquals(6, book.size());
+
+        // looked up from a mirrored game, the move comes back in that game's orientation
+        int[] mirrored = transform(6, GAME);
+        List<OpeningBook.Move> moves = book.movesFor(after(mirrored, 2));
+        assertEquals(1, moves.size());
+        OpeningBook.Move move = moves.get(0);
+        assertEquals(mirrored[2], move.cell());
+        assertEquals(8, move.games());
+        assertEquals(6, move.wins());
+        assertEquals(2, move.draws());
+        assertEquals(0.875, move.score(), 1e-9);
+
+        // O's replies are counted as O's losses
+        assertEquals(0, book.movesFor(after(GAME, 3)).get(0).wins());
+    }
+
+    @Test
+    void shouldKeepOnlyMovesPlayedOftenEnough() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(2, 16);
+        builder.addGame(new int[]{Bitboard.index(7, 7), Bitboard.index(7, 8)}, 0);
+        builder.addGame(new int[]{Bitboard.index(7, 7), Bitboard.index(8, 8)}, 1);
+        builder.addGame(new int[]{Bitboard.index(7, 7), Bitboard.index(8, 8)}, 1);
+        Path path = dir.resolve("book.bin");
+        builder.write(path, 2);
+
+        OpeningBook book = OpeningBook.open(path);
+        List<OpeningBook.Move> replies = book.movesFor(after(new int[]{Bitboard.index(7, 7)}, 1));
+        assertEquals(1, replies.size());
+        assertEquals(2, replies.get(0).wins());
+        assertEquals(3, book.movesFor(new BookPosition()).get(0).games());
+        assertTrue(book.movesFor(after(GAME, 2)).isEmpty(), "past the book's depth");
+    }
+
+    @Test
+    void shouldMergeBuilders() throws IOException {
+        OpeningBookBuilder first = new OpeningBookBuilder(4, 16);
+        OpeningBookBuilder second = new OpeningBookBuilder(4, 16);
+        first.addGame(GAME, 0);
+        second.addGame(transform(3, GAME), 0);
+        first.merge(second);
+        Path path = dir.resolve("book.bin");
+        first.write(path, 1);
+
+        OpeningBook book = OpeningBook.open(path);
+        assertEquals(2, book.getGames());
+        assertEquals(2, book.movesFor(new BookPosition()).get(0).games());
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new OpeningBookBuilder(5, 16)));
+    }
+
+    @Test
+    void shouldReadBoardPositions() throws IOException {
+        OpeningBookBuilder builder = new OpeningBookBuilder(6, 16);
+        builder.addGame(GAME, 0);
+        Path path = dir.resolve("book.bin");
+        builder.write(path, 1);
+
+        GameBoard board = new GameBoard();
+        board.play(7, 7);
+        board.play(6, 9);
+        List<OpeningBook.Move> moves = OpeningBook.open(path).movesFor(BookPosition.of(board));
+
+        assertEquals(List.of(new OpeningBook.Move(GAME[2], 1, 1, 0)), moves);
+    }
+
+    @Test
+    void shouldRejectOtherFiles() throws IOException {
+        Path path = Files.write(dir.resolve("book.bin"), new byte[64]);
+
+        assertThrows(IllegalArgumentException.class, () -> OpeningBook.open(path));
+    }
+}
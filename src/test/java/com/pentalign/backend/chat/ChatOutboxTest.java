@@ -0,0 +1,94 @@
+package com.pentalign.backend.chat;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatOutboxTest {
+
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    private final List<String> delivered = new ArrayList<>();
+
+    private final ChatOutbox outbox = new ChatOutbox(3, 2, tasks::add, new ChatOutbox.Sink() {
+        @Override
+        public void send(String username, byte[] frame) {
+            delivered.add(username + ":" + new String(frame));
+        }
+
+        @Override
+        public void gap(String username, int dropped) {
+            delivered.add(username + ":gap " + dropped);
+        }
+    });
+
+    private void runAll() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    @Test
+    void shouldScheduleOneDrainPerUserAndDeliverInBatches() {
+        outbox.offer("alice", "1".getBytes());
+        outbox.offer("alice", "2".getBytes());
+        outbox.offer("alice", "3".getBytes());
+        outbox.offer("bob", "x".getBytes());
+
+        assertEquals(2, tasks.size());
+        tasks.poll().run();
+        // alice got one batch and was re-queued behind bob
+        assertEquals(List.of("alice:1", "alice:2"), delivered);
+
+        runAll();
+        assertEquals(List.of("alice:1", "alice:2", "bob:x", "alice:3"), delivered);
+        assertEquals(0, outbox.pending("alice"));
+    }
+
+    @Test
+    void shouldDropOldestAndCoalesceIntoOneGapWhenFull() {
+        for (int i = 1; i <= 6; i++) {
+            boolean kept = outbox.offer("alice", String.valueOf(i).getBytes());
+            assertEquals(i <= 3, kept);
+        }
+        assertEquals(3, outbox.pending("alice"));
+
+        runAll();
+
+        assertEquals(List.of("alice:gap 3", "alice:4", "alice:5", "alice:6"), delivered);
+    }
+
+    @Test
+    void shouldKeepARemovedQueueUntilItsDrainFinishes() {
+        outbox.offer("alice", "1".getBytes());
+        outbox.remove("alice");
+        // the drain is already scheduled, so the queue stays and takes the next frame
+        assertEquals(1, outbox.size());
+        outbox.offer("alice", "2".getBytes());
+        assertEquals(1, tasks.size());
+
+        runAll();
+
+        assertEquals(List.of("alice:2"), delivered);
+        assertEquals(0, outbox.size());
+
+        outbox.offer("alice", "3".getBytes());
+        runAll();
+        assertEquals(List.of("alice:2", "alice:3"), delivered);
+    }
+
+    @Test
+    void shouldForgetAnIdleQueueRightAway() {
+        outbox.offer("alice", "1".getBytes());
+        runAll();
+
+        outbox.remove("alice");
+
+        assertEquals(0, outbox.size());
+    }
+}
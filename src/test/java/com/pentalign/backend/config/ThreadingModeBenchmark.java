@@ -0,0 +1,102 @@
+package com.pentalign.backend.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform versus virtual request threads under the same burst of blocking requests.
+ * Each request does a little CPU work and waits {@code dbMillis} on a "connection", standing in for a JDBC call;
+ * {@code connections = 0} models an unbounded database, otherwise requests queue for the pool as they would on Hikari.
+ * {@code platform} is a fixed pool of 200 threads like Tomcat's default, {@code virtual} one virtual thread per request
+ * like {@code spring.threads.virtual.enabled=true}. Sample time gives the burst latency percentiles;
+ * throughput is {@code requests} per op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final int TOMCAT_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"0", "21"})
+    public int connections;
+
+    @Param({"2000"})
+    public int requests;
+
+    @Param({"5"})
+    public int dbMillis;
+
+    private ExecutorService executor;
+    private Semaphore pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = "virtual".equals(threads)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_THREADS);
+        pool = connections > 0 ? new Semaphore(connections, true) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<Long>> results = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            long seed = i;
+            results.add(executor.submit(() -> request(seed)));
+        }
+        long sum = 0;
+        for (Future<Long> result : results) {
+            sum += result.get();
+        }
+        return sum;
+    }
+
+    private long request(long seed) throws InterruptedException {
+        long h = seed;
+        for (int i = 0; i < 2_000; i++) {
+            h = h * 31 + i;
+        }
+        if (pool != null) {
+            pool.acquire();
+        }
+        try {
+            Thread.sleep(dbMillis);
+        } finally {
+            if (pool != null) {
+                pool.release();
+            }
+        }
+        return h;
+    }
+}
@@ -0,0 +1,77 @@
+package com.pentalign.backend.engine;
+
+import com.pentalign.backend.enums.MoveOutcome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures single-threaded move throughput of {@link GameBoard}, i.e. moves/sec per core.
+ * Each invocation replays a fixed random game of {@value #MOVES} moves that contains no five-in-a-row,
+ * so every move pays for the full occupancy check and four-direction win scan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+public class GameBoardBenchmark {
+
+    static final int MOVES = 60;
+
+    private int[] rows;
+    private int[] cols;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        while (rows == null) {
+            List<Integer> cells = new ArrayList<>();
+            for (int i = 0; i < Bitboard.CELLS; i++) {
+                cells.add(i);
+            }
+            Collections.shuffle(cells, random);
+
+            GameBoard probe = new GameBoard();
+            int[] r = new int[MOVES];
+            int[] c = new int[MOVES];
+            boolean clean = true;
+            for (int i = 0; i < MOVES && clean; i++) {
+                r[i] = cells.get(i) / Bitboard.SIZE;
+                c[i] = cells.get(i) % Bitboard.SIZE;
+                clean = probe.play(r[i], c[i]) == MoveOutcome.CONTINUE;
+            }
+            if (clean) {
+                rows = r;
+                cols = c;
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MOVES)
+    public GameBoard playMoves() {
+        GameBoard board = new GameBoard();
+        for (int i = 0; i < MOVES; i++) {
+            board.play(rows[i], cols[i]);
+        }
+        return board;
+    }
+}
@@ -0,0 +1,120 @@
+package com.pentalign.backend.engine;
+
+import com.pentalign.backend.entities.GameMove;
+import com.pentalign.backend.enums.MoveOutcome;
+import com.pentalign.backend.enums.Stone;
+import com.pentalign.backend.exception.InvalidMoveException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameBoardTest {
+
+    @Test
+    void shouldAlternateSidesStartingWithX() {
+        GameBoard board = new GameBoard();
+
+        assertEquals(Stone.X, board.sideToMove());
+        board.play(7, 7);
+        assertEquals(Stone.O, board.sideToMove());
+        assertEquals(Stone.X, board.stoneAt(7, 7));
+    }
+
+    @Test
+    void shouldRejectOccupiedCell() {
+        GameBoard board = new GameBoard();
+        board.play(7, 7);
+
+        assertThrows(InvalidMoveException.class, () -> board.play(7, 7));
+        assertEquals(1, board.getMoveCount());
+    }
+
+    @Test
+    void shouldRejectCellOutsideBoard() {
+        GameBoard board = new GameBoard();
+
+        assertThrows(InvalidMoveException.class, () -> board.play(-1, 0));
+        assertThrows(InvalidMoveException.class, () -> board.play(0, Bitboard.SIZE));
+    }
+
+    @Test
+    void shouldDetectFiveInEveryDirection() {
+        int[][] directions = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+        for (int[] dir : directions) {
+            GameBoard board = new GameBoard();
+            MoveOutcome outcome = MoveOutcome.CONTINUE;
+            // X fills the line out of order so the winning stone lands in the middle
+            int[] order = {0, 1, 3, 4, 2};
+            for (int i = 0; i < order.length; i++) {
+                outcome = board.play(5 + dir[0] * order[i], 7 + dir[1] * order[i]);
+                if (i < order.length - 1) {
+                    assertEquals(MoveOutcome.CONTINUE, outcome);
+                    board.play(0, i);
+                }
+            }
+            assertEquals(MoveOutcome.WIN, outcome);
+            assertEquals(Stone.X, board.getWinner());
+            assertTrue(board.isFinished());
+        }
+    }
+
+    @Test
+    void shouldNotWinWithFourInARow() {
+        GameBoard board = new GameBoard();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(MoveOutcome.CONTINUE, board.play(7, i));
+            board.play(14, i);
+        }
+        assertFalse(board.isFinished());
+    }
+
+    @Test
+    void shouldRejectMovesAfterWin() {
+        GameBoard board = new GameBoard();
+        for (int i = 0; i < 4; i++) {
+            board.play(7, i);
+            board.play(8, i);
+        }
+        assertEquals(MoveOutcome.WIN, board.play(7, 4));
+
+        assertThrows(InvalidMoveException.class, () -> board.play(0, 14));
+    }
+
+    @Test
+    void shouldTakeBackTheWinningMove() {
+        GameBoard board = new GameBoard();
+        for (int i = 0; i < 4; i++) {
+            board.play(7, i);
+            board.play(8, i);
+        }
+        board.play(7, 4);
+
+        board.undo(7, 4);
+
+        assertFalse(board.isFinished());
+        assertNull(board.getWinner());
+        assertNull(board.stoneAt(7, 4));
+        assertEquals(Stone.X, board.sideToMove());
+        assertThrows(IllegalStateException.class, () -> board.undo(7, 3));
+        assertEquals(MoveOutcome.WIN, board.play(7, 4));
+    }
+
+    @Test
+    void shouldReplayMovesInMoveOrder() {
+        List<GameMove> moves = List.of(
+                GameMove.builder().moveOrder(2).row(0).col(0).build(),
+                GameMove.builder().moveOrder(1).row(7).col(7).build(),
+                GameMove.builder().moveOrder(3).row(7).col(8).build()
+        );
+
+        GameBoard board = GameBoard.replay(moves);
+
+        assertEquals(3, board.getMoveCount());
+        assertEquals(Stone.X, board.stoneAt(7, 7));
+        assertEquals(Stone.O, board.stoneAt(0, 0));
+        assertEquals(Stone.X, board.stoneAt(7, 8));
+        assertEquals(Stone.O, board.sideToMove());
+    }
+}
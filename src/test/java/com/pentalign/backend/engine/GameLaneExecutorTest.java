@@ -0,0 +1,95 @@
+package com.pentalign.backend.engine;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLaneExecutorTest {
+
+    private final GameLaneExecutor executor = new GameLaneExecutor(4);
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldKeepSerializingAfterReleaseDuringARunningTask() throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean();
+        AtomicInteger overlaps = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        Runnable task = () -> {
+            if (!running.compareAndSet(false, true)) {
+                overlaps.incrementAndGet();
+            }
+            started.countDown();
+            sleep(50);
+            running.set(false);
+            done.countDown();
+        };
+
+        executor.execute(1L, task);
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        executor.release(1L);
+        executor.execute(1L, task);
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        assertEquals(0, overlaps.get());
+    }
+
+    @Test
+    void shouldRemoveReleasedLaneOnceIdle() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(1L, done::countDown);
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+
+        executor.release(1L);
+
+        // the lane may still be finishing its loop; it closes itself once it has
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+        while (executor.size() != 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, executor.size());
+    }
+
+    @Test
+    void shouldEvictOnlyIdleLanes() throws InterruptedException {
+        CountDownLatch idle = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(1L, idle::countDown);
+        executor.execute(2L, () -> await(release));
+        assertTrue(idle.await(1, TimeUnit.SECONDS));
+        sleep(20);
+
+        List<Long> evicted = executor.evictIdle(0);
+
+        assertEquals(List.of(1L), evicted);
+        assertEquals(1, executor.size());
+        release.countDown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
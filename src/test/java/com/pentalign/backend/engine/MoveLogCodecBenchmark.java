@@ -0,0 +1,74 @@
+package com.pentalign.backend.engine;
+
+import com.pentalign.backend.entities.GameMove;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of packing and unpacking a finished game's move log.
+ * Loading a replay from the log is one column read plus {@link #decodeMoveLog()}, whereas the row path
+ * needs a query returning one {@code game_moves} row per move. Storage per game is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveLogCodecBenchmark {
+
+    /**
+     * Rough PostgreSQL cost of one game_moves row: 24 B tuple header, 8 B id, two 8 B foreign keys,
+     * three 4 B ints, an 8 B timestamp, plus two unique index entries of ~32 B each.
+     */
+    private static final int ESTIMATED_ROW_BYTES = 24 + 8 + 16 + 12 + 8 + 64;
+
+    private static final int MOVES = 120;
+
+    private List<GameMove> rows;
+    private byte[] packed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        LocalDateTime time = LocalDateTime.of(2025, 1, 1, 12, 0);
+        rows = new ArrayList<>(MOVES);
+        int row = 7;
+        int col = 7;
+        for (int i = 1; i <= MOVES; i++) {
+            row = Math.floorMod(row + random.nextInt(5) - 2, Bitboard.SIZE);
+            col = Math.floorMod(col + random.nextInt(5) - 2, Bitboard.SIZE);
+            time = time.plusNanos((500 + random.nextInt(8000)) * 1_000_000L);
+            rows.add(GameMove.builder().moveOrder(i).row(row).col(col).createdAt(time).build());
+        }
+        packed = MoveLogCodec.encode(rows);
+
+        System.out.printf("%nstorage per %d-move game: move_log %d B, game_moves ~%d B%n",
+                MOVES, packed.length, MOVES * ESTIMATED_ROW_BYTES);
+    }
+
+    @Benchmark
+    public List<MoveLogCodec.Entry> decodeMoveLog() {
+        return MoveLogCodec.decode(packed);
+    }
+
+    @Benchmark
+    public byte[] encodeMoveLog() {
+        return MoveLogCodec.encode(rows);
+    }
+}
@@ -0,0 +1,90 @@
+package com.pentalign.backend.engine;
+
+import com.pentalign.backend.entities.GameMove;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveLogCodecTest {
+
+    @Test
+    void shouldRoundTripMovesInMoveOrder() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 20, 15, 0, 123_000_000);
+        List<GameMove> moves = List.of(
+                GameMove.builder().moveOrder(2).row(7).col(8).createdAt(start.plusSeconds(3)).build(),
+                GameMove.builder().moveOrder(1).row(7).col(7).createdAt(start).build(),
+                GameMove.builder().moveOrder(3).row(0).col(14).createdAt(start.plusSeconds(9)).build()
+        );
+
+        List<MoveLogCodec.Entry> decoded = MoveLogCodec.decode(MoveLogCodec.encode(moves));
+
+        assertEquals(List.of(
+                new MoveLogCodec.Entry(1, 7, 7, start),
+                new MoveLogCodec.Entry(2, 7, 8, start.plusSeconds(3)),
+                new MoveLogCodec.Entry(3, 0, 14, start.plusSeconds(9))
+        ), decoded);
+    }
+
+    @Test
+    void shouldDecodeOnlyTheFirstCells() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 20, 15);
+        List<GameMove> moves = List.of(
+                GameMove.builder().moveOrder(1).row(7).col(7).createdAt(start).build(),
+                GameMove.builder().moveOrder(2).row(7).col(8).createdAt(start.plusSeconds(3)).build(),
+                GameMove.builder().moveOrder(3).row(0).col(14).createdAt(start.plusSeconds(9)).build()
+        );
+        byte[] log = MoveLogCodec.encode(moves);
+
+        assertArrayEquals(new int[]{Bitboard.index(7, 7), Bitboard.index(7, 8)}, MoveLogCodec.decodeCells(log, 2));
+        assertEquals(3, MoveLogCodec.decodeCells(log, 10).length);
+        assertEquals(0, MoveLogCodec.decodeCells(MoveLogCodec.encode(List.of()), 10).length);
+    }
+
+    @Test
+    void shouldEncodeEmptyGame() {
+        assertTrue(MoveLogCodec.decode(MoveLogCodec.encode(List.of())).isEmpty());
+    }
+
+    @Test
+    void shouldPackLocalMovesIntoFewBytes() {
+        LocalDateTime start = LocalDateTime.of(2025, 3, 1, 20, 0);
+        List<GameMove> moves = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            moves.add(GameMove.builder()
+                    .moveOrder(i + 1)
+                    .row(i / Bitboard.SIZE)
+                    .col(i % Bitboard.SIZE)
+                    .createdAt(start.plusSeconds(i * 2L))
+                    .build());
+        }
+
+        byte[] packed = MoveLogCodec.encode(moves);
+
+        assertTrue(packed.length < 100 * 4, "packed size was " + packed.length);
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class, () -> MoveLogCodec.decode(new byte[]{42}));
+        assertThrows(IllegalArgumentException.class, () -> MoveLogCodec.decode(new byte[]{MoveLogCodec.VERSION, 3, 1}));
+    }
+
+    @Test
+    void shouldRejectCellsOffTheBoard() {
+        // one move, delta -1 (zigzag 1) lands before the first cell
+        byte[] beforeFirst = {MoveLogCodec.VERSION, 1, 0, 1, 0};
+        // one move, delta 225 (zigzag 450 = varint C2 03) lands past the last cell
+        byte[] pastLast = {MoveLogCodec.VERSION, 1, 0, (byte) 0xC2, 3, 0};
+
+        assertThrows(IllegalArgumentException.class, () -> MoveLogCodec.decodeCells(beforeFirst, 10));
+        assertThrows(IllegalArgumentException.class, () -> MoveLogCodec.decodeCells(pastLast, 10));
+        assertThrows(IllegalArgumentException.class, () -> MoveLogCodec.decode(pastLast));
+        // a move count no board can hold
+        byte[] hugeCount = {MoveLogCodec.VERSION, -1, -1, -1, 1};
+        assertThrows(IllegalArgumentException.class, () -> MoveLogCodec.decodeCells(hugeCount, 10));
+    }
+}
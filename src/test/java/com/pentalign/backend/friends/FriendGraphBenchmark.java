@@ -0,0 +1,64 @@
+package com.pentalign.backend.friends;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures friend lookups on a graph of one million friendships between 100k users,
+ * and prints the graph's estimated heap footprint once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FriendGraphBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int FRIENDSHIPS = 1_000_000;
+
+    private final FriendGraph graph = new FriendGraph();
+    private long[] probes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        List<FriendGraph.Edge> edges = new ArrayList<>(FRIENDSHIPS);
+        for (int i = 0; i < FRIENDSHIPS; i++) {
+            edges.add(new FriendGraph.Edge(1L + random.nextInt(USERS), 1L + random.nextInt(USERS)));
+        }
+        graph.rebuild(edges);
+        probes = random.longs(1024, 1, USERS + 1).toArray();
+
+        System.out.printf("%nfriend graph: %d users, %d friendships, %.1f MB per million friendships%n",
+                graph.userCount(), graph.edgeCount(),
+                graph.footprintBytes() * 1_000_000.0 / graph.edgeCount() / (1024 * 1024));
+    }
+
+    @Benchmark
+    public boolean areFriends() {
+        int i = next++ & 1023;
+        return graph.areFriends(probes[i], probes[(i + 1) & 1023]);
+    }
+
+    @Benchmark
+    public long[] friendsOf() {
+        return graph.friendsOf(probes[next++ & 1023]);
+    }
+}
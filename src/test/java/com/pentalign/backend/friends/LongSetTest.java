@@ -0,0 +1,64 @@
+package com.pentalign.backend.friends;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongSetTest {
+
+    @Test
+    void shouldBehaveLikeHashSetUnderRandomOperations() {
+        LongSet set = new LongSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(5);
+
+        for (int i = 0; i < 200_000; i++) {
+            long value = random.nextInt(2000);
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.add(value), set.add(value));
+                case 1 -> assertEquals(expected.remove(value), set.remove(value));
+                default -> assertEquals(expected.contains(value), set.contains(value));
+            }
+        }
+
+        assertEquals(expected.size(), set.size());
+        long[] values = set.toArray();
+        Arrays.sort(values);
+        assertArrayEquals(expected.stream().mapToLong(Long::longValue).sorted().toArray(), values);
+    }
+
+    @Test
+    void shouldHoldZero() {
+        LongSet set = new LongSet();
+
+        assertTrue(set.add(0));
+        assertFalse(set.add(0));
+        assertTrue(set.contains(0));
+        assertArrayEquals(new long[]{0}, set.toArray());
+        assertTrue(set.remove(0));
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    void shouldKeepFriendshipsSymmetric() {
+        FriendGraph graph = new FriendGraph();
+
+        assertTrue(graph.add(1, 2));
+        assertFalse(graph.add(2, 1));
+        graph.add(1, 3);
+
+        assertTrue(graph.areFriends(2, 1));
+        assertEquals(2, graph.friendsOf(1).length);
+        assertEquals(2, graph.edgeCount());
+
+        assertTrue(graph.remove(2, 1));
+        assertFalse(graph.areFriends(1, 2));
+        assertEquals(0, graph.friendsOf(2).length);
+        assertEquals(1, graph.edgeCount());
+    }
+}
@@ -0,0 +1,87 @@
+package com.pentalign.backend.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeaderboardTest {
+
+    private final Leaderboard leaderboard = new Leaderboard();
+
+    @Test
+    void shouldRankByPointsThenUserId() {
+        leaderboard.update(3L, "c", 100);
+        leaderboard.update(1L, "a", 50);
+        leaderboard.update(2L, "b", 100);
+
+        assertEquals(1, leaderboard.entryOf(2L).rank());
+        assertEquals(2, leaderboard.entryOf(3L).rank());
+        assertEquals(3, leaderboard.entryOf(1L).rank());
+        assertNull(leaderboard.entryOf(4L));
+    }
+
+    @Test
+    void shouldMovePlayerWhenPointsChange() {
+        leaderboard.update(1L, "a", 10);
+        leaderboard.update(2L, "b", 20);
+
+        leaderboard.update(1L, "a", 30);
+
+        assertEquals(1, leaderboard.entryOf(1L).rank());
+        assertEquals(30, leaderboard.entryOf(1L).points());
+        assertEquals(2, leaderboard.size());
+
+        leaderboard.remove(1L);
+        assertEquals(1, leaderboard.entryOf(2L).rank());
+        assertEquals(1, leaderboard.size());
+    }
+
+    @Test
+    void shouldReturnPagesAndNeighbors() {
+        for (long id = 1; id <= 10; id++) {
+            leaderboard.update(id, "u" + id, (int) (100 - id));
+        }
+
+        List<Leaderboard.Entry> page = leaderboard.page(3, 4);
+        assertEquals(List.of(4L, 5L, 6L, 7L), page.stream().map(Leaderboard.Entry::userId).toList());
+        assertEquals(4, page.get(0).rank());
+        assertTrue(leaderboard.page(10, 5).isEmpty());
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), leaderboard.neighbors(2L, 2).stream().map(Leaderboard.Entry::userId).toList());
+        assertEquals(List.of(8L, 9L, 10L), leaderboard.neighbors(10L, 2).stream().map(Leaderboard.Entry::userId).toList());
+        assertTrue(leaderboard.neighbors(42L, 2).isEmpty());
+    }
+
+    @Test
+    void shouldMatchSortedOrderAfterRandomUpdates() {
+        Random random = new Random(7);
+        Map<Long, Integer> points = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            long userId = random.nextInt(1000);
+            if (random.nextInt(10) == 0) {
+                leaderboard.remove(userId);
+                points.remove(userId);
+            } else {
+                int p = random.nextInt(200);
+                leaderboard.update(userId, "u" + userId, p);
+                points.put(userId, p);
+            }
+        }
+
+        List<Long> expected = new ArrayList<>(points.keySet());
+        expected.sort(Comparator.comparing((Long id) -> -points.get(id)).thenComparing(id -> id));
+
+        assertEquals(expected.size(), leaderboard.size());
+        assertEquals(expected, leaderboard.page(0, expected.size()).stream().map(Leaderboard.Entry::userId).toList());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(i + 1, leaderboard.entryOf(expected.get(i)).rank());
+        }
+    }
+}
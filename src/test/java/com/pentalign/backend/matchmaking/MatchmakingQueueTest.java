@@ -0,0 +1,120 @@
+package com.pentalign.backend.matchmaking;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchmakingQueueTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MatchmakingQueue queue = new MatchmakingQueue(50, 50, 25, 1000);
+
+    @Test
+    void shouldPairClosestWaitingPlayer() {
+        // 85 points apart, so these two stay waiting
+        queue.enqueue(1L, "far", 955, 0);
+        queue.enqueue(2L, "close", 1040, 0);
+
+        Optional<MatchmakingQueue.Pair> pair = queue.enqueue(3L, "me", 1000, 0);
+
+        assertTrue(pair.isPresent());
+        assertEquals(2L, pair.get().second().getUserId());
+        assertTrue(queue.isWaiting(1L));
+        assertFalse(queue.isWaiting(2L));
+        assertFalse(queue.isWaiting(3L));
+    }
+
+    @Test
+    void shouldNotPairOutsideWindowUntilItWidens() {
+        queue.enqueue(1L, "low", 1000, 0);
+
+        assertTrue(queue.enqueue(2L, "high", 1200, 0).isEmpty());
+        assertTrue(queue.matchWaiting(2 * SECOND).isEmpty());
+
+        // 50 + 6 * 25 = 200 points after six seconds
+        List<MatchmakingQueue.Pair> pairs = queue.matchWaiting(6 * SECOND);
+        assertEquals(1, pairs.size());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    void shouldNotPairCancelledPlayer() {
+        queue.enqueue(1L, "gone", 1000, 0);
+        assertTrue(queue.cancel(1L));
+
+        assertTrue(queue.enqueue(2L, "me", 1000, 0).isEmpty());
+        assertFalse(queue.cancel(1L));
+    }
+
+    @Test
+    void shouldIgnoreDuplicateEnqueue() {
+        queue.enqueue(1L, "me", 1000, 0);
+
+        assertTrue(queue.enqueue(1L, "me", 1000, 0).isEmpty());
+        assertEquals(1, queue.size());
+    }
+
+    @Test
+    void shouldPairEveryPlayerAtMostOnceUnderContention() throws InterruptedException {
+        ConcurrentLinkedQueue<MatchmakingQueue.Pair> pairs = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (long id = 0; id < 10_000; id++) {
+            long userId = id;
+            pool.execute(() -> queue.enqueue(userId, "u" + userId, 1000 + (int) (userId % 40), 0)
+                    .ifPresent(pairs::add));
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        pairs.addAll(queue.matchWaiting(0));
+
+        Set<Long> seen = new HashSet<>();
+        List<Long> duplicates = new ArrayList<>();
+        for (MatchmakingQueue.Pair pair : pairs) {
+            for (Long id : List.of(pair.first().getUserId(), pair.second().getUserId())) {
+                if (!seen.add(id)) {
+                    duplicates.add(id);
+                }
+            }
+        }
+        assertTrue(duplicates.isEmpty(), "paired twice: " + duplicates);
+        assertEquals(10_000, seen.size() + queue.size());
+    }
+
+    @Test
+    void shouldNeverPairPlayerWhoseCancelSucceeded() throws InterruptedException {
+        Set<Long> cancelled = ConcurrentHashMap.newKeySet();
+        ConcurrentLinkedQueue<MatchmakingQueue.Pair> pairs = new ConcurrentLinkedQueue<>();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (long id = 0; id < 10_000; id++) {
+            long userId = id;
+            pool.execute(() -> queue.enqueue(userId, "u" + userId, 1000, 0).ifPresent(pairs::add));
+            if (id % 2 == 1) {
+                pool.execute(() -> {
+                    if (queue.cancel(userId - 1)) {
+                        cancelled.add(userId - 1);
+                    }
+                });
+            }
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (MatchmakingQueue.Pair pair : pairs) {
+            assertFalse(cancelled.contains(pair.first().getUserId()), "paired after cancel");
+            assertFalse(cancelled.contains(pair.second().getUserId()), "paired after cancel");
+        }
+        assertEquals(10_000, pairs.size() * 2 + cancelled.size() + queue.size());
+    }
+}
@@ -0,0 +1,48 @@
+package com.pentalign.backend.presence;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PresenceTrackerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final PresenceTracker tracker = new PresenceTracker(60 * SECOND, SECOND, 0);
+
+    @Test
+    void shouldExpireIdleUsersWhenTheirTickComesDue() {
+        tracker.touch(1, 0);
+        tracker.touch(2, 10 * SECOND);
+
+        assertEquals(0, tracker.advance(59 * SECOND));
+        assertEquals(1, tracker.advance(61 * SECOND));
+        assertFalse(tracker.isOnline(1, 61 * SECOND));
+        assertTrue(tracker.isOnline(2, 61 * SECOND));
+
+        assertEquals(1, tracker.advance(71 * SECOND));
+        assertEquals(0, tracker.size());
+    }
+
+    @Test
+    void shouldRescheduleUsersSeenAgain() {
+        tracker.touch(1, 0);
+        tracker.touch(1, 50 * SECOND);
+
+        assertEquals(0, tracker.advance(100 * SECOND));
+        assertTrue(tracker.isOnline(1, 100 * SECOND));
+        assertEquals(1, tracker.advance(111 * SECOND));
+    }
+
+    @Test
+    void shouldReturnOnlineSubsetInOrder() {
+        tracker.touch(3, 0);
+        tracker.touch(1, 0);
+        tracker.touch(5, 0);
+        tracker.remove(5);
+
+        assertArrayEquals(new long[]{1, 3}, tracker.online(new long[]{1, 2, 3, 4, 5}, SECOND));
+    }
+}
@@ -0,0 +1,64 @@
+package com.pentalign.backend.rating;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures one Glicko-2 rating period over a million games, the size of a busy day.
+ * Covers grouping the games per player and rating every player on all cores;
+ * loading and writing back the rows is left to the database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RatingPeriodBenchmark {
+
+    @Param({"1000000"})
+    private int games;
+
+    @Param({"100000"})
+    private int players;
+
+    private final RatingPeriod ratingPeriod = new RatingPeriod(new Glicko2(0.5));
+    private List<PlayerRating> current;
+    private List<GameResult> results;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        current = new ArrayList<>(players);
+        for (long id = 0; id < players; id++) {
+            current.add(new PlayerRating(id, 1500 + random.nextGaussian() * 200, 50 + random.nextInt(300), 0.06));
+        }
+        results = new ArrayList<>(games);
+        for (int i = 0; i < games; i++) {
+            long a = random.nextInt(players);
+            long b = (a + 1 + random.nextInt(players - 1)) % players;
+            int outcome = random.nextInt(3);
+            results.add(new GameResult(a, b, outcome == 0 ? null : outcome == 1 ? a : b));
+        }
+    }
+
+    @Benchmark
+    public List<PlayerRating> ratePeriod() {
+        return ratingPeriod.rate(current, results);
+    }
+}
@@ -0,0 +1,47 @@
+package com.pentalign.backend.rating;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingPeriodTest {
+
+    private final RatingPeriod ratingPeriod = new RatingPeriod(new Glicko2(0.5));
+
+    @Test
+    void shouldMatchGlickmanExample() {
+        List<PlayerRating> current = List.of(
+                new PlayerRating(1L, 1500, 200, 0.06),
+                new PlayerRating(2L, 1400, 30, 0.06),
+                new PlayerRating(3L, 1550, 100, 0.06),
+                new PlayerRating(4L, 1700, 300, 0.06));
+        List<GameResult> games = List.of(
+                new GameResult(1L, 2L, 1L),
+                new GameResult(3L, 1L, 3L),
+                new GameResult(1L, 4L, 4L));
+
+        PlayerRating player = ratingPeriod.rate(current, games).get(0);
+
+        assertEquals(1L, player.userId());
+        assertEquals(1464.06, player.rating(), 0.01);
+        assertEquals(151.52, player.deviation(), 0.01);
+        assertEquals(0.05999, player.volatility(), 0.00001);
+    }
+
+    @Test
+    void shouldGrowDeviationOfIdlePlayersAndRateNewcomers() {
+        List<PlayerRating> current = List.of(new PlayerRating(1L, 1600, 100, 0.06));
+
+        List<PlayerRating> rated = ratingPeriod.rate(current, List.of(new GameResult(2L, 3L, null)));
+
+        PlayerRating idle = rated.get(0);
+        assertEquals(1600, idle.rating(), 1e-9);
+        assertTrue(idle.deviation() > 100);
+
+        assertEquals(3, rated.size());
+        assertEquals(1500, rated.get(1).rating(), 1e-9);
+        assertTrue(rated.get(1).deviation() < Glicko2.DEFAULT_DEVIATION);
+    }
+}
@@ -0,0 +1,44 @@
+package com.pentalign.backend.registration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldNeverForgetAnAddedValue() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("player" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("player" + i));
+        }
+    }
+
+    @Test
+    void shouldStayNearItsFalsePositiveRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.add("player" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("someone" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 1_500, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void shouldSizeFromExpectedCountAndRate() {
+        BloomFilter filter = new BloomFilter(1_000_000, 0.01);
+
+        // about 9.6 bits and 7 probes per value at 1%
+        assertEquals(7, filter.hashCount());
+        assertTrue(filter.bitCount() >= 9_585_059 && filter.bitCount() < 9_585_059 + 64);
+        assertFalse(filter.mightContain("anyone"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.pentalign.backend.security;
+
+import com.pentalign.backend.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    /** Encodes by reversing, blocking on "slow" until released. */
+    private final PasswordEncoder slowEncoder = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if ("slow".contentEquals(rawPassword)) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new StringBuilder(rawPassword).reverse().toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void shouldHashOnThePoolAndRecordMetrics() {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 2, 4, 5_000, registry);
+
+        assertEquals("cba", encoder.encode("abc"));
+        assertTrue(encoder.matches("abc", "cba"));
+        assertFalse(encoder.matches("abc", "abc"));
+
+        assertEquals(3, registry.get("password_hashing.hash").timer().count());
+        assertEquals(3, registry.get("password_hashing.wait").timer().count());
+        assertEquals(0, registry.get("password_hashing.rejected").counter().count());
+    }
+
+    @Test
+    void shouldRejectWhenTheQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 5_000, registry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("abc"));
+        while (registry.get("password_hashing.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("xyz"));
+        assertEquals(1, registry.get("password_hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("wols", running.get(5, TimeUnit.SECONDS));
+        assertEquals("cba", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void shouldGiveUpAfterTheTimeout() throws Exception {
+        encoder = new BoundedPasswordEncoder(slowEncoder, 1, 1, 50, registry);
+
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("slow"));
+        assertEquals(1, registry.get("password_hashing.rejected").counter().count());
+    }
+}
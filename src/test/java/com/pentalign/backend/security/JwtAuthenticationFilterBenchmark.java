@@ -0,0 +1,80 @@
+package com.pentalign.backend.security;
+
+import com.pentalign.backend.config.JwtConfig;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.Role;
+import com.pentalign.backend.service.AccessTokenRevocationService;
+import com.pentalign.backend.service.CustomUserDetailsService;
+import com.pentalign.backend.service.PresenceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link JwtAuthenticationFilter} for one authenticated request, with a mock request
+ * and an in-memory user lookup standing in for a warm user-details cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    private JwtAuthenticationFilter filter;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtConfig config = new JwtConfig();
+        config.setSecret("mySecretKeyForTesting123456789012345678901234567890");
+        config.setExpirationMs(900_000L);
+        config.setStateless(stateless);
+
+        User user = User.builder().id(1L).username("player").password("hash").role(Role.USER).build();
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return user;
+            }
+        };
+
+        JwtService jwtService = new JwtService(config);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService,
+                new UserTokenRevocations(config, null, null, null),
+                new AccessTokenRevocationService(null, null, null), new PresenceService(60_000, 1_000));
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Authentication filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/test");
+        request.addHeader("penta-auth-token", token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
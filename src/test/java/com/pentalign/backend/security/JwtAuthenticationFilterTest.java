@@ -0,0 +1,79 @@
+package com.pentalign.backend.security;
+
+import com.pentalign.backend.config.JwtConfig;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.Role;
+import com.pentalign.backend.service.AccessTokenRevocationService;
+import com.pentalign.backend.service.CustomUserDetailsService;
+import com.pentalign.backend.service.PresenceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final User PLAYER = User.builder()
+            .id(1L).username("player").password("hash").role(Role.USER).build();
+
+    private final JwtService jwtService = new JwtService(jwtConfig());
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final UserTokenRevocations revocations = mock(UserTokenRevocations.class);
+    private final AccessTokenRevocationService accessTokenRevocations = mock(AccessTokenRevocationService.class);
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(jwtService, userDetailsService,
+            revocations, accessTokenRevocations, mock(PresenceService.class));
+
+    private static JwtConfig jwtConfig() {
+        JwtConfig config = new JwtConfig();
+        config.setSecret("mySecretKeyForTesting123456789012345678901234567890");
+        config.setExpirationMs(900_000L);
+        return config;
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/user/test");
+        request.addHeader("penta-auth-token", token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void shouldAuthenticateAValidToken() throws Exception {
+        when(userDetailsService.loadUserByUsername("player")).thenReturn(PLAYER);
+
+        Authentication authentication = filter(jwtService.generateToken(PLAYER));
+
+        assertNotNull(authentication);
+        assertSame(PLAYER, authentication.getPrincipal());
+    }
+
+    @Test
+    void shouldRejectARevokedToken() throws Exception {
+        String token = jwtService.generateToken(PLAYER);
+        when(userDetailsService.loadUserByUsername("player")).thenReturn(PLAYER);
+        when(accessTokenRevocations.isRevoked(jwtService.verify(token).getId())).thenReturn(true);
+
+        assertNull(filter(token));
+    }
+
+    @Test
+    void shouldRejectATokenIssuedBeforeTheUsersCutoff() throws Exception {
+        when(userDetailsService.loadUserByUsername("player")).thenReturn(PLAYER);
+        when(revocations.isRevoked(eq(1L), any())).thenReturn(true);
+
+        assertNull(filter(jwtService.generateToken(PLAYER)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.pentalign.backend.security;
+
+import com.pentalign.backend.config.JwtConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and per-request token verification cost.
+ * {@code threeParses} reproduces the former filter path (extractUsername, then isTokenValid doing
+ * extractUsername and isTokenExpired, each rebuilding the key); {@code singleParse} is one
+ * verification with the cache disabled; {@code cachedVerify} is a repeat request for the same token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "mySecretKeyForTesting123456789012345678901234567890";
+
+    private JwtService uncachedService;
+    private JwtService cachedService;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncachedService = new JwtService(config(0));
+        cachedService = new JwtService(config(10_000));
+        userDetails = new User("testuser", "password", Collections.emptyList());
+        token = cachedService.generateToken(userDetails);
+        cachedService.verify(token);
+    }
+
+    private static JwtConfig config(int cacheSize) {
+        JwtConfig config = new JwtConfig();
+        config.setSecret(SECRET);
+        config.setExpirationMs(900_000L);
+        config.setVerifiedCacheSize(cacheSize);
+        return config;
+    }
+
+    private static Claims parseWithFreshKey(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public boolean threeParses() {
+        String username = parseWithFreshKey(token).getSubject();
+        return username.equals(parseWithFreshKey(token).getSubject())
+                && !parseWithFreshKey(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParse() {
+        return uncachedService.areClaimsValid(uncachedService.verify(token), userDetails);
+    }
+
+    @Benchmark
+    public boolean cachedVerify() {
+        return cachedService.areClaimsValid(cachedService.verify(token), userDetails);
+    }
+}
@@ -1,6 +1,9 @@
 package com.pentalign.backend.security;
 
 import com.pentalign.backend.config.JwtConfig;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.Role;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,11 +11,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.Collections;
-
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.lenient;
 
@@ -37,7 +37,7 @@ class JwtServiceTest {
         lenient().when(jwtConfig.getExpirationMs()).thenReturn(900000L); // 15 minutes
 
         jwtService = new JwtService(jwtConfig);
-        userDetails = new User("testuser", "password", Collections.emptyList());
+        userDetails = User.builder().username("testuser").password("password").build();
 
         logger.info("✅ JwtServiceTest setup completed");
         logger.info("═══════════════════════════════════════════════════════════");
@@ -88,6 +88,23 @@ class JwtServiceTest {
                 String.format("Token generated with %d parts", token.split("\\.").length));
     }
 
+    @Test
+    void shouldGiveEveryTokenItsOwnId() {
+        logTestStart("shouldGiveEveryTokenItsOwnId");
+
+        // When
+        String jti1 = jwtService.verify(jwtService.generateToken(userDetails)).getId();
+        String jti2 = jwtService.verify(jwtService.generateToken(userDetails)).getId();
+        logTestInfo("Token ids: " + jti1 + ", " + jti2);
+
+        // Then
+        assertNotNull(jti1);
+        assertNotNull(jti2);
+        assertNotEquals(jti1, jti2);
+
+        logTestPass("shouldGiveEveryTokenItsOwnId", "Two tokens for the same user have distinct ids");
+    }
+
     @Test
     void shouldExtractUsernameFromToken() {
         logTestStart("shouldExtractUsernameFromToken");
@@ -129,7 +146,7 @@ class JwtServiceTest {
 
         // Given
         String token = jwtService.generateToken(userDetails);
-        UserDetails differentUser = new User("differentuser", "password", Collections.emptyList());
+        UserDetails differentUser = User.builder().username("differentuser").password("password").build();
         logTestInfo("Testing token for original user: " + userDetails.getUsername() + " against different user: " + differentUser.getUsername());
 
         // When
@@ -271,4 +288,81 @@ class JwtServiceTest {
         logTestPass("shouldReturnTrueForNonExpiredToken",
                 String.format("Fresh token not expired: %s", !isExpired));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldVerifyTokenOnceAndServeRepeatedCallsFromCache() {
+        logTestStart("shouldVerifyTokenOnceAndServeRepeatedCallsFromCache");
+
+        // Given
+        lenient().when(jwtConfig.getVerifiedCacheSize()).thenReturn(100);
+        jwtService = new JwtService(jwtConfig);
+        String token = jwtService.generateToken(userDetails);
+
+        // When
+        Claims first = jwtService.verify(token);
+        Claims second = jwtService.verify(token);
+
+        // Then
+        assertSame(first, second);
+        assertTrue(jwtService.areClaimsValid(first, userDetails));
+
+        logTestPass("shouldVerifyTokenOnceAndServeRepeatedCallsFromCache", "Same claims instance returned");
+    }
+
+    @Test
+    void shouldRejectTamperedTokenAfterOriginalWasCached() {
+        logTestStart("shouldRejectTamperedTokenAfterOriginalWasCached");
+
+        // Given
+        lenient().when(jwtConfig.getVerifiedCacheSize()).thenReturn(100);
+        jwtService = new JwtService(jwtConfig);
+        String token = jwtService.generateToken(userDetails);
+        jwtService.verify(token);
+        String tampered = token.substring(0, token.length() - 2)
+                + (token.endsWith("AA") ? "BB" : "AA");
+        logTestInfo("Testing tampered signature: " + tampered.substring(tampered.length() - 8));
+
+        // When/Then
+        Exception exception = assertThrows(Exception.class, () -> jwtService.verify(tampered));
+        logException(exception);
+
+        logTestPass("shouldRejectTamperedTokenAfterOriginalWasCached", "Tampered token rejected");
+    }
+
+    @Test
+    void shouldCarryUserIdAndRoleInClaims() {
+        logTestStart("shouldCarryUserIdAndRoleInClaims");
+
+        // Given
+        User user = User.builder()
+                .id(42L)
+                .username("player")
+                .role(Role.ADMIN)
+                .build();
+        String token = jwtService.generateToken(user);
+
+        // When
+        User principal = jwtService.toPrincipal(jwtService.verify(token));
+
+        // Then
+        assertNotNull(principal);
+        assertEquals(42L, principal.getId());
+        assertEquals("player", principal.getUsername());
+        assertEquals(Role.ADMIN, principal.getRole());
+
+        logTestPass("shouldCarryUserIdAndRoleInClaims", "Principal rebuilt from claims: " + principal.getAuthorities());
+    }
+
+    @Test
+    void shouldNotBuildPrincipalFromTokenWithoutIdentityClaims() {
+        logTestStart("shouldNotBuildPrincipalFromTokenWithoutIdentityClaims");
+
+        // Given
+        String token = jwtService.generateToken(userDetails);
+
+        // When/Then
+        assertNull(jwtService.toPrincipal(jwtService.verify(token)));
+
+        logTestPass("shouldNotBuildPrincipalFromTokenWithoutIdentityClaims", "No principal for plain token");
+    }
+}
@@ -0,0 +1,76 @@
+package com.pentalign.backend.security;
+
+import com.pentalign.backend.config.JwtConfig;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.Role;
+import com.pentalign.backend.service.AccessTokenRevocationService;
+import com.pentalign.backend.service.CustomUserDetailsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class StompAuthChannelInterceptorTest {
+
+    private static final User PLAYER = User.builder()
+            .id(1L).username("player").password("hash").role(Role.USER).build();
+
+    private final JwtService jwtService = new JwtService(jwtConfig());
+    private final CustomUserDetailsService userDetailsService = mock(CustomUserDetailsService.class);
+    private final AccessTokenRevocationService accessTokenRevocations = mock(AccessTokenRevocationService.class);
+    private final UserTokenRevocations revocations = mock(UserTokenRevocations.class);
+    private final StompAuthChannelInterceptor interceptor = new StompAuthChannelInterceptor(jwtService,
+            userDetailsService, accessTokenRevocations, revocations);
+
+    private static JwtConfig jwtConfig() {
+        JwtConfig config = new JwtConfig();
+        config.setSecret("mySecretKeyForTesting123456789012345678901234567890");
+        config.setExpirationMs(900_000L);
+        return config;
+    }
+
+    private static Message<byte[]> connect(String token) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setNativeHeader(StompAuthChannelInterceptor.TOKEN_HEADER, token);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private Message<?> preSend(Message<?> message) {
+        return interceptor.preSend(message, mock(MessageChannel.class));
+    }
+
+    @Test
+    void shouldAttachTheUserOnConnect() {
+        when(userDetailsService.loadUserByUsername("player")).thenReturn(PLAYER);
+
+        Message<?> message = preSend(connect(jwtService.generateToken(PLAYER)));
+
+        assertNotNull(StompHeaderAccessor.wrap(message).getUser());
+    }
+
+    @Test
+    void shouldRejectARevokedToken() {
+        String token = jwtService.generateToken(PLAYER);
+        when(userDetailsService.loadUserByUsername("player")).thenReturn(PLAYER);
+        when(accessTokenRevocations.isRevoked(jwtService.verify(token).getId())).thenReturn(true);
+
+        assertThrows(BadCredentialsException.class, () -> preSend(connect(token)));
+    }
+
+    @Test
+    void shouldRejectATokenIssuedBeforeTheUsersCutoff() {
+        when(userDetailsService.loadUserByUsername("player")).thenReturn(PLAYER);
+        when(revocations.isRevoked(eq(1L), any())).thenReturn(true);
+
+        assertThrows(BadCredentialsException.class, () -> preSend(connect(jwtService.generateToken(PLAYER))));
+    }
+}
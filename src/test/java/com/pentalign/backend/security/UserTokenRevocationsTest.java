@@ -0,0 +1,60 @@
+package com.pentalign.backend.security;
+
+import com.pentalign.backend.config.JwtConfig;
+import com.pentalign.backend.entities.UserTokenRevocation;
+import com.pentalign.backend.repository.UserTokenRevocationRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserTokenRevocationsTest {
+
+    private final UserTokenRevocationRepository repository = mock(UserTokenRevocationRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final UserTokenRevocations revocations = new UserTokenRevocations(jwtConfig(), repository,
+            jdbcTemplate, mock(PlatformTransactionManager.class));
+
+    private static JwtConfig jwtConfig() {
+        JwtConfig config = new JwtConfig();
+        config.setExpirationMs(900_000L);
+        return config;
+    }
+
+    @Test
+    void shouldRejectTokensIssuedUpToTheCutoffSecond() {
+        revocations.revokeAll(1L);
+        ArgumentCaptor<Timestamp> stored = ArgumentCaptor.forClass(Timestamp.class);
+        verify(jdbcTemplate).update(anyString(), eq(1L), stored.capture());
+        long second = stored.getValue().getTime();
+        assertEquals(0, second % 1000);
+
+        assertTrue(revocations.isRevoked(1L, new Date(second - 1000)));
+        assertTrue(revocations.isRevoked(1L, new Date(second)));
+        assertFalse(revocations.isRevoked(1L, new Date(second + 1000)));
+        assertFalse(revocations.isRevoked(2L, new Date(second)));
+    }
+
+    @Test
+    void shouldReloadCutoffsThatStillCoverLiveTokens() {
+        Instant cutoff = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(60);
+        when(repository.findByRevokedBeforeAfter(any())).thenReturn(List.of(new UserTokenRevocation(1L, cutoff)));
+
+        revocations.load();
+
+        assertTrue(revocations.isRevoked(1L, Date.from(cutoff)));
+        assertFalse(revocations.isRevoked(1L, Date.from(cutoff.plusSeconds(1))));
+    }
+}
@@ -0,0 +1,75 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.entities.RevokedAccessToken;
+import com.pentalign.backend.repository.RevokedAccessTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AccessTokenRevocationServiceTest {
+
+    private final RevokedAccessTokenRepository repository = mock(RevokedAccessTokenRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final AccessTokenRevocationService service = new AccessTokenRevocationService(repository,
+            jdbcTemplate, mock(PlatformTransactionManager.class));
+
+    private static Claims claims(String jti, long expiresInMs) {
+        return Jwts.claims().id(jti).expiration(new Date(System.currentTimeMillis() + expiresInMs)).build();
+    }
+
+    @Test
+    void shouldRevokeOnlyThatToken() {
+        service.revoke(claims("a", 60_000));
+
+        assertTrue(service.isRevoked("a"));
+        assertFalse(service.isRevoked("b"));
+        assertFalse(service.isRevoked(null));
+        verify(jdbcTemplate).update(anyString(), eq("a"), any());
+    }
+
+    @Test
+    void shouldIgnoreTokensThatCannotBeUsedAnyway() {
+        service.revoke(claims("expired", -1_000));
+        service.revoke(Jwts.claims().expiration(new Date(System.currentTimeMillis() + 60_000)).build());
+
+        assertFalse(service.isRevoked("expired"));
+        assertEquals(0, service.size());
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void shouldPurgeRevocationsOnceTheirTokensExpired() throws InterruptedException {
+        service.revoke(claims("short", 50));
+        service.revoke(claims("long", 60_000));
+        Thread.sleep(100);
+
+        service.purge();
+
+        assertFalse(service.isRevoked("short"));
+        assertTrue(service.isRevoked("long"));
+        verify(repository).deleteExpired(any(Instant.class));
+    }
+
+    @Test
+    void shouldReloadStoredRevocations() {
+        when(repository.findByExpiresAtAfter(any())).thenReturn(
+                List.of(new RevokedAccessToken("stored", Instant.now().plusSeconds(60))));
+
+        service.load();
+
+        assertTrue(service.isRevoked("stored"));
+        assertEquals(1, service.size());
+    }
+}
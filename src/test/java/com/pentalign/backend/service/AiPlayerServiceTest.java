@@ -0,0 +1,58 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.ai.AiMove;
+import com.pentalign.backend.engine.GameBoard;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.Role;
+import com.pentalign.backend.repository.GameRepository;
+import com.pentalign.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AiPlayerServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AiPlayerService service = new AiPlayerService(userRepository, mock(GameRepository.class),
+            mock(OpeningBookService.class), mock(PlatformTransactionManager.class), 1, 1, 1024, 100);
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldNotTakeOverARegisteredAccountWithTheAiName() {
+        when(userRepository.findFirstByRoleOrderByIdAsc(Role.BOT)).thenReturn(Optional.empty());
+        when(userRepository.findByUsername(AiPlayerService.BOT_USERNAME)).thenReturn(Optional.of(
+                User.builder().id(7L).username(AiPlayerService.BOT_USERNAME).password("$2a$10$hash").build()));
+
+        assertThrows(IllegalStateException.class, service::loadBot);
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    @Test
+    void shouldReserveTheAiName() {
+        assertTrue(AiPlayerService.isReserved("Pentalign-AI"));
+        assertFalse(AiPlayerService.isReserved("pentalign"));
+    }
+
+    @Test
+    void shouldPlayRandomMovesOnEmptyCellsOnly() {
+        GameBoard board = new GameBoard();
+        board.play(7, 7);
+        board.play(7, 8);
+        board.play(8, 7);
+
+        for (int i = 0; i < 500; i++) {
+            AiMove move = service.randomMove(board);
+            assertFalse(board.isOccupied(move.row(), move.col()));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.pentalign.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.pentalign.backend.dto.ChatMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.util.MimeTypeUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChatDeliveryServiceTest {
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    /** Stands in for the broker channel, so the test sees exactly what the broker hands to subscribers. */
+    private final BlockingQueue<Message<?>> broker = new LinkedBlockingQueue<>();
+    private final SimpUserRegistry userRegistry = mock(SimpUserRegistry.class);
+    private final ChatDeliveryService service = new ChatDeliveryService(
+            new SimpMessagingTemplate((message, timeout) -> broker.add(message)),
+            userRegistry, objectMapper, 16, 8, 1);
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldSendTheSerializedMessageAsJsonPayload() throws Exception {
+        when(userRegistry.getUser("bob")).thenReturn(mock(SimpUser.class));
+        ChatMessage message = new ChatMessage(42L, 1L, 2L, "hi", LocalDateTime.of(2025, 3, 1, 12, 0));
+
+        service.deliver(message, "alice", "bob");
+
+        Message<?> received = broker.poll(5, TimeUnit.SECONDS);
+        assertNotNull(received);
+        SimpMessageHeaderAccessor headers = SimpMessageHeaderAccessor.wrap(received);
+        assertEquals("/user/bob/queue/chat", headers.getDestination());
+        assertEquals(MimeTypeUtils.APPLICATION_JSON, headers.getContentType());
+
+        // the payload is the JSON object itself, not a base64 string of it
+        JsonNode payload = objectMapper.readTree((byte[]) received.getPayload());
+        assertTrue(payload.isObject());
+        assertEquals(42L, payload.get("id").asLong());
+        assertEquals("hi", payload.get("content").asText());
+        // alice has no open session
+        assertNull(broker.poll(100, TimeUnit.MILLISECONDS));
+    }
+}
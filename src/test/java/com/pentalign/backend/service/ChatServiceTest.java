@@ -0,0 +1,59 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.dto.ChatMessage;
+import com.pentalign.backend.dto.ConversationPage;
+import com.pentalign.backend.exception.InvalidCursorException;
+import com.pentalign.backend.repository.MessageRepository;
+import com.pentalign.backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ChatServiceTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 3, 1, 12, 0, 0, 123_456_000);
+
+    private final MessageRepository messageRepository = mock(MessageRepository.class);
+    private final ChatService chatService = new ChatService(messageRepository, mock(UserRepository.class),
+            mock(ChatDeliveryService.class), mock(PlatformTransactionManager.class), 100);
+
+    private static List<ChatMessage> messages(long fromId, int count) {
+        List<ChatMessage> rows = new ArrayList<>();
+        for (long id = fromId; id > fromId - count; id--) {
+            rows.add(new ChatMessage(id, 7L, 3L, "m" + id, T0.minusSeconds(fromId - id)));
+        }
+        return rows;
+    }
+
+    @Test
+    void shouldReturnCursorOfLastRowWhenMoreRowsExist() {
+        when(messageRepository.findLatestInConversation(3L, 7L, PageRequest.of(0, 3))).thenReturn(messages(10, 3));
+        when(messageRepository.findInConversationBefore(eq(3L), eq(7L), eq(T0.minusSeconds(1)), eq(9L), any()))
+                .thenReturn(messages(8, 1));
+
+        ConversationPage first = chatService.conversation(7L, 3L, null, 2);
+
+        assertEquals(List.of(10L, 9L), first.getMessages().stream().map(ChatMessage::getId).toList());
+        assertNotNull(first.getNextCursor());
+
+        ConversationPage second = chatService.conversation(3L, 7L, first.getNextCursor(), 2);
+
+        assertEquals(List.of(8L), second.getMessages().stream().map(ChatMessage::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> chatService.conversation(1L, 2L, "not-a-cursor", 10));
+    }
+}
@@ -0,0 +1,31 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.repository.FriendRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FriendServiceTest {
+
+    private final FriendRepository friendRepository = mock(FriendRepository.class);
+    private final FriendService friendService = new FriendService(friendRepository);
+
+    @Test
+    void shouldKeepFriendshipWhileTheOtherDirectionIsStillAccepted() {
+        friendService.onFriendSaved(1L, 2L, FriendService.ACCEPTED);
+        friendService.onFriendSaved(2L, 1L, FriendService.ACCEPTED);
+
+        // 1 -> 2 is deleted, 2 -> 1 is still accepted
+        when(friendRepository.existsEitherWayByStatus(1L, 2L, FriendService.ACCEPTED)).thenReturn(true);
+        friendService.onFriendRemoved(1L, 2L);
+        assertTrue(friendService.areFriends(1L, 2L));
+        assertTrue(friendService.areFriends(2L, 1L));
+
+        when(friendRepository.existsEitherWayByStatus(2L, 1L, FriendService.ACCEPTED)).thenReturn(false);
+        friendService.onFriendSaved(2L, 1L, "PENDING");
+        assertFalse(friendService.areFriends(1L, 2L));
+        assertFalse(friendService.areFriends(2L, 1L));
+    }
+}
@@ -0,0 +1,58 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.repository.GameMoveRepository;
+import com.pentalign.backend.repository.GameRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class GameArchiveServiceTest {
+
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final GameMoveRepository gameMoveRepository = mock(GameMoveRepository.class);
+    private final GameArchiveService service = new GameArchiveService(gameRepository, gameMoveRepository,
+            mock(PlatformTransactionManager.class), 2);
+
+    @Test
+    void shouldSkipAFailingGameAndArchiveTheRest() {
+        Game broken = Game.builder().id(1L).status(GameStatus.FINISHED).build();
+        Game second = Game.builder().id(2L).status(GameStatus.FINISHED).build();
+        Game third = Game.builder().id(3L).status(GameStatus.FINISHED).build();
+        when(gameRepository.findByStatusAndMoveLogIsNullAndIdGreaterThanOrderByIdAsc(
+                GameStatus.FINISHED, 0L, PageRequest.of(0, 2))).thenReturn(List.of(broken, second));
+        when(gameRepository.findByStatusAndMoveLogIsNullAndIdGreaterThanOrderByIdAsc(
+                GameStatus.FINISHED, 2L, PageRequest.of(0, 2))).thenReturn(List.of(third));
+        when(gameMoveRepository.findByGameIdOrderByMoveOrderAsc(1L)).thenThrow(new IllegalStateException("corrupt"));
+        when(gameMoveRepository.findByGameIdOrderByMoveOrderAsc(2L)).thenReturn(List.of());
+        when(gameMoveRepository.findByGameIdOrderByMoveOrderAsc(3L)).thenReturn(List.of());
+        when(gameRepository.storeMoveLog(anyLong(), any())).thenReturn(1);
+
+        service.archiveFinishedGames();
+
+        verify(gameRepository, never()).storeMoveLog(eq(1L), any());
+        verify(gameRepository).storeMoveLog(eq(2L), any());
+        verify(gameRepository).storeMoveLog(eq(3L), any());
+        verify(gameMoveRepository).deleteByGameId(2L);
+        verify(gameMoveRepository).deleteByGameId(3L);
+        // the stale page entity is never merged back
+        verify(gameRepository, never()).save(any(Game.class));
+    }
+
+    @Test
+    void shouldKeepMovesOfAGameArchivedMeanwhile() {
+        when(gameMoveRepository.findByGameIdOrderByMoveOrderAsc(1L)).thenReturn(List.of());
+
+        assertFalse(service.archive(1L));
+        verify(gameMoveRepository, never()).deleteByGameId(anyLong());
+    }
+}
@@ -0,0 +1,159 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.dto.InvitationView;
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.Invitation;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.enums.InvitationStatus;
+import com.pentalign.backend.exception.InvalidInvitationException;
+import com.pentalign.backend.repository.GameRepository;
+import com.pentalign.backend.repository.InvitationRepository;
+import com.pentalign.backend.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class InvitationServiceTest {
+
+    private static final User ALICE = User.builder().id(1L).username("alice").build();
+    private static final User BOB = User.builder().id(2L).username("bob").build();
+
+    private final InvitationRepository invitationRepository = mock(InvitationRepository.class);
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private InvitationService service = service(300_000);
+
+    /** Expires only when the test asks, the background interval is an hour. */
+    private InvitationService service(long ttlMs) {
+        return new InvitationService(invitationRepository, gameRepository, userRepository,
+                mock(PlatformTransactionManager.class), ttlMs, 3_600_000);
+    }
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    private void storeInvitations() {
+        when(userRepository.findById(2L)).thenReturn(Optional.of(BOB));
+        when(userRepository.getReferenceById(1L)).thenReturn(ALICE);
+        when(gameRepository.save(any(Game.class))).thenAnswer(invocation -> {
+            Game game = invocation.getArgument(0);
+            game.setId(10L);
+            return game;
+        });
+        when(invitationRepository.save(any(Invitation.class))).thenAnswer(invocation -> {
+            Invitation invitation = invocation.getArgument(0);
+            invitation.setId(5L);
+            return invitation;
+        });
+    }
+
+    private static InvitationView pending(long id, LocalDateTime expiresAt) {
+        return new InvitationView(id, 1L, "alice", 2L, id * 10, InvitationStatus.PENDING,
+                expiresAt.minusMinutes(5), expiresAt);
+    }
+
+    @Test
+    void shouldCreateWaitingGameWithPendingInvitation() {
+        storeInvitations();
+
+        InvitationView view = service.invite(ALICE, 2L);
+
+        assertEquals(5L, view.getId());
+        assertEquals(10L, view.getGameId());
+        assertEquals(InvitationStatus.PENDING, view.getStatus());
+        verify(gameRepository).save(argThat((Game game) -> game.getStatus() == GameStatus.WAITING
+                && game.getPlayer1() == ALICE && game.getPlayer2() == BOB));
+    }
+
+    @Test
+    void shouldRejectInvitingYourself() {
+        assertThrows(InvalidInvitationException.class, () -> service.invite(ALICE, 1L));
+        verify(gameRepository, never()).save(any(Game.class));
+    }
+
+    @Test
+    void shouldStartGameOnAccept() {
+        when(invitationRepository.transition(eq(5L), eq(2L), eq(InvitationStatus.PENDING),
+                eq(InvitationStatus.ACCEPTED), any())).thenReturn(1);
+        when(invitationRepository.findGameIdById(5L)).thenReturn(Optional.of(10L));
+        when(gameRepository.start(eq(10L), eq(GameStatus.WAITING), eq(GameStatus.IN_PROGRESS), any())).thenReturn(1);
+
+        assertEquals(10L, service.accept(5L, BOB));
+    }
+
+    @Test
+    void shouldRefuseAcceptWhenGameCanNoLongerStart() {
+        when(invitationRepository.transition(eq(5L), eq(2L), eq(InvitationStatus.PENDING),
+                eq(InvitationStatus.ACCEPTED), any())).thenReturn(1);
+        when(invitationRepository.findGameIdById(5L)).thenReturn(Optional.of(10L));
+
+        assertThrows(InvalidInvitationException.class, () -> service.accept(5L, BOB));
+    }
+
+    @Test
+    void shouldCancelWaitingGameOnDecline() {
+        when(invitationRepository.transition(eq(5L), eq(2L), eq(InvitationStatus.PENDING),
+                eq(InvitationStatus.DECLINED), any())).thenReturn(1);
+
+        service.decline(5L, BOB);
+
+        verify(gameRepository).closeInvitedGames(eq(List.of(5L)), eq(InvitationStatus.DECLINED),
+                eq(GameStatus.WAITING), eq(GameStatus.CANCELLED), any());
+    }
+
+    @Test
+    void shouldNotTouchGameWhenDeclineFails() {
+        assertThrows(InvalidInvitationException.class, () -> service.decline(5L, BOB));
+        verify(gameRepository, never()).closeInvitedGames(anyCollection(), any(), any(), any(), any());
+    }
+
+    @Test
+    void shouldExpireDueInvitationsOnceAndCancelTheirGames() {
+        service.shutdown();
+        service = service(0);
+        storeInvitations();
+        when(invitationRepository.transitionAll(List.of(5L), InvitationStatus.PENDING, InvitationStatus.EXPIRED))
+                .thenReturn(1);
+        service.invite(ALICE, 2L);
+
+        assertEquals(1, service.expireDue());
+        assertEquals(0, service.expireDue());
+
+        verify(invitationRepository, times(1)).transitionAll(anyCollection(), any(), any());
+        verify(gameRepository).closeInvitedGames(eq(List.of(5L)), eq(InvitationStatus.EXPIRED),
+                eq(GameStatus.WAITING), eq(GameStatus.CANCELLED), any());
+    }
+
+    @Test
+    void shouldScheduleStoredPendingInvitationsOnStartup() {
+        LocalDateTime now = LocalDateTime.now();
+        when(invitationRepository.findViewsByStatus(InvitationStatus.PENDING))
+                .thenReturn(List.of(pending(1, now.minusSeconds(1)), pending(2, now.plusHours(1))));
+        when(invitationRepository.transitionAll(anyList(), any(), any())).thenReturn(1);
+
+        service.loadPending();
+        service.expireDue();
+
+        verify(invitationRepository).normalizeStatuses(
+                List.of("PENDING", "ACCEPTED", "DECLINED", "EXPIRED"), "EXPIRED");
+        verify(invitationRepository).backfillExpiry(eq(InvitationStatus.PENDING), any());
+        // only the overdue one, the other stays queued
+        verify(invitationRepository, times(1)).transitionAll(anyCollection(), any(), any());
+        verify(invitationRepository).transitionAll(List.of(1L), InvitationStatus.PENDING, InvitationStatus.EXPIRED);
+    }
+}
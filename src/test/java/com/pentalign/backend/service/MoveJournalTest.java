@@ -0,0 +1,110 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.GameMove;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.repository.GameMoveRepository;
+import com.pentalign.backend.repository.GameRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class MoveJournalTest {
+
+    private final GameMoveRepository gameMoveRepository = mock(GameMoveRepository.class);
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    /** Flushes only when the test asks, the background interval is an hour. */
+    private final MoveJournal journal = new MoveJournal(gameMoveRepository, gameRepository,
+            mock(PlatformTransactionManager.class), 1000, 3_600_000, 3);
+    private final List<GameMove> saved = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        journal.shutdown();
+    }
+
+    private static GameMove move(long gameId, int order) {
+        return GameMove.builder()
+                .game(Game.builder().id(gameId).build())
+                .player(User.builder().id(1L).build())
+                .moveOrder(order)
+                .row(order)
+                .col(0)
+                .build();
+    }
+
+    private void saveAllExcept(GameMove poison, RuntimeException failure) {
+        when(gameMoveRepository.saveAll(anyList())).thenThrow(failure);
+        when(gameMoveRepository.save(any(GameMove.class))).thenAnswer(invocation -> {
+            GameMove move = invocation.getArgument(0);
+            if (move == poison) {
+                throw failure;
+            }
+            saved.add(move);
+            return move;
+        });
+    }
+
+    @Test
+    void shouldDropARowViolatingAConstraintAndKeepTheOthers() {
+        GameMove poison = move(1, 2);
+        saveAllExcept(poison, new DataIntegrityViolationException("duplicate key"));
+        journal.append(move(1, 1));
+        journal.append(poison);
+        journal.append(move(2, 1));
+
+        journal.flush();
+
+        assertEquals(2, saved.size());
+        assertFalse(saved.contains(poison));
+
+        // nothing is left to hold back the end of the game
+        journal.appendFinal(move(1, 3), Game.builder().id(1L).build());
+        verify(gameRepository).save(any(Game.class));
+    }
+
+    @Test
+    void shouldGiveUpOnARowAfterMaxAttempts() {
+        GameMove poison = move(1, 2);
+        saveAllExcept(poison, new IllegalStateException("bad row"));
+        journal.append(move(1, 1));
+        journal.append(poison);
+
+        journal.flush();
+        journal.flush();
+        journal.flush();
+        journal.flush();
+
+        assertEquals(1, saved.size());
+        verify(gameMoveRepository, times(3)).save(poison);
+    }
+
+    @Test
+    void shouldKeepMovesWhileTheDatabaseIsUnreachable() {
+        GameMove first = move(1, 1);
+        saveAllExcept(first, new QueryTimeoutException("timeout"));
+        journal.append(first);
+        journal.append(move(1, 2));
+
+        for (int i = 0; i < 10; i++) {
+            journal.flush();
+        }
+
+        assertTrue(saved.isEmpty());
+        // the second move is never tried while the first one finds the database down
+        verify(gameMoveRepository, times(10)).save(first);
+        assertThrows(IllegalStateException.class,
+                () -> journal.appendFinal(move(1, 3), Game.builder().id(1L).build()));
+        verify(gameRepository, never()).save(any(Game.class));
+    }
+}
@@ -0,0 +1,101 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.entities.Game;
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.enums.GameStatus;
+import com.pentalign.backend.repository.RankingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RankingUpdateServiceTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    /** Flushes only when the test asks, the background interval is an hour. */
+    private final RankingUpdateService service = new RankingUpdateService(jdbcTemplate,
+            mock(RankingRepository.class), mock(LeaderboardService.class),
+            mock(PlatformTransactionManager.class), 3_600_000, 3);
+    private final List<Long> updated = new ArrayList<>();
+    private final List<List<Long>> batches = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        service.shutdown();
+    }
+
+    private static Game win(long winner, long loser) {
+        User w = User.builder().id(winner).build();
+        return Game.builder()
+                .status(GameStatus.FINISHED)
+                .player1(w)
+                .player2(User.builder().id(loser).build())
+                .winner(w)
+                .build();
+    }
+
+    /** Fails every batch holding the poison row, records the user ids of the others. */
+    private void updateAllExcept(long poison, RuntimeException failure) {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> rows = invocation.getArgument(1);
+            List<Long> userIds = rows.stream().map(row -> (Long) row[0]).toList();
+            batches.add(userIds);
+            if (userIds.contains(poison)) {
+                throw failure;
+            }
+            updated.addAll(userIds);
+            return new int[rows.size()];
+        });
+    }
+
+    @Test
+    void shouldDropARowViolatingAConstraintAndKeepTheOthers() {
+        updateAllExcept(2, new DataIntegrityViolationException("no such user"));
+        service.record(win(1, 2));
+
+        service.flush();
+        service.flush();
+
+        assertEquals(List.of(1L), updated);
+        assertEquals(List.of(List.of(1L, 2L), List.of(1L), List.of(2L)), batches);
+    }
+
+    @Test
+    void shouldGiveUpOnARowAfterMaxAttempts() {
+        updateAllExcept(2, new IllegalStateException("bad row"));
+        service.record(win(1, 2));
+
+        for (int i = 0; i < 5; i++) {
+            service.flush();
+        }
+
+        assertEquals(List.of(1L), updated);
+        // per flush the bad row fails once in the batch and once on its own
+        assertEquals(7, batches.size());
+    }
+
+    @Test
+    void shouldKeepResultsWhileTheDatabaseIsUnreachable() {
+        updateAllExcept(1, new QueryTimeoutException("timeout"));
+        service.record(win(1, 2));
+
+        for (int i = 0; i < 10; i++) {
+            service.flush();
+        }
+
+        assertTrue(updated.isEmpty());
+        // user 2 sorts after user 1 and is never tried on its own while the database is down
+        assertFalse(batches.contains(List.of(2L)));
+        assertEquals(20, batches.size());
+    }
+}
@@ -0,0 +1,88 @@
+package com.pentalign.backend.service;
+
+import com.pentalign.backend.entities.User;
+import com.pentalign.backend.exception.InvalidRefreshTokenException;
+import com.pentalign.backend.repository.RefreshTokenRepository;
+import com.pentalign.backend.security.UserTokenRevocations;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+
+    private static final User ALICE = User.builder().id(1L).username("alice").build();
+
+    private final RefreshTokenRepository refreshTokenRepository = mock(RefreshTokenRepository.class);
+    private final UserTokenRevocations userTokenRevocations = mock(UserTokenRevocations.class);
+    private final RefreshTokenService service = new RefreshTokenService(refreshTokenRepository, userTokenRevocations,
+            mock(JdbcTemplate.class), mock(PlatformTransactionManager.class), 3_600_000, 1000);
+
+    private void storedTokenIs(String token) {
+        when(refreshTokenRepository.rotate(eq(RefreshTokenService.hash(token)), anyString(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void shouldIssueNewTokenOnRotationAndRejectTheOldOne() {
+        String first = service.issue(ALICE);
+        storedTokenIs(first);
+
+        RefreshTokenService.Rotation rotation = service.rotate(first);
+
+        assertEquals(1L, rotation.userId());
+        assertEquals("alice", rotation.username());
+        assertNotEquals(first, rotation.refreshToken());
+
+        storedTokenIs(rotation.refreshToken());
+        assertNotEquals(rotation.refreshToken(), service.rotate(rotation.refreshToken()).refreshToken());
+    }
+
+    @Test
+    void shouldRevokeEverySessionWhenARotatedOutTokenIsPresentedAgain() {
+        String first = service.issue(ALICE);
+        storedTokenIs(first);
+        String second = service.rotate(first).refreshToken();
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(first));
+
+        verify(refreshTokenRepository).deleteByUser(1L);
+        verify(userTokenRevocations).revokeAll(1L);
+        // the successor went with the rest of the family
+        when(refreshTokenRepository.findOwnerByTokenHash(RefreshTokenService.hash(second))).thenReturn(Optional.empty());
+        assertThrows(InvalidRefreshTokenException.class, () -> service.rotate(second));
+    }
+
+    @Test
+    void shouldRevokeOnlyTheStoredToken() {
+        String token = service.issue(ALICE);
+        String hash = RefreshTokenService.hash(token);
+        when(refreshTokenRepository.findOwnerByTokenHash(hash)).thenReturn(Optional.of(
+                new RefreshTokenService.TokenOwner(1L, "alice", Instant.now().plusSeconds(60))));
+        when(refreshTokenRepository.deleteByTokenHash(hash)).thenReturn(1);
+
+        assertEquals(1L, service.revoke(token));
+        verify(refreshTokenRepository).deleteByTokenHash(hash);
+        verify(refreshTokenRepository, never()).deleteByUser(anyLong());
+    }
+
+    @Test
+    void shouldNotTrustTheLocalIndexWhenRevoking() {
+        // indexed here, but rotated by another node meanwhile
+        String token = service.issue(ALICE);
+
+        assertThrows(InvalidRefreshTokenException.class, () -> service.revoke(token));
+
+        verify(refreshTokenRepository, never()).deleteByTokenHash(anyString());
+        verify(refreshTokenRepository, never()).deleteByUser(anyLong());
+        verify(userTokenRevocations, never()).revokeAll(anyLong());
+    }
+}